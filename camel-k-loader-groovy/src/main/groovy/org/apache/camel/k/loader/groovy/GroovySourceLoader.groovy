@@ -17,47 +17,85 @@
 package org.apache.camel.k.loader.groovy
 
 
+import org.apache.camel.CamelContext
 import org.apache.camel.builder.endpoint.EndpointRouteBuilder
 import org.apache.camel.k.Runtime
 import org.apache.camel.k.Source
 import org.apache.camel.k.SourceLoader
 import org.apache.camel.k.loader.groovy.dsl.IntegrationConfiguration
+import org.apache.camel.k.support.CompiledSourceCache
+import org.codehaus.groovy.control.CompilationUnit
 import org.codehaus.groovy.control.CompilerConfiguration
+import org.codehaus.groovy.control.Phases
 import org.codehaus.groovy.control.customizers.ImportCustomizer
+import org.codehaus.groovy.runtime.InvokerHelper
 
 class GroovySourceLoader implements SourceLoader {
+    private static final List<String> IMPORTS = ['org.apache.camel', 'org.apache.camel.spi']
+
     @Override
     List<String> getSupportedLanguages() {
         return Collections.singletonList('groovy')
     }
 
+    /**
+     * The script is compiled here, that is on the routes loading pool when sources are
+     * loaded in parallel, whereas it is run, as it may change the context, only when the
+     * routes are configured.
+     */
     @Override
     Result load(Runtime runtime, Source source) throws Exception {
+        def scriptClass = compile(runtime.camelContext, source)
+
         def builder = new EndpointRouteBuilder() {
             @Override
             void configure() throws Exception {
-                def ic = new ImportCustomizer()
-                ic.addStarImports('org.apache.camel')
-                ic.addStarImports('org.apache.camel.spi')
+                def script = (DelegatingScript) InvokerHelper.createScript(scriptClass, new Binding())
 
-                def cc = new CompilerConfiguration()
-                cc.addCompilationCustomizers(ic)
-                cc.setScriptBaseClass(DelegatingScript.class.getName())
+                // set the delegate target
+                script.setDelegate(new IntegrationConfiguration(this))
+                script.run()
+            }
+        }
 
-                def sh = new GroovyShell(new Binding(), cc)
-                def is = source.resolveAsInputStream(getContext())
+        return Result.on(builder)
+    }
 
-                is.withCloseable {
-                    def reader = new InputStreamReader(is)
-                    def script = (DelegatingScript) sh.parse(reader)
+    private static Class<?> compile(CamelContext context, Source source) {
+        def ic = new ImportCustomizer()
+        ic.addStarImports(IMPORTS as String[])
 
-                    // set the delegate target
-                    script.setDelegate(new IntegrationConfiguration(this))
-                    script.run()
-                }
-            }
+        def cc = new CompilerConfiguration()
+        cc.addCompilationCustomizers(ic)
+        cc.setScriptBaseClass(DelegatingScript.class.getName())
+
+        def sh = new GroovyShell(new Binding(), cc)
+        def text = source.resolveAsInputStream(context).withCloseable {
+            new InputStreamReader(it).text
         }
 
-        return Result.on(builder)
+        def cache = CompiledSourceCache.lookup(context)
+        if (!cache.isPresent()) {
+            return sh.parse(text).getClass()
+        }
+
+        // When the compiled source cache is enabled, the script is compiled retaining the
+        // generated bytecode so subsequent runs with the same content can skip compilation.
+        def key = cache.get().key(
+            sh.classLoader.parent,
+            'groovy',
+            GroovySystem.version,
+            IMPORTS.join(','),
+            cc.scriptBaseClass,
+            text)
+        def name = 'Script_' + key.substring(0, 16)
+
+        return cache.get().loadClass(key, name, sh.classLoader.parent) {
+            def unit = new CompilationUnit(cc, null, sh.classLoader)
+            unit.addSource(name + '.groovy', text)
+            unit.compile(Phases.CLASS_GENERATION)
+
+            return unit.classes.collectEntries { [(it.name): it.bytes] } as Map<String, byte[]>
+        }
     }
 }
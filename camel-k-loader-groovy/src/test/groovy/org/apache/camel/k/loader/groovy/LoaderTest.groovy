@@ -20,13 +20,19 @@ import org.apache.camel.CamelContext
 import org.apache.camel.RoutesBuilder
 import org.apache.camel.builder.RouteBuilder
 import org.apache.camel.impl.DefaultCamelContext
+import org.apache.camel.k.Constants
 import org.apache.camel.k.Runtime
+import org.apache.camel.k.Source
+import org.apache.camel.k.SourceLoader
 import org.apache.camel.k.Sources
 import org.apache.camel.k.listener.RoutesConfigurer
 import org.apache.camel.model.FromDefinition
 import org.apache.camel.model.ToDefinition
 import spock.lang.Specification
 
+import java.nio.file.Files
+import java.util.concurrent.ConcurrentHashMap
+
 class LoaderTest extends Specification {
 
     def "load routes"() {
@@ -82,6 +88,84 @@ class LoaderTest extends Specification {
             }
     }
 
+    def "load routes with compiled source cache"() {
+        given:
+            def cache = Files.createTempDirectory('sources-cache')
+            System.setProperty(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY, cache.toString())
+
+        when:
+            def builders = (0..1).collect {
+                def runtime = new TestRuntime()
+                RoutesConfigurer.load(runtime, Sources.fromURI("classpath:routes.groovy"))
+
+                with(runtime.builders[0], RouteBuilder) {
+                    it.setContext(runtime.camelContext)
+                    it.configure()
+                }
+
+                return runtime.builders[0] as RouteBuilder
+            }
+
+        then:
+            builders.every { it.routeCollection.routes*.input*.endpointUri == ['timer:tick'] }
+
+            // the entry holds the script class so the second load does not compile
+            def entries = Files.list(cache).withCloseable { it.toList() }
+            entries.size() == 1
+            Files.isRegularFile(entries[0].resolve('Script_' + entries[0].fileName.toString().substring(0, 16) + '.class'))
+
+        cleanup:
+            System.clearProperty(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY)
+            cache.toFile().deleteDir()
+    }
+
+    def "compile routes in parallel"() {
+        given:
+            def threads = ConcurrentHashMap.newKeySet()
+            def context = new DefaultCamelContext()
+            context.registry.bind('threads', new SourceLoader.Interceptor() {
+                @Override
+                void beforeLoad(SourceLoader loader, Source source) {
+                }
+
+                @Override
+                SourceLoader.Result afterLoad(SourceLoader loader, Source source, SourceLoader.Result result) {
+                    // the script has been compiled on the thread loading the source
+                    threads.add(Thread.currentThread().name)
+                    return result
+                }
+            })
+
+            System.setProperty(Constants.PROPERTY_CAMEL_K_ROUTES_PARALLELISM, '2')
+
+        when:
+            RoutesConfigurer.forRoutes(
+                'classpath:routes.groovy?interceptors=threads',
+                'classpath:routes-with-endpoint-dsl.groovy?interceptors=threads'
+            ).accept(Runtime.Phase.ConfigureRoutes, Runtime.on(context))
+
+        then:
+            threads.size() == 2
+            threads.every { it.contains('RoutesConfigurer') }
+            context.routeDefinitions*.input*.endpointUri == ['timer:tick', 'timer://tick?period=1s']
+
+        cleanup:
+            System.clearProperty(Constants.PROPERTY_CAMEL_K_ROUTES_PARALLELISM)
+    }
+
+    def "compilation errors are raised when loading"() {
+        given:
+            def runtime = new TestRuntime()
+            def source = Sources.fromBytes('broken', 'groovy', null, 'from(\'timer:tick\'\n    .to(\'log:info\')'.bytes)
+
+        when:
+            RoutesConfigurer.load(runtime, source)
+
+        then:
+            thrown(Exception)
+            runtime.builders.isEmpty()
+    }
+
     static class TestRuntime implements Runtime {
         private final CamelContext camelContext
         private final List<RoutesBuilder> builders
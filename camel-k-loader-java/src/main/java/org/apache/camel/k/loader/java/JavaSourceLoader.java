@@ -19,14 +19,17 @@ package org.apache.camel.k.loader.java;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.k.CompositeClassloader;
 import org.apache.camel.k.Runtime;
 import org.apache.camel.k.Source;
 import org.apache.camel.k.SourceLoader;
 import org.apache.camel.k.annotation.Loader;
+import org.apache.camel.k.support.CompiledSourceCache;
 import org.apache.camel.k.support.StringSupport;
 import org.apache.camel.util.IOHelper;
 import org.joor.Reflect;
@@ -45,8 +48,7 @@ public class JavaSourceLoader implements SourceLoader {
         try (InputStream is = source.resolveAsInputStream(runtime.getCamelContext())) {
             final String content = IOHelper.loadText(is);
             final String name = determineQualifiedName(source, content);
-            final Reflect compiled = Reflect.compile(name, content);
-            final Object instance = compiled.create().get();
+            final Object instance = compile(runtime.getCamelContext(), name, content).create().get();
 
             // The given source may contains additional nested classes which are unknown to Camel
             // as they are associated to the ClassLoader used to compile the source thus we need
@@ -60,6 +62,26 @@ public class JavaSourceLoader implements SourceLoader {
         }
     }
 
+    private static Reflect compile(CamelContext context, String name, String content) throws Exception {
+        final Optional<CompiledSourceCache> cache = CompiledSourceCache.lookup(context);
+        if (!cache.isPresent()) {
+            return Reflect.compile(name, content);
+        }
+
+        // When the compiled source cache is enabled, the source is compiled retaining the
+        // generated bytecode so subsequent runs with the same content can skip compilation.
+        final ClassLoader parent = classLoader();
+        final String key = cache.get().key(parent, "java", name, content);
+
+        return Reflect.onClass(cache.get().loadClass(key, name, parent, () -> SourceCompiler.compile(parent, name, content)));
+    }
+
+    private static ClassLoader classLoader() {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+
+        return loader != null ? loader : JavaSourceLoader.class.getClassLoader();
+    }
+
     private static String determineQualifiedName(Source source, String content) {
         String name = StringSupport.substringBefore(source.getName(), ".java");
         Matcher matcher = PACKAGE_PATTERN.matcher(content);
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.loader.java;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.joor.ReflectException;
+
+/**
+ * Compiles a source in memory retaining the generated bytecode so it can be stored
+ * in the {@link org.apache.camel.k.support.CompiledSourceCache}.
+ */
+final class SourceCompiler {
+    private SourceCompiler() {
+    }
+
+    static Map<String, byte[]> compile(ClassLoader loader, String name, String content) throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new ReflectException("No compiler was provided by ToolProvider.getSystemJavaCompiler()");
+        }
+
+        final Map<String, ByteArrayOutputStream> output = new HashMap<>();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, null, null);
+             ForwardingJavaFileManager<StandardJavaFileManager> manager = new ForwardingJavaFileManager<>(standard) {
+                 @Override
+                 public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+                     return new SimpleJavaFileObject(URI.create("bytes:///" + className.replace('.', '/') + kind.extension), kind) {
+                         @Override
+                         public OutputStream openOutputStream() {
+                             return output.computeIfAbsent(className, k -> new ByteArrayOutputStream());
+                         }
+                     };
+                 }
+             }) {
+
+            final JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return content;
+                }
+            };
+
+            final List<String> options = List.of("-classpath", classpath(loader));
+            final Boolean result = compiler.getTask(null, manager, diagnostics, options, null, Collections.singletonList(source)).call();
+
+            if (!Boolean.TRUE.equals(result)) {
+                throw new ReflectException(
+                    "Compilation error: " + diagnostics.getDiagnostics().stream().map(Object::toString).collect(Collectors.joining("\n")));
+            }
+        }
+
+        final Map<String, byte[]> classes = new HashMap<>();
+        for (Map.Entry<String, ByteArrayOutputStream> entry : output.entrySet()) {
+            classes.put(entry.getKey(), entry.getValue().toByteArray());
+        }
+
+        return classes;
+    }
+
+    private static String classpath(ClassLoader loader) {
+        final List<String> entries = new ArrayList<>();
+        entries.add(System.getProperty("java.class.path"));
+
+        for (ClassLoader cl = loader; cl != null; cl = cl.getParent()) {
+            if (cl instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) cl).getURLs()) {
+                    if ("file".equals(url.getProtocol())) {
+                        entries.add(new File(url.getPath()).getAbsolutePath());
+                    }
+                }
+            }
+        }
+
+        return String.join(File.pathSeparator, entries);
+    }
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.camel.k.loader.java;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -26,16 +28,19 @@ import org.apache.camel.RoutesBuilder;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.k.CompositeClassloader;
+import org.apache.camel.k.Constants;
 import org.apache.camel.k.Runtime;
 import org.apache.camel.k.Source;
 import org.apache.camel.k.SourceLoader;
 import org.apache.camel.k.Sources;
 import org.apache.camel.k.listener.RoutesConfigurer;
+import org.apache.camel.k.support.SourcesPrecompiler;
 import org.apache.camel.model.ProcessDefinition;
 import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.SetBodyDefinition;
 import org.apache.camel.model.ToDefinition;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -65,6 +70,66 @@ public class RoutesLoaderTest {
         assertThat(routes.get(0).getOutputs().get(2)).isInstanceOf(ToDefinition.class);
     }
 
+    @Test
+    public void testLoadJavaWithCompiledSourceCache(@TempDir Path cache) throws Exception {
+        System.setProperty(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY, cache.toString());
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                TestRuntime runtime = new TestRuntime();
+                Source source = Sources.fromURI("classpath:MyRoutesWithNestedClass.java");
+                SourceLoader loader = RoutesConfigurer.load(runtime, source);
+
+                assertThat(loader).isInstanceOf(JavaSourceLoader.class);
+                assertThat(runtime.builders).hasSize(1);
+                assertThat(runtime.builders).first().isInstanceOf(RouteBuilder.class);
+
+                RouteBuilder builder = (RouteBuilder)runtime.builders.get(0);
+                builder.setContext(runtime.getCamelContext());
+                builder.configure();
+
+                List<RouteDefinition> routes = builder.getRouteCollection().getRoutes();
+                assertThat(routes).hasSize(1);
+                assertThat(routes.get(0).getInput().getEndpointUri()).isEqualTo("timer:tick");
+                assertThat(routes.get(0).getOutputs().get(1)).isInstanceOf(ProcessDefinition.class);
+
+                try (Stream<Path> entries = Files.list(cache)) {
+                    assertThat(entries).hasSize(1).allSatisfy(entry -> assertThat(entry).isDirectory());
+                }
+            }
+        } finally {
+            System.clearProperty(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY);
+        }
+    }
+
+    @Test
+    public void testLoadJavaPrecompiled(@TempDir Path cache) throws Exception {
+        SourcesPrecompiler.precompile(cache, List.of("classpath:MyRoutesWithNestedClass.java"));
+
+        try (Stream<Path> entries = Files.list(cache)) {
+            assertThat(entries).hasSize(1);
+        }
+
+        TestRuntime runtime = new TestRuntime();
+        runtime.setInitialProperties(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY, cache.toString());
+
+        Source source = Sources.fromURI("classpath:MyRoutesWithNestedClass.java");
+        SourceLoader loader = RoutesConfigurer.load(runtime, source);
+
+        assertThat(loader).isInstanceOf(JavaSourceLoader.class);
+        assertThat(runtime.builders).hasSize(1);
+
+        RouteBuilder builder = (RouteBuilder)runtime.builders.get(0);
+        builder.setContext(runtime.getCamelContext());
+        builder.configure();
+
+        assertThat(builder.getRouteCollection().getRoutes()).hasSize(1);
+
+        try (Stream<Path> entries = Files.list(cache)) {
+            assertThat(entries).hasSize(1);
+        }
+    }
+
     @Test
     public void testLoadJavaWithRestConfiguration() throws Exception {
         TestRuntime runtime = new TestRuntime();
@@ -44,6 +44,12 @@ public class JavaScriptSourceLoader implements SourceLoader {
         return Collections.singletonList(LANGUAGE_ID);
     }
 
+    /**
+     * The script is evaluated by the configure method of the returned builder, on the
+     * calling thread, as its evaluation wires the routes and binds the polyglot context
+     * to the lifecycle of the camel context: loading sources in parallel does not speed
+     * it up.
+     */
     @Override
     public Result load(Runtime runtime, Source source) throws Exception {
         RoutesBuilder builder = RouteBuilders.endpoint(source, JavaScriptSourceLoader::doLoad);
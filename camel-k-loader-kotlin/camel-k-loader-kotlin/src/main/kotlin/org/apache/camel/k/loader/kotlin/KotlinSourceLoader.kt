@@ -16,6 +16,7 @@
  */
 package org.apache.camel.k.loader.kotlin
 
+import org.apache.camel.CamelContext
 import org.apache.camel.Experimental
 import org.apache.camel.RuntimeCamelException
 import org.apache.camel.builder.endpoint.EndpointRouteBuilder
@@ -23,15 +24,21 @@ import org.apache.camel.k.Runtime
 import org.apache.camel.k.Source
 import org.apache.camel.k.SourceLoader
 import org.apache.camel.k.loader.kotlin.dsl.IntegrationConfiguration
-import org.apache.camel.k.support.RouteBuilders
+import org.apache.camel.k.support.CompiledSourceCache
+import org.jetbrains.kotlin.scripting.compiler.plugin.impl.KJvmCompiledModuleInMemory
 import org.slf4j.LoggerFactory
-import java.io.Reader
-import kotlin.script.experimental.api.ResultValue
+import java.lang.reflect.InvocationTargetException
+import kotlin.script.experimental.api.CompiledScript
+import kotlin.script.experimental.api.ScriptCompilationConfiguration
 import kotlin.script.experimental.api.ScriptDiagnostic
 import kotlin.script.experimental.api.ScriptEvaluationConfiguration
-import kotlin.script.experimental.api.constructorArgs
+import kotlin.script.experimental.api.SourceCode
+import kotlin.script.experimental.api.baseClass
+import kotlin.script.experimental.api.compilerOptions
+import kotlin.script.experimental.api.defaultImports
 import kotlin.script.experimental.api.valueOrNull
 import kotlin.script.experimental.host.toScriptSource
+import kotlin.script.experimental.jvm.impl.KJvmCompiledScript
 import kotlin.script.experimental.jvmhost.BasicJvmScriptingHost
 import kotlin.script.experimental.jvmhost.createJvmCompilationConfigurationFromTemplate
 
@@ -41,38 +48,98 @@ class KotlinSourceLoader : SourceLoader {
         return listOf("kts")
     }
 
+    /**
+     * The script is compiled here, that is on the routes loading pool when sources are
+     * loaded in parallel, whereas it is evaluated, as it may change the context, only
+     * when the routes are configured.
+     */
     @Throws(Exception::class)
     override fun load(runtime: Runtime, source: Source): SourceLoader.Result {
-        val builder = RouteBuilders.endpoint(source) {
-            reader, builder -> doLoad(reader, builder)
+        val scriptClass = compile(runtime.camelContext, source)
+
+        val builder = object : EndpointRouteBuilder() {
+            override fun configure() {
+                try {
+                    //
+                    // The body of the script is run by the constructor of the script class
+                    // which takes the arguments used to initialize the script base class
+                    // (IntegrationConfiguration)
+                    //
+                    scriptClass.constructors.single().newInstance(this)
+                } catch (e: InvocationTargetException) {
+                    // ensure evaluation errors propagation
+                    throw RuntimeCamelException(e.targetException)
+                }
+            }
         }
 
         return SourceLoader.Result.on(builder)
     }
 
-    private fun doLoad(reader: Reader, builder: EndpointRouteBuilder) {
+    private fun compile(context: CamelContext, source: Source): Class<*> {
         val host = BasicJvmScriptingHost()
         val config = createJvmCompilationConfigurationFromTemplate<IntegrationConfiguration>()
+        val text = source.resolveAsReader(context).use { it.readText() }
 
-        val result = host.eval(
-                reader.readText().toScriptSource(),
-                config,
-                ScriptEvaluationConfiguration {
-                    //
-                    // Arguments used to initialize the script base class (IntegrationConfiguration)
-                    //
-                    constructorArgs(builder)
-                }
-        )
+        val cache = CompiledSourceCache.lookup(context)
+        if (!cache.isPresent) {
+            return load(host, source, compile(host, config, source, text.toScriptSource()))
+        }
+
+        //
+        // When the compiled source cache is enabled, the bytecode generated by the
+        // compiler is retained so subsequent runs with the same content can skip
+        // compilation.
+        //
+        val parent = Thread.currentThread().contextClassLoader ?: KotlinSourceLoader::class.java.classLoader
+        val key = cache.get().key(
+            parent,
+            "kts",
+            KotlinVersion.CURRENT.toString(),
+            config[ScriptCompilationConfiguration.baseClass]?.typeName.orEmpty(),
+            config[ScriptCompilationConfiguration.defaultImports].orEmpty().joinToString(","),
+            config[ScriptCompilationConfiguration.compilerOptions].orEmpty().joinToString(","),
+            text)
+
+        val name = "Script_" + key.substring(0, 16)
+
+        return cache.get().loadClass(key, name, parent) {
+            val compiled = compile(host, config, source, text.toScriptSource("$name.kts"))
+            val module = (compiled as? KJvmCompiledScript<*>)?.compiledModule as? KJvmCompiledModuleInMemory
+                ?: throw RuntimeCamelException("Unable to retrieve the bytecode of " + source.name)
 
-        // ensure evaluation errors propagation
-        when(val rv = result.valueOrNull()?.returnValue) {
-            is ResultValue.Error -> throw RuntimeCamelException(rv.error)
+            module.compilerOutputFiles
+                .filterKeys { it.endsWith(".class") }
+                .mapKeys { it.key.removeSuffix(".class").replace('/', '.') }
         }
+    }
+
+    private fun compile(host: BasicJvmScriptingHost, config: ScriptCompilationConfiguration, source: Source, script: SourceCode): CompiledScript<*> {
+        val result = host.runInCoroutineContext {
+            host.compiler(script, config)
+        }
+
+        report(result.reports)
+
+        return result.valueOrNull()
+            ?: throw RuntimeCamelException("Unable to compile " + source.name + ": " + result.reports.joinToString { it.message })
+    }
+
+    private fun load(host: BasicJvmScriptingHost, source: Source, compiled: CompiledScript<*>): Class<*> {
+        val result = host.runInCoroutineContext {
+            compiled.getClass(ScriptEvaluationConfiguration())
+        }
+
+        report(result.reports)
+
+        return result.valueOrNull()?.java
+            ?: throw RuntimeCamelException("Unable to load " + source.name + ": " + result.reports.joinToString { it.message })
+    }
 
-        if (result.reports.isNotEmpty()) {
+    private fun report(reports: List<ScriptDiagnostic>) {
+        if (reports.isNotEmpty()) {
             val logger = LoggerFactory.getLogger(KotlinSourceLoader::class.java)
-            for (report in result.reports) {
+            for (report in reports) {
                 when (report.severity) {
                     ScriptDiagnostic.Severity.FATAL -> logger.error(report.message, report.exception)
                     ScriptDiagnostic.Severity.ERROR -> logger.error(report.message, report.exception)
@@ -20,17 +20,32 @@ import org.apache.camel.CamelContext
 import org.apache.camel.RoutesBuilder
 import org.apache.camel.builder.RouteBuilder
 import org.apache.camel.impl.DefaultCamelContext
+import org.apache.camel.k.Constants
 import org.apache.camel.k.Runtime
+import org.apache.camel.k.Source
+import org.apache.camel.k.SourceLoader
 import org.apache.camel.k.Sources
 import org.apache.camel.k.listener.RoutesConfigurer
+import org.apache.camel.k.support.SourcesPrecompiler
 import org.apache.camel.model.ProcessDefinition
 import org.apache.camel.model.ToDefinition
 import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.nio.file.Files
+import java.nio.file.Path
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 
 class LoaderTest {
 
+    @AfterEach
+    fun tearDown() {
+        System.clearProperty(Constants.PROPERTY_CAMEL_K_ROUTES_PARALLELISM)
+    }
+
     @Test
     fun `load routes`() {
         val runtime = TestRuntime()
@@ -74,6 +89,103 @@ class LoaderTest {
         }
     }
 
+    @Test
+    fun `load routes with compiled source cache`(@TempDir cache: Path) {
+        System.setProperty(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY, cache.toString())
+
+        try {
+            for (i in 0 until 2) {
+                val runtime = TestRuntime()
+                val source = Sources.fromURI("classpath:routes.kts")
+                val loader = RoutesConfigurer.load(runtime, source)
+
+                assertThat(loader).isInstanceOf(KotlinSourceLoader::class.java)
+                assertThat(runtime.builders).hasSize(1)
+
+                val builder = runtime.builders[0] as RouteBuilder
+                builder.context = runtime.camelContext
+                builder.configure()
+
+                val routes = builder.routeCollection.routes
+                assertThat(routes).hasSize(1)
+                assertThat(routes[0].input.endpointUri).isEqualTo("timer:tick")
+
+                // the entry holds the script class so the second load does not compile
+                Files.list(cache).use { entries ->
+                    assertThat(entries).hasSize(1).allSatisfy {
+                        assertThat(it.resolve("Script_" + it.fileName.toString().substring(0, 16) + ".class")).isRegularFile()
+                    }
+                }
+            }
+        } finally {
+            System.clearProperty(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY)
+        }
+    }
+
+    @Test
+    fun `load precompiled routes`(@TempDir cache: Path) {
+        SourcesPrecompiler.precompile(cache, listOf("classpath:routes.kts"))
+
+        Files.list(cache).use { assertThat(it).hasSize(1) }
+
+        val runtime = TestRuntime()
+        runtime.setInitialProperties(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY, cache.toString())
+
+        val loader = RoutesConfigurer.load(runtime, Sources.fromURI("classpath:routes.kts"))
+
+        assertThat(loader).isInstanceOf(KotlinSourceLoader::class.java)
+        assertThat(runtime.builders).hasSize(1)
+
+        val builder = runtime.builders[0] as RouteBuilder
+        builder.context = runtime.camelContext
+        builder.configure()
+
+        assertThat(builder.routeCollection.routes).hasSize(1)
+
+        Files.list(cache).use { assertThat(it).hasSize(1) }
+    }
+
+    @Test
+    fun `compile routes in parallel`() {
+        System.setProperty(Constants.PROPERTY_CAMEL_K_ROUTES_PARALLELISM, "2")
+
+        val threads = ConcurrentHashMap.newKeySet<String>()
+        val context = DefaultCamelContext()
+
+        context.registry.bind("threads", object : SourceLoader.Interceptor {
+            override fun beforeLoad(loader: SourceLoader, source: Source) {
+            }
+
+            override fun afterLoad(loader: SourceLoader, source: Source, result: SourceLoader.Result): SourceLoader.Result {
+                // the script has been compiled on the thread loading the source
+                threads.add(Thread.currentThread().name)
+                return result
+            }
+        })
+
+        RoutesConfigurer.forRoutes(
+            "classpath:routes.kts?interceptors=threads",
+            "classpath:routes-with-endpoint-dsl.kts?interceptors=threads"
+        ).accept(Runtime.Phase.ConfigureRoutes, Runtime.on(context))
+
+        assertThat(threads)
+            .hasSize(2)
+            .allSatisfy { assertThat(it).contains("RoutesConfigurer") }
+        assertThat(context.routeDefinitions)
+            .extracting<String> { it.input.endpointUri }
+            .containsExactly("timer:tick", "timer://tick?period=1s")
+    }
+
+    @Test
+    fun `compilation errors are raised when loading`() {
+        val runtime = TestRuntime()
+        val source = Sources.fromBytes("broken", "kts", null, "from(\"timer:tick\"\n    .to(\"log:info\")".toByteArray())
+
+        assertThatThrownBy { RoutesConfigurer.load(runtime, source) }
+            .isInstanceOf(Exception::class.java)
+        assertThat(runtime.builders).isEmpty()
+    }
+
     internal class TestRuntime : Runtime {
         private val context: CamelContext
         val builders: MutableList<RoutesBuilder>
@@ -42,6 +42,12 @@ public class XmlSourceLoader implements SourceLoader {
         return Collections.singletonList("xml");
     }
 
+    @Override
+    public boolean isConcurrent() {
+        // parsing the source does not change the state of the context
+        return true;
+    }
+
     @Override
     public Result load(Runtime runtime, Source source) throws Exception {
         RouteBuilder builder = new RouteBuilder() {
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.loader.xml;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.k.Constants;
+import org.apache.camel.k.Runtime;
+import org.apache.camel.k.Source;
+import org.apache.camel.k.SourceLoader;
+import org.apache.camel.k.listener.RoutesConfigurer;
+import org.apache.camel.k.support.RuntimeSupport;
+import org.apache.camel.model.RouteDefinition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RoutesConfigurerTest {
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(Constants.PROPERTY_CAMEL_K_ROUTES_PARALLELISM);
+    }
+
+    @Test
+    public void testConfigureRoutesInParallel() {
+        System.setProperty(Constants.PROPERTY_CAMEL_K_ROUTES_PARALLELISM, "3");
+
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        DefaultCamelContext context = new DefaultCamelContext();
+        context.getRegistry().bind("threads", new SourceLoader.Interceptor() {
+            @Override
+            public void beforeLoad(SourceLoader loader, Source source) {
+            }
+
+            @Override
+            public SourceLoader.Result afterLoad(SourceLoader loader, Source source, SourceLoader.Result result) {
+                // the xml is parsed when the routes are configured
+                RuntimeSupport.beforeConfigure(result.builder(), builder -> threads.add(Thread.currentThread().getName()));
+                return result;
+            }
+        });
+
+        RoutesConfigurer.forRoutes(
+            "classpath:routes-parallel-1.xml?interceptors=threads",
+            "classpath:routes-parallel-2.xml?interceptors=threads",
+            "classpath:routes-parallel-3.xml?interceptors=threads"
+        ).accept(Runtime.Phase.ConfigureRoutes, Runtime.on(context));
+
+        assertThat(threads)
+            .hasSize(3)
+            .allSatisfy(thread -> assertThat(thread).contains("RoutesConfigurer"));
+        assertThat(context.getRouteDefinitions())
+            .extracting(RouteDefinition::getId)
+            .containsExactly("r1", "r2", "r3");
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.loader.yaml;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.model.RoutesDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Loads an integration made of a route with 500 steps, {@link #shared()} uses the loader as it
+ * is whereas {@link #unshared()} reproduces what the loader used to do, that is creating a new
+ * mapper for each source and a new reader for each step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class YamlSourceLoaderBenchmark {
+    private static final int STEPS = 500;
+
+    private CamelContext context;
+    private byte[] content;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("- from:\n");
+        sb.append("    uri: \"direct:route\"\n");
+        sb.append("    steps:\n");
+
+        for (int i = 1; i <= STEPS; i++) {
+            sb.append("      - set-header:\n");
+            sb.append("          name: h").append(i).append('\n');
+            sb.append("          constant: v").append(i).append('\n');
+        }
+
+        sb.append("      - to: \"mock:route\"\n");
+
+        this.content = sb.toString().getBytes(StandardCharsets.UTF_8);
+        this.context = new DefaultCamelContext();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public RoutesDefinition shared() throws Exception {
+        return load(new YamlSourceLoader().builder(new ByteArrayInputStream(content)));
+    }
+
+    @Benchmark
+    public RoutesDefinition unshared() throws Exception {
+        return load(YamlSourceLoader.builder(new ByteArrayInputStream(content), YamlSourceLoader.newMapper(), new UncachedReaders()));
+    }
+
+    private RoutesDefinition load(RouteBuilder builder) throws Exception {
+        return builder.configureRoutes(context);
+    }
+
+    /**
+     * A map that never retains the readers so each step creates its own.
+     */
+    private static final class UncachedReaders extends ConcurrentHashMap<Type, ObjectReader> {
+        @Override
+        public ObjectReader computeIfAbsent(Type key, Function<? super Type, ? extends ObjectReader> mappingFunction) {
+            return mappingFunction.apply(key);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package org.apache.camel.k.loader.yaml.jmh_generated;
+public class YamlSourceLoaderBenchmark_jmhType extends YamlSourceLoaderBenchmark_jmhType_B3 {
+}
+
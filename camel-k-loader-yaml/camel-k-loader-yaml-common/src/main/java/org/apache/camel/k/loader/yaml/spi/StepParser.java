@@ -17,12 +17,14 @@
 package org.apache.camel.k.loader.yaml.spi;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.apache.camel.CamelContext;
 import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.builder.RouteBuilder;
@@ -42,13 +44,22 @@ public interface StepParser {
         private final ProcessorDefinition<?> processor;
         private final JsonNode node;
         private final Resolver resolver;
+        private final ConcurrentMap<Type, ObjectReader> readers;
 
         public Context(RouteBuilder builder, ProcessorDefinition<?> processor, ObjectMapper mapper, JsonNode node, Resolver resolver) {
+            this(builder, processor, mapper, node, resolver, new ConcurrentHashMap<>());
+        }
+
+        /**
+         * Creates a context reusing the given readers, the readers must have been created by the given mapper.
+         */
+        public Context(RouteBuilder builder, ProcessorDefinition<?> processor, ObjectMapper mapper, JsonNode node, Resolver resolver, ConcurrentMap<Type, ObjectReader> readers) {
             this.builder = builder;
             this.processor = processor;
             this.mapper = mapper;
             this.node = node;
             this.resolver = ObjectHelper.notNull(resolver, "resolver");
+            this.readers = ObjectHelper.notNull(readers, "readers");
         }
 
         @Override
@@ -83,7 +94,7 @@ public interface StepParser {
             final T definition;
 
             try {
-                definition = mapper.reader().forType(type).readValue(node);
+                definition = reader(type).readValue(node);
             } catch (IOException e) {
                 throw new IllegalStateException(e);
             }
@@ -102,7 +113,7 @@ public interface StepParser {
             final T definition;
 
             try {
-                definition = mapper.reader().forType(type).readValue(node);
+                definition = reader(type.getType()).readValue(node);
             } catch (IOException e) {
                 throw new IllegalStateException(e);
             }
@@ -114,6 +125,12 @@ public interface StepParser {
             return definition;
         }
 
+        private ObjectReader reader(Type type) {
+            // readers are immutable and costly to create so they are shared among the
+            // contexts derived from the same root context
+            return readers.computeIfAbsent(type, t -> mapper.readerFor(mapper.getTypeFactory().constructType(t)));
+        }
+
         public <T extends StepParser> T lookup(Class<T> type, String stepId) {
             StepParser parser = resolver.resolve(builder.getContext(), stepId);
             if (type.isInstance(parser)) {
@@ -129,7 +146,8 @@ public interface StepParser {
                 processor,
                 context.mapper,
                 step,
-                context.resolver
+                context.resolver,
+                context.readers
             );
         }
 
@@ -139,7 +157,8 @@ public interface StepParser {
                 processor,
                 context.mapper,
                 context.node,
-                context.resolver
+                context.resolver,
+                context.readers
             );
         }
 
@@ -149,7 +168,8 @@ public interface StepParser {
                 context.processor,
                 context.mapper,
                 step,
-                context.resolver
+                context.resolver,
+                context.readers
             );
         }
     }
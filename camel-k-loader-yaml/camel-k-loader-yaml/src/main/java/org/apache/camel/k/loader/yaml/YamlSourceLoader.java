@@ -18,14 +18,18 @@ package org.apache.camel.k.loader.yaml;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
@@ -45,21 +49,18 @@ public class YamlSourceLoader implements SourceLoader {
         YamlReifiers.registerReifiers();
     }
 
+    //
+    // The mapper and the readers derived from it are thread safe and their configuration
+    // never changes so they are shared among all the loaders to avoid rebuilding Jackson's
+    // serializers and deserializers caches for each of them.
+    //
+    private static final ObjectMapper MAPPER = newMapper();
+    private static final ConcurrentMap<Type, ObjectReader> READERS = new ConcurrentHashMap<>();
+
     private final ObjectMapper mapper;
 
     public YamlSourceLoader() {
-        YAMLFactory yamlFactory = new YAMLFactory()
-            .configure(YAMLGenerator.Feature.MINIMIZE_QUOTES, true)
-            .configure(YAMLGenerator.Feature.USE_NATIVE_TYPE_ID, false);
-
-        this.mapper = new ObjectMapper(yamlFactory)
-            .registerModule(new YamlModule())
-            .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
-            .setPropertyNamingStrategy(PropertyNamingStrategy.KEBAB_CASE)
-            .enable(MapperFeature.USE_GETTERS_AS_SETTERS)
-            .disable(MapperFeature.REQUIRE_SETTERS_FOR_GETTERS)
-            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
-            .enable(SerializationFeature.INDENT_OUTPUT);
+        this.mapper = MAPPER;
     }
 
     @Override
@@ -67,6 +68,12 @@ public class YamlSourceLoader implements SourceLoader {
         return Collections.singletonList("yaml");
     }
 
+    @Override
+    public boolean isConcurrent() {
+        // parsing the source does not change the state of the context
+        return true;
+    }
+
     @Override
     public Result load(Runtime runtime, Source source) throws Exception {
         return Result.on(
@@ -83,6 +90,10 @@ public class YamlSourceLoader implements SourceLoader {
     }
 
     final RouteBuilder builder(InputStream is) {
+        return builder(is, mapper, READERS);
+    }
+
+    static RouteBuilder builder(InputStream is, ObjectMapper mapper, ConcurrentMap<Type, ObjectReader> readers) {
         return new RouteBuilder() {
             @Override
             public void configure() throws Exception {
@@ -91,11 +102,26 @@ public class YamlSourceLoader implements SourceLoader {
                 try (is) {
                     for (Step step : mapper.readValue(is, Step[].class)) {
                         StartStepParser.invoke(
-                            new StepParser.Context(this, null, mapper, step.node, resolver),
+                            new StepParser.Context(this, null, mapper, step.node, resolver, readers),
                             step.id);
                     }
                 }
             }
         };
     }
+
+    static ObjectMapper newMapper() {
+        YAMLFactory yamlFactory = new YAMLFactory()
+            .configure(YAMLGenerator.Feature.MINIMIZE_QUOTES, true)
+            .configure(YAMLGenerator.Feature.USE_NATIVE_TYPE_ID, false);
+
+        return new ObjectMapper(yamlFactory)
+            .registerModule(new YamlModule())
+            .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+            .setPropertyNamingStrategy(PropertyNamingStrategy.KEBAB_CASE)
+            .enable(MapperFeature.USE_GETTERS_AS_SETTERS)
+            .disable(MapperFeature.REQUIRE_SETTERS_FOR_GETTERS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    }
 }
@@ -170,4 +170,33 @@ class RoutesTest extends TestSupport {
         cleanup:
             context?.stop()
     }
+
+    def 'manySteps'() {
+        setup:
+            def content = new StringBuilder()
+            content << '- from:\n'
+            content << '    uri: "direct:route"\n'
+            content << '    steps:\n'
+            (1..500).each {
+                content << '      - set-header:\n'
+                content << "          name: h${it}\n"
+                content << "          constant: v${it}\n"
+            }
+            content << '      - to: "mock:route"\n'
+
+            def context = startContext(content.toString()) {
+            }
+
+            mockEndpoint(context, 'mock:route') {
+                expectedMessageCount 1
+                expectedHeaderReceived 'h1', 'v1'
+                expectedHeaderReceived 'h500', 'v500'
+            }
+        when:
+            template(context).to('direct:route').withBody('a').send()
+        then:
+            MockEndpoint.assertIsSatisfied(context)
+        cleanup:
+            context?.stop()
+    }
 }
@@ -16,38 +16,49 @@
  */
 package org.apache.camel.k.health;
 
-import java.util.Collection;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 import io.vertx.core.http.HttpMethod;
-import io.vertx.core.json.Json;
-import io.vertx.core.json.JsonArray;
-import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Route;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Ordered;
 import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpRouter;
 import org.apache.camel.health.HealthCheck;
-import org.apache.camel.health.HealthCheckFilter;
-import org.apache.camel.health.HealthCheckHelper;
 import org.apache.camel.health.HealthCheckRegistry;
-import org.apache.camel.impl.health.AbstractHealthCheck;
+import org.apache.camel.health.HealthCheckRepository;
 import org.apache.camel.impl.health.ContextHealthCheck;
 import org.apache.camel.impl.health.RoutesHealthCheckRepository;
 import org.apache.camel.k.ContextCustomizer;
 import org.apache.camel.k.annotation.Customizer;
+import org.apache.camel.k.http.VertxLoadSampler;
+import org.apache.camel.util.ObjectHelper;
 
 @Customizer("health")
 public class HealthContextCustomizer implements ContextCustomizer {
     public static final String DEFAULT_PATH = "/health";
+    public static final String DEFAULT_LIVENESS_PATH = "/health/live";
+    public static final String DEFAULT_READINESS_PATH = "/health/ready";
+    public static final long DEFAULT_LOAD_SAMPLE_INTERVAL = 1000;
 
     private String path;
     private String healthGroupFilterExclude;
     private boolean includeRoutes;
     private boolean includeContext;
+    private long cacheTtl;
+    private long refreshInterval;
+    private String livenessPath;
+    private String readinessPath;
+    private int readinessMaxInflight;
+    private long readinessMaxEventLoopLag;
+    private long readinessMaxWorkerQueueDelay;
+    private long loadSampleInterval;
 
     public HealthContextCustomizer() {
         this.path = DEFAULT_PATH;
+        this.livenessPath = DEFAULT_LIVENESS_PATH;
+        this.readinessPath = DEFAULT_READINESS_PATH;
+        this.loadSampleInterval = DEFAULT_LOAD_SAMPLE_INTERVAL;
         this.includeRoutes = true;
         this.includeContext = true;
     }
@@ -84,87 +95,173 @@ public class HealthContextCustomizer implements ContextCustomizer {
         this.includeContext = includeContext;
     }
 
+    public long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public long getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(long refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public String getLivenessPath() {
+        return livenessPath;
+    }
+
+    public void setLivenessPath(String livenessPath) {
+        this.livenessPath = livenessPath;
+    }
+
+    public String getReadinessPath() {
+        return readinessPath;
+    }
+
+    public void setReadinessPath(String readinessPath) {
+        this.readinessPath = readinessPath;
+    }
+
+    public int getReadinessMaxInflight() {
+        return readinessMaxInflight;
+    }
+
+    public void setReadinessMaxInflight(int readinessMaxInflight) {
+        this.readinessMaxInflight = readinessMaxInflight;
+    }
+
+    public long getReadinessMaxEventLoopLag() {
+        return readinessMaxEventLoopLag;
+    }
+
+    public void setReadinessMaxEventLoopLag(long readinessMaxEventLoopLag) {
+        this.readinessMaxEventLoopLag = readinessMaxEventLoopLag;
+    }
+
+    public long getReadinessMaxWorkerQueueDelay() {
+        return readinessMaxWorkerQueueDelay;
+    }
+
+    public void setReadinessMaxWorkerQueueDelay(long readinessMaxWorkerQueueDelay) {
+        this.readinessMaxWorkerQueueDelay = readinessMaxWorkerQueueDelay;
+    }
+
+    public long getLoadSampleInterval() {
+        return loadSampleInterval;
+    }
+
+    public void setLoadSampleInterval(long loadSampleInterval) {
+        this.loadSampleInterval = loadSampleInterval;
+    }
+
     @Override
     public int getOrder() {
         return Ordered.LOWEST;
     }
 
     @Override
-    public void apply(CamelContext camelContext) {
-        try {
-            HealthCheckRegistry reg =  HealthCheckRegistry.get(camelContext);
-            if (includeRoutes) {
-                reg.register(new RoutesHealthCheckRepository());
-            }
-            if (includeContext) {
-                ContextHealthCheck contextHealthCheck = new ContextHealthCheck();
-                contextHealthCheck.getConfiguration().setEnabled(true);
+    public boolean isConcurrent() {
+        return true;
+    }
 
-                reg.register(contextHealthCheck);
-            }
+    @Override
+    public void apply(CamelContext camelContext) {
+        final List<HealthCheck> checks = new ArrayList<>();
+        final List<HealthCheckRepository> repositories = new ArrayList<>();
 
-            camelContext.addService(reg);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        if (includeRoutes) {
+            repositories.add(new RoutesHealthCheckRepository());
         }
+        if (includeContext) {
+            ContextHealthCheck contextHealthCheck = new ContextHealthCheck();
+            contextHealthCheck.getConfiguration().setEnabled(true);
 
-        // add health route
-        addRoute(
-            camelContext,
-            VertxPlatformHttpRouter.lookup(camelContext)
-        );
-    }
+            checks.add(contextHealthCheck);
+        }
 
-    private Route addRoute(CamelContext camelContext, VertxPlatformHttpRouter router) {
-        Route route = router.route(HttpMethod.GET, path);
+        // the context is only mutated holding its monitor, see ContextCustomizer#isConcurrent
+        synchronized (camelContext) {
+            try {
+                HealthCheckRegistry reg = HealthCheckRegistry.get(camelContext);
+                repositories.forEach(reg::register);
+                checks.forEach(reg::register);
 
-        // add body handler
-        route.handler(router.bodyHandler());
+                camelContext.addService(reg);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
 
-        // add health endpoint handler
-        route.handler(routingContext -> {
-            int code = 200;
+            final VertxPlatformHttpRouter router = VertxPlatformHttpRouter.lookup(camelContext);
 
-            Collection<HealthCheck.Result> results = HealthCheckHelper.invoke(
+            // add health route
+            addRoute(
                 camelContext,
-                (HealthCheckFilter) check -> check.getGroup() != null && check.getGroup().equals(getHealthGroupFilterExclude()));
+                router,
+                path,
+                new HealthEvaluator(camelContext, this::isExcluded, cacheTtl, refreshInterval)
+            );
+
+            // add liveness route
+            if (ObjectHelper.isNotEmpty(livenessPath)) {
+                addRoute(
+                    camelContext,
+                    router,
+                    livenessPath,
+                    new HealthEvaluator(camelContext, check -> isExcluded(check) || !check.isLiveness(), cacheTtl, refreshInterval)
+                );
+            }
+
+            // add readiness route
+            if (ObjectHelper.isNotEmpty(readinessPath)) {
+                addRoute(
+                    camelContext,
+                    router,
+                    readinessPath,
+                    new HealthEvaluator(camelContext, check -> isExcluded(check) || !check.isReadiness(), loadChecks(camelContext, router), cacheTtl, refreshInterval)
+                );
+            }
+        }
+    }
 
-            JsonObject response = new JsonObject();
-            response.put("status", "UP");
+    private boolean isExcluded(HealthCheck check) {
+        return check.getGroup() != null && check.getGroup().equals(getHealthGroupFilterExclude());
+    }
 
-            JsonArray checks = new JsonArray();
+    private List<HealthCheck> loadChecks(CamelContext camelContext, VertxPlatformHttpRouter router) {
+        VertxLoadSampler sampler = null;
 
-            for (HealthCheck.Result result: results) {
-                Map<String, Object> details = result.getDetails();
-                boolean enabled = true;
+        if (readinessMaxEventLoopLag > 0 || readinessMaxWorkerQueueDelay > 0) {
+            sampler = VertxLoadSampler.lookup(camelContext, router.vertx(), loadSampleInterval);
+        }
 
-                if (details.containsKey(AbstractHealthCheck.CHECK_ENABLED)) {
-                    enabled = (boolean) details.get(AbstractHealthCheck.CHECK_ENABLED);
-                }
+        if (readinessMaxInflight > 0 || sampler != null) {
+            return List.of(
+                new LoadHealthCheck(camelContext, sampler, readinessMaxInflight, readinessMaxEventLoopLag, readinessMaxWorkerQueueDelay)
+            );
+        }
 
-                if (enabled) {
-                    JsonObject check = new JsonObject();
-                    check.put("name", result.getCheck().getId());
-                    check.put("status", result.getState().name());
+        return List.of();
+    }
 
-                    if (result.getState() == HealthCheck.State.DOWN) {
-                        response.put("status", "DOWN");
-                        code = 503;
-                    }
+    private Route addRoute(CamelContext camelContext, VertxPlatformHttpRouter router, String path, HealthEvaluator evaluator) {
+        try {
+            camelContext.addService(evaluator);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
 
-                    checks.add(check);
-                }
-            }
+        Route route = router.route(HttpMethod.GET, path);
 
-            if (!checks.isEmpty()) {
-                response.put("checks", checks);
-            }
+        // add body handler
+        route.handler(router.bodyHandler());
 
-            routingContext.response()
-                .putHeader("content-type", "application/json")
-                .setStatusCode(code)
-                .end(Json.encodePrettily(response));
-        });
+        // add health endpoint handler, the checks are never evaluated on the event loop
+        route.handler(evaluator::handle);
 
         return route;
     }
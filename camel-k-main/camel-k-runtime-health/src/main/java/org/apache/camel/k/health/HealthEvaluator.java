@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.health;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.camel.CamelContext;
+import org.apache.camel.health.HealthCheck;
+import org.apache.camel.health.HealthCheckFilter;
+import org.apache.camel.health.HealthCheckHelper;
+import org.apache.camel.impl.health.AbstractHealthCheck;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates the health checks off the event loop and caches the encoded
+ * result, either for a given TTL or until the next background refresh.
+ *
+ * A result produced by the background refresh is served for at most twice the
+ * refresh interval, after that the checks are evaluated on demand or, if the
+ * refresh is stuck on a slow check, the status is reported as DOWN.
+ */
+final class HealthEvaluator extends ServiceSupport {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HealthEvaluator.class);
+    private static final Snapshot STALE = new Snapshot(503, new JsonObject().put("status", "DOWN").toBuffer(), 0);
+
+    private final CamelContext camelContext;
+    private final HealthCheckFilter filter;
+    private final List<HealthCheck> additionalChecks;
+    private final long cacheTtl;
+    private final long refreshInterval;
+    private final long maxAge;
+    private final AtomicReference<CompletableFuture<Snapshot>> inflight;
+
+    private volatile Snapshot snapshot;
+    private ScheduledExecutorService executor;
+
+    HealthEvaluator(CamelContext camelContext, HealthCheckFilter filter, long cacheTtl, long refreshInterval) {
+        this(camelContext, filter, Collections.emptyList(), cacheTtl, refreshInterval);
+    }
+
+    HealthEvaluator(CamelContext camelContext, HealthCheckFilter filter, List<HealthCheck> additionalChecks, long cacheTtl, long refreshInterval) {
+        this.camelContext = camelContext;
+        this.filter = filter;
+        this.additionalChecks = additionalChecks;
+        this.cacheTtl = cacheTtl;
+        this.refreshInterval = refreshInterval;
+        this.maxAge = TimeUnit.MILLISECONDS.toNanos(refreshInterval > 0 ? 2 * refreshInterval : cacheTtl);
+        this.inflight = new AtomicReference<>();
+    }
+
+    void handle(RoutingContext routingContext) {
+        final Snapshot current = this.snapshot;
+
+        if (current != null && System.nanoTime() - current.timestamp < maxAge) {
+            write(routingContext, current);
+            return;
+        }
+        if (current != null && refreshInterval > 0 && inflight.get() != null) {
+            // the background refresh has not completed in time, don't pile up
+            // workers waiting for it
+            write(routingContext, STALE);
+            return;
+        }
+
+        routingContext.vertx().<Snapshot>executeBlocking(
+            promise -> promise.complete(evaluate()),
+            false,
+            result -> {
+                if (result.succeeded()) {
+                    write(routingContext, result.result());
+                } else {
+                    routingContext.fail(result.cause());
+                }
+            });
+    }
+
+    /**
+     * Evaluate the health checks, concurrent callers share the same evaluation.
+     */
+    Snapshot evaluate() {
+        CompletableFuture<Snapshot> future = new CompletableFuture<>();
+        CompletableFuture<Snapshot> existing = inflight.compareAndExchange(null, future);
+
+        if (existing != null) {
+            return existing.join();
+        }
+
+        try {
+            Snapshot result = compute();
+
+            this.snapshot = result;
+            future.complete(result);
+
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.set(null);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (refreshInterval > 0) {
+            executor = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "health-evaluator");
+            executor.scheduleWithFixedDelay(this::refresh, 0, refreshInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(executor);
+            executor = null;
+        }
+
+        snapshot = null;
+    }
+
+    private void refresh() {
+        try {
+            evaluate();
+        } catch (Exception e) {
+            LOGGER.warn("Failed to evaluate health checks", e);
+        }
+    }
+
+    private Snapshot compute() {
+        int code = 200;
+
+        Collection<HealthCheck.Result> results = new ArrayList<>(HealthCheckHelper.invoke(camelContext, filter));
+        for (HealthCheck check : additionalChecks) {
+            results.add(check.call());
+        }
+
+        JsonObject response = new JsonObject();
+        response.put("status", "UP");
+
+        JsonArray checks = new JsonArray();
+
+        for (HealthCheck.Result result: results) {
+            Map<String, Object> details = result.getDetails();
+            boolean enabled = true;
+
+            if (details.containsKey(AbstractHealthCheck.CHECK_ENABLED)) {
+                enabled = (boolean) details.get(AbstractHealthCheck.CHECK_ENABLED);
+            }
+
+            if (enabled) {
+                JsonObject check = new JsonObject();
+                check.put("name", result.getCheck().getId());
+                check.put("status", result.getState().name());
+
+                if (result.getState() == HealthCheck.State.DOWN) {
+                    response.put("status", "DOWN");
+                    code = 503;
+                }
+
+                checks.add(check);
+            }
+        }
+
+        if (!checks.isEmpty()) {
+            response.put("checks", checks);
+        }
+
+        return new Snapshot(code, response.toBuffer(), System.nanoTime());
+    }
+
+    private static void write(RoutingContext routingContext, Snapshot snapshot) {
+        routingContext.response()
+            .putHeader("content-type", "application/json")
+            .setStatusCode(snapshot.code)
+            .end(snapshot.body);
+    }
+
+    static final class Snapshot {
+        final int code;
+        final Buffer body;
+        final long timestamp;
+
+        Snapshot(int code, Buffer body, long timestamp) {
+            this.code = code;
+            this.body = body;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.health;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.health.HealthCheckResultBuilder;
+import org.apache.camel.impl.health.AbstractHealthCheck;
+import org.apache.camel.k.http.VertxLoadSampler;
+
+/**
+ * A readiness only check reporting DOWN when the integration is saturated so
+ * traffic can be routed to other replicas instead of being queued.
+ */
+final class LoadHealthCheck extends AbstractHealthCheck {
+    private final CamelContext camelContext;
+    private final VertxLoadSampler sampler;
+    private final int maxInflight;
+    private final long maxEventLoopLag;
+    private final long maxWorkerQueueDelay;
+
+    LoadHealthCheck(CamelContext camelContext, VertxLoadSampler sampler, int maxInflight, long maxEventLoopLag, long maxWorkerQueueDelay) {
+        super("camel", "load");
+
+        this.camelContext = camelContext;
+        this.sampler = sampler;
+        this.maxInflight = maxInflight;
+        this.maxEventLoopLag = maxEventLoopLag;
+        this.maxWorkerQueueDelay = maxWorkerQueueDelay;
+
+        getConfiguration().setEnabled(true);
+    }
+
+    @Override
+    public boolean isLiveness() {
+        return false;
+    }
+
+    @Override
+    protected void doCall(HealthCheckResultBuilder builder, Map<String, Object> options) {
+        builder.up();
+
+        if (maxInflight > 0) {
+            final int inflight = camelContext.getInflightRepository().size();
+
+            builder.detail("inflight", inflight);
+
+            if (inflight > maxInflight) {
+                builder.message("Too many inflight exchanges: " + inflight);
+                builder.down();
+            }
+        }
+        if (sampler != null && maxEventLoopLag > 0) {
+            final long lag = sampler.getEventLoopLag(TimeUnit.MILLISECONDS);
+
+            builder.detail("event-loop-lag", lag);
+
+            if (lag > maxEventLoopLag) {
+                builder.message("Event loop lag too high: " + lag + "ms");
+                builder.down();
+            }
+        }
+        if (sampler != null && maxWorkerQueueDelay > 0) {
+            final long delay = sampler.getWorkerQueueDelay(TimeUnit.MILLISECONDS);
+
+            builder.detail("worker-queue-delay", delay);
+
+            if (delay > maxWorkerQueueDelay) {
+                builder.message("Worker pool queue delay too high: " + delay + "ms");
+                builder.down();
+            }
+        }
+    }
+}
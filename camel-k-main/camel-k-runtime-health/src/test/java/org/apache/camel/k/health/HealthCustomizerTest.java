@@ -17,19 +17,38 @@
 package org.apache.camel.k.health;
 
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Ordered;
+import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpRouter;
+import org.apache.camel.health.HealthCheckRegistry;
+import org.apache.camel.health.HealthCheckResultBuilder;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.health.AbstractHealthCheck;
+import org.apache.camel.k.Constants;
+import org.apache.camel.k.ContextCustomizer;
 import org.apache.camel.k.Runtime;
 import org.apache.camel.k.http.PlatformHttpServiceContextCustomizer;
+import org.apache.camel.k.support.RuntimeSupport;
 import org.apache.camel.k.test.AvailablePortFinder;
 import org.apache.camel.util.ObjectHelper;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import static io.restassured.RestAssured.when;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
 
 public class HealthCustomizerTest {
 
@@ -79,4 +98,337 @@ public class HealthCustomizerTest {
             runtime.stop();
         }
     }
+
+    @Test
+    public void testHealthCachedResult() throws Exception {
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .routeId("my-route")
+                    .to("mock:end");
+            }
+        });
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        HealthContextCustomizer healthCustomizer = new HealthContextCustomizer();
+        healthCustomizer.setCacheTtl(TimeUnit.MINUTES.toMillis(1));
+        healthCustomizer.apply(runtime.getCamelContext());
+
+        URL url = new URL("http://localhost:" + phsc.getBindPort() + HealthContextCustomizer.DEFAULT_PATH);
+
+        try {
+            runtime.getCamelContext().start();
+
+            when()
+                .get(url)
+            .then()
+                .statusCode(200)
+                .body("status", equalTo("UP"));
+
+            runtime.getCamelContext().getRouteController().stopRoute("my-route");
+
+            // served from the cache
+            when()
+                .get(url)
+            .then()
+                .statusCode(200)
+                .body("status", equalTo("UP"));
+        } finally {
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void testHealthBackgroundRefresh() throws Exception {
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .routeId("my-route")
+                    .to("mock:end");
+            }
+        });
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        HealthContextCustomizer healthCustomizer = new HealthContextCustomizer();
+        healthCustomizer.setRefreshInterval(50);
+        healthCustomizer.apply(runtime.getCamelContext());
+
+        URL url = new URL("http://localhost:" + phsc.getBindPort() + HealthContextCustomizer.DEFAULT_PATH);
+
+        try {
+            runtime.getCamelContext().start();
+
+            // the first evaluation may happen while the routes are starting
+            assertThat(awaitStatusCode(url, 200)).isEqualTo(200);
+
+            runtime.getCamelContext().getRouteController().stopRoute("my-route");
+
+            assertThat(awaitStatusCode(url, 503)).isEqualTo(503);
+        } finally {
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void testHealthBackgroundRefreshStale() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        HealthContextCustomizer healthCustomizer = new HealthContextCustomizer();
+        healthCustomizer.setRefreshInterval(50);
+        healthCustomizer.apply(runtime.getCamelContext());
+
+        HealthCheckRegistry.get(runtime.getCamelContext()).register(new AbstractHealthCheck("slow") {
+            {
+                getConfiguration().setEnabled(true);
+            }
+
+            @Override
+            protected void doCall(HealthCheckResultBuilder builder, Map<String, Object> options) {
+                // the first evaluation completes, the following ones hang until released
+                if (calls.getAndIncrement() > 0) {
+                    try {
+                        latch.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                builder.up();
+            }
+        });
+
+        URL url = new URL("http://localhost:" + phsc.getBindPort() + HealthContextCustomizer.DEFAULT_PATH);
+
+        try {
+            runtime.getCamelContext().start();
+
+            assertThat(awaitStatusCode(url, 503)).isEqualTo(503);
+
+            latch.countDown();
+
+            assertThat(awaitStatusCode(url, 200)).isEqualTo(200);
+        } finally {
+            latch.countDown();
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void testLivenessAndReadiness() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .routeId("my-route")
+                    .process(e -> latch.await(10, TimeUnit.SECONDS))
+                    .to("mock:end");
+            }
+        });
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        HealthContextCustomizer healthCustomizer = new HealthContextCustomizer();
+        healthCustomizer.setReadinessMaxInflight(1);
+        healthCustomizer.setReadinessMaxEventLoopLag(TimeUnit.MINUTES.toMillis(1));
+        healthCustomizer.setLoadSampleInterval(50);
+        healthCustomizer.apply(runtime.getCamelContext());
+
+        String base = "http://localhost:" + phsc.getBindPort();
+
+        try {
+            runtime.getCamelContext().start();
+
+            when()
+                .get(new URL(base + HealthContextCustomizer.DEFAULT_LIVENESS_PATH))
+            .then()
+                .statusCode(200)
+                .body(
+                    "status", equalTo("UP"),
+                    "checks.name", not(hasItems("context", "load")));
+            when()
+                .get(new URL(base + HealthContextCustomizer.DEFAULT_READINESS_PATH))
+            .then()
+                .statusCode(200)
+                .body(
+                    "status", equalTo("UP"),
+                    "checks.name", hasItems("context", "route:my-route", "load"));
+
+            ProducerTemplate template = runtime.getCamelContext().createProducerTemplate();
+            template.asyncSendBody("direct:start", "1");
+            template.asyncSendBody("direct:start", "2");
+
+            while (runtime.getCamelContext().getInflightRepository().size() < 2) {
+                Thread.sleep(10);
+            }
+
+            // saturated, not ready but still alive
+            when()
+                .get(new URL(base + HealthContextCustomizer.DEFAULT_READINESS_PATH))
+            .then()
+                .statusCode(503)
+                .body("status", equalTo("DOWN"));
+            when()
+                .get(new URL(base + HealthContextCustomizer.DEFAULT_LIVENESS_PATH))
+            .then()
+                .statusCode(200)
+                .body("status", equalTo("UP"));
+            when()
+                .get(new URL(base + HealthContextCustomizer.DEFAULT_PATH))
+            .then()
+                .statusCode(200)
+                .body("status", equalTo("UP"));
+        } finally {
+            latch.countDown();
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void testReadinessWithSaturatedWorkerPool() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        HealthContextCustomizer healthCustomizer = new HealthContextCustomizer();
+        healthCustomizer.setReadinessMaxWorkerQueueDelay(200);
+        healthCustomizer.setLoadSampleInterval(50);
+        // evaluate the checks off the saturated worker pool
+        healthCustomizer.setRefreshInterval(50);
+        healthCustomizer.apply(runtime.getCamelContext());
+
+        URL url = new URL("http://localhost:" + phsc.getBindPort() + HealthContextCustomizer.DEFAULT_READINESS_PATH);
+
+        try {
+            runtime.getCamelContext().start();
+
+            assertThat(awaitStatusCode(url, 200)).isEqualTo(200);
+
+            // occupy all the workers so the probe stays in the queue, the delay
+            // must grow even if the probe never completes
+            Vertx vertx = VertxPlatformHttpRouter.lookup(runtime.getCamelContext()).vertx();
+            for (int i = 0; i < VertxOptions.DEFAULT_WORKER_POOL_SIZE; i++) {
+                vertx.executeBlocking(promise -> {
+                    try {
+                        latch.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    promise.complete();
+                }, false, result -> {
+                });
+            }
+
+            assertThat(awaitStatusCode(url, 503)).isEqualTo(503);
+
+            latch.countDown();
+
+            assertThat(awaitStatusCode(url, 200)).isEqualTo(200);
+        } finally {
+            latch.countDown();
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void testHealthCustomizerIsAppliedConcurrently() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.getRegistry().bind("health", new HealthContextCustomizer() {
+            @Override
+            public void apply(CamelContext camelContext) {
+                await(latch);
+                super.apply(camelContext);
+            }
+        });
+        runtime.getRegistry().bind("other", new ContextCustomizer() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST;
+            }
+
+            @Override
+            public boolean isConcurrent() {
+                return true;
+            }
+
+            @Override
+            public void apply(CamelContext camelContext) {
+                await(latch);
+            }
+        });
+        runtime.setProperties(
+            Constants.PROPERTY_CAMEL_K_CUSTOMIZERS_PARALLEL, "true",
+            "camel.k.customizer.health.enabled", "true",
+            "camel.k.customizer.health.path", "/concurrent",
+            "camel.k.customizer.other.enabled", "true");
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        // the customizers complete only if they are applied at the same time
+        assertThat(RuntimeSupport.configureContextCustomizers(runtime)).hasSize(2);
+
+        try {
+            runtime.getCamelContext().start();
+
+            when()
+                .get(new URL("http://localhost:" + phsc.getBindPort() + "/concurrent"))
+            .then()
+                .statusCode(200)
+                .body("status", equalTo("UP"));
+        } finally {
+            runtime.stop();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        latch.countDown();
+
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Customizers have not been applied in parallel");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int awaitStatusCode(URL url, int expected) throws Exception {
+        int code = when().get(url).then().extract().statusCode();
+        for (int i = 0; i < 100 && code != expected; i++) {
+            Thread.sleep(50);
+            code = when().get(url).then().extract().statusCode();
+        }
+
+        return code;
+    }
 }
@@ -22,6 +22,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.ProducerTemplate;
@@ -31,6 +32,7 @@ import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.k.CompositeClassloader;
 import org.apache.camel.k.Runtime;
 import org.apache.camel.k.support.PropertiesSupport;
+import org.apache.camel.k.support.StartupProfiler;
 import org.apache.camel.main.BaseMainSupport;
 import org.apache.camel.main.MainSupport;
 import org.apache.camel.main.RoutesCollector;
@@ -159,6 +161,8 @@ public final class ApplicationRuntime implements Runtime {
         @Override
         public void afterStart(BaseMainSupport main) {
             invokeListeners(Phase.Started);
+
+            LOGGER.info("Startup report:{}{}", System.lineSeparator(), StartupProfiler.lookup(context).report());
         }
 
         @Override
@@ -172,13 +176,22 @@ public final class ApplicationRuntime implements Runtime {
         }
 
         private void invokeListeners(Phase phase) {
-            listeners.stream()
-                .sorted(Comparator.comparingInt(Listener::getOrder))
-                .forEach(l -> {
-                    if (l.accept(phase, ApplicationRuntime.this)) {
-                        LOGGER.info("Listener {} executed in phase {}", l, phase);
-                    }
-                });
+            final StartupProfiler profiler = StartupProfiler.lookup(context);
+
+            try (StartupProfiler.Step ignored = profiler.start(StartupProfiler.KIND_PHASE, phase.name())) {
+                listeners.stream()
+                    .sorted(Comparator.comparingInt(Listener::getOrder))
+                    .forEach(l -> {
+                        final StartupProfiler.Step step = profiler.start(StartupProfiler.KIND_LISTENER, phase.name() + ":" + l.getClass().getName());
+
+                        // only record the listeners that have been executed
+                        if (l.accept(phase, ApplicationRuntime.this)) {
+                            step.close();
+
+                            LOGGER.info("Listener {} executed in phase {} in {}ms", l, phase, TimeUnit.NANOSECONDS.toMillis(step.getDuration()));
+                        }
+                    });
+            }
         }
     }
 
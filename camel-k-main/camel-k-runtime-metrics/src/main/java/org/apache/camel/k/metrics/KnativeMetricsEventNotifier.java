@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.knative.spi.Knative;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.support.EventNotifierSupport;
+import org.apache.camel.util.URISupport;
+
+/**
+ * Records the traffic flowing through knative endpoints, both as producer
+ * (events sent to a sink) and as consumer (events received from a source).
+ *
+ * Meters are created the first time an endpoint (and status) is seen and then
+ * looked up from a map, so the per exchange overhead does not include building
+ * and registering them.
+ */
+final class KnativeMetricsEventNotifier extends EventNotifierSupport {
+    static final String KNATIVE_SCHEME = "knative:";
+    static final String PRODUCER_INFLIGHT = "camel.knative.producer.inflight";
+    static final String PRODUCER_REQUESTS = "camel.knative.producer.requests";
+    static final String PRODUCER_REQUEST_BYTES = "camel.knative.producer.request.bytes";
+    static final String CONSUMER_INFLIGHT = "camel.knative.consumer.inflight";
+    static final String CONSUMER_REQUESTS = "camel.knative.consumer.requests";
+    static final String CONSUMER_REQUEST_BYTES = "camel.knative.consumer.request.bytes";
+    static final String CONSUMER_POOL_WAIT = "camel.knative.consumer.pool.wait";
+
+    private final MeterRegistry registry;
+    private final Map<String, String> endpoints;
+    private final Map<String, AtomicInteger> producerInflight;
+    private final Map<String, AtomicInteger> consumerInflight;
+    private final Map<String, Map<String, Timer>> producerRequests;
+    private final Map<String, Map<String, Timer>> consumerRequests;
+    private final Map<String, DistributionSummary> producerRequestBytes;
+    private final Map<String, DistributionSummary> consumerRequestBytes;
+    private final Map<String, Timer> consumerPoolWait;
+
+    KnativeMetricsEventNotifier(MeterRegistry registry) {
+        this.registry = registry;
+        this.endpoints = new ConcurrentHashMap<>();
+        this.producerInflight = new ConcurrentHashMap<>();
+        this.consumerInflight = new ConcurrentHashMap<>();
+        this.producerRequests = new ConcurrentHashMap<>();
+        this.consumerRequests = new ConcurrentHashMap<>();
+        this.producerRequestBytes = new ConcurrentHashMap<>();
+        this.consumerRequestBytes = new ConcurrentHashMap<>();
+        this.consumerPoolWait = new ConcurrentHashMap<>();
+
+        setIgnoreCamelContextEvents(true);
+        setIgnoreRouteEvents(true);
+        setIgnoreServiceEvents(true);
+        setIgnoreExchangeRedeliveryEvents(true);
+    }
+
+    @Override
+    public boolean isEnabled(CamelEvent event) {
+        return event instanceof CamelEvent.ExchangeEvent;
+    }
+
+    @Override
+    public void notify(CamelEvent event) throws Exception {
+        if (event instanceof CamelEvent.ExchangeSendingEvent) {
+            final CamelEvent.ExchangeSendingEvent sending = (CamelEvent.ExchangeSendingEvent) event;
+            final String endpoint = knativeEndpoint(sending.getEndpoint());
+
+            if (endpoint != null) {
+                inflight(producerInflight, PRODUCER_INFLIGHT, endpoint).incrementAndGet();
+                recordBytes(producerRequestBytes, PRODUCER_REQUEST_BYTES, endpoint, sending.getExchange());
+            }
+        } else if (event instanceof CamelEvent.ExchangeSentEvent) {
+            final CamelEvent.ExchangeSentEvent sent = (CamelEvent.ExchangeSentEvent) event;
+            final String endpoint = knativeEndpoint(sent.getEndpoint());
+
+            if (endpoint != null) {
+                inflight(producerInflight, PRODUCER_INFLIGHT, endpoint).decrementAndGet();
+                requests(producerRequests, PRODUCER_REQUESTS, endpoint, status(sent.getExchange()))
+                    .record(sent.getTimeTaken(), TimeUnit.MILLISECONDS);
+            }
+        } else if (event instanceof CamelEvent.ExchangeCreatedEvent) {
+            final Exchange exchange = ((CamelEvent.ExchangeCreatedEvent) event).getExchange();
+            final String endpoint = knativeEndpoint(exchange.getFromEndpoint());
+
+            if (endpoint != null) {
+                inflight(consumerInflight, CONSUMER_INFLIGHT, endpoint).incrementAndGet();
+                recordBytes(consumerRequestBytes, CONSUMER_REQUEST_BYTES, endpoint, exchange);
+            }
+        } else if (event instanceof CamelEvent.ExchangeCompletedEvent || event instanceof CamelEvent.ExchangeFailedEvent) {
+            final Exchange exchange = ((CamelEvent.ExchangeEvent) event).getExchange();
+            final String endpoint = knativeEndpoint(exchange.getFromEndpoint());
+
+            if (endpoint != null) {
+                inflight(consumerInflight, CONSUMER_INFLIGHT, endpoint).decrementAndGet();
+                requests(consumerRequests, CONSUMER_REQUESTS, endpoint, status(exchange))
+                    .record(System.currentTimeMillis() - exchange.getCreated(), TimeUnit.MILLISECONDS);
+
+                // set by the http consumer when the exchange is handed over to the Vert.x worker pool
+                // or to the ack-early executor, measures how long it waited for a thread
+                final Long poolWait = exchange.getProperty(Knative.KNATIVE_WORKER_QUEUE_TIME, Long.class);
+                if (poolWait != null) {
+                    poolWait(endpoint).record(poolWait, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    private AtomicInteger inflight(Map<String, AtomicInteger> inflight, String name, String endpoint) {
+        return inflight.computeIfAbsent(endpoint, k -> registry.gauge(name, Tags.of("endpoint", k), new AtomicInteger()));
+    }
+
+    private Timer requests(Map<String, Map<String, Timer>> requests, String name, String endpoint, String status) {
+        return requests.computeIfAbsent(endpoint, k -> new ConcurrentHashMap<>()).computeIfAbsent(status, k ->
+            Timer.builder(name)
+                .tags(Tags.of("endpoint", endpoint, "status", k))
+                .register(registry)
+        );
+    }
+
+    private Timer poolWait(String endpoint) {
+        return consumerPoolWait.computeIfAbsent(endpoint, k ->
+            Timer.builder(CONSUMER_POOL_WAIT)
+                .description("Time an event waited for a thread before being processed")
+                .tags(Tags.of("endpoint", k))
+                .publishPercentileHistogram()
+                .register(registry)
+        );
+    }
+
+    private void recordBytes(Map<String, DistributionSummary> summaries, String name, String endpoint, Exchange exchange) {
+        // only measure payloads whose size is known without converting them
+        final Object body = exchange.getMessage().getBody();
+
+        if (body instanceof byte[]) {
+            summaries.computeIfAbsent(endpoint, k ->
+                DistributionSummary.builder(name)
+                    .baseUnit("bytes")
+                    .tags(Tags.of("endpoint", k))
+                    .register(registry)
+            ).record(((byte[]) body).length);
+        }
+    }
+
+    private String knativeEndpoint(Endpoint endpoint) {
+        if (endpoint == null) {
+            return null;
+        }
+
+        final String uri = endpoint.getEndpointUri();
+        if (!uri.startsWith(KNATIVE_SCHEME)) {
+            return null;
+        }
+
+        return endpoints.computeIfAbsent(uri, URISupport::sanitizeUri);
+    }
+
+    private static String status(Exchange exchange) {
+        final Object code = exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE);
+        if (code != null) {
+            return code.toString();
+        }
+
+        return exchange.isFailed() ? "500" : "200";
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Route;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpRouter;
+import org.apache.camel.k.ContextCustomizer;
+import org.apache.camel.k.annotation.Customizer;
+
+@Customizer("latency")
+public class LatencyContextCustomizer implements ContextCustomizer {
+    public static final String DEFAULT_PATH = "/latency";
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = TimeUnit.MINUTES.toNanos(10);
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
+    private String path;
+    private boolean includeProcessors;
+    private long highestTrackableValue;
+    private int significantDigits;
+    private long slowExchangeThreshold;
+
+    public LatencyContextCustomizer() {
+        this.path = DEFAULT_PATH;
+        this.includeProcessors = true;
+        this.highestTrackableValue = DEFAULT_HIGHEST_TRACKABLE_VALUE;
+        this.significantDigits = DEFAULT_SIGNIFICANT_DIGITS;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public boolean isIncludeProcessors() {
+        return includeProcessors;
+    }
+
+    public void setIncludeProcessors(boolean includeProcessors) {
+        this.includeProcessors = includeProcessors;
+    }
+
+    public long getHighestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    /**
+     * The highest latency, in nanoseconds, the histograms can record, higher values are
+     * recorded as this value.
+     */
+    public void setHighestTrackableValue(long highestTrackableValue) {
+        this.highestTrackableValue = highestTrackableValue;
+    }
+
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    public void setSignificantDigits(int significantDigits) {
+        this.significantDigits = significantDigits;
+    }
+
+    public long getSlowExchangeThreshold() {
+        return slowExchangeThreshold;
+    }
+
+    /**
+     * The latency, in milliseconds, above which the steps of an exchange are logged,
+     * a value of zero (default) disables it.
+     */
+    public void setSlowExchangeThreshold(long slowExchangeThreshold) {
+        this.slowExchangeThreshold = slowExchangeThreshold;
+    }
+
+    @Override
+    public void apply(CamelContext camelContext) {
+        LatencyRecorder recorder = new LatencyRecorder(highestTrackableValue, significantDigits, slowExchangeThreshold);
+
+        camelContext.addRoutePolicyFactory(recorder);
+
+        if (includeProcessors) {
+            camelContext.adapt(ExtendedCamelContext.class).addInterceptStrategy(recorder);
+        }
+
+        // add latency route
+        addRoute(
+            recorder,
+            VertxPlatformHttpRouter.lookup(camelContext)
+        );
+    }
+
+    private Route addRoute(LatencyRecorder recorder, VertxPlatformHttpRouter router) {
+        Route route = router.route(HttpMethod.GET, path);
+
+        // the snapshot copies and merges every histogram so keep it off the event loop
+        route.handler(routingContext -> {
+            routingContext.vertx().<Buffer>executeBlocking(
+                promise -> promise.complete(recorder.snapshot().toBuffer()),
+                false,
+                result -> {
+                    if (result.succeeded()) {
+                        routingContext.response()
+                            .putHeader("content-type", "application/json")
+                            .setStatusCode(200)
+                            .end(result.result());
+                    } else {
+                        routingContext.fail(result.cause());
+                    }
+                });
+        });
+
+        return route;
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.json.JsonObject;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.NamedRoute;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.spi.RoutePolicy;
+import org.apache.camel.spi.RoutePolicyFactory;
+import org.apache.camel.support.RoutePolicySupport;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the latency of routes and processors in HDR histograms.
+ *
+ * Histograms are resolved when routes are created so the hot path does not look them
+ * up and records values in wait-free {@link Recorder}s, the per-step details of an
+ * exchange are only collected when slow exchanges sampling is enabled.
+ *
+ * The start times of the routes and of the processors an exchange is going through are
+ * kept in a single {@link Timings} holder bound to the exchange, which is also the
+ * callback of the wrapped processors. Each exchange, copies included, allocates the
+ * holder and its four arrays the first time it enters a timed route, timing a step
+ * then allocates only when the exchange goes deeper than the arrays, which are doubled.
+ */
+final class LatencyRecorder implements RoutePolicyFactory, InterceptStrategy {
+    static final String TIMINGS_PROPERTY = "CamelLatencyTimings";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LatencyRecorder.class);
+
+    private final long highestTrackableValue;
+    private final int significantDigits;
+    private final long slowExchangeThreshold;
+    private final ConcurrentMap<String, RouteLatency> routes;
+    private final AtomicInteger routeIndex;
+
+    LatencyRecorder(long highestTrackableValue, int significantDigits, long slowExchangeThreshold) {
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+        this.slowExchangeThreshold = TimeUnit.MILLISECONDS.toNanos(slowExchangeThreshold);
+        this.routes = new ConcurrentHashMap<>();
+        this.routeIndex = new AtomicInteger();
+    }
+
+    @Override
+    public RoutePolicy createRoutePolicy(CamelContext camelContext, String routeId, NamedNode route) {
+        return new LatencyRoutePolicy(routeId, route(routeId));
+    }
+
+    @Override
+    public Processor wrapProcessorInInterceptors(CamelContext context, NamedNode definition, Processor target, Processor nextTarget) throws Exception {
+        final String routeId = routeId(definition);
+        if (routeId == null || definition.getId() == null) {
+            return target;
+        }
+
+        return new LatencyProcessor(target, routeId + "/" + definition.getId(), route(routeId).node(definition.getId()));
+    }
+
+    /**
+     * Takes a snapshot of all the histograms recorded so far.
+     */
+    JsonObject snapshot() {
+        JsonObject answer = new JsonObject();
+
+        for (Map.Entry<String, RouteLatency> entry : routes.entrySet()) {
+            JsonObject route = entry.getValue().histogram.snapshot();
+            JsonObject nodes = new JsonObject();
+
+            for (Map.Entry<String, LatencyHistogram> node : entry.getValue().nodes.entrySet()) {
+                nodes.put(node.getKey(), node.getValue().snapshot());
+            }
+
+            answer.put(entry.getKey(), route.put("nodes", nodes));
+        }
+
+        return new JsonObject().put("routes", answer);
+    }
+
+    private RouteLatency route(String routeId) {
+        return routes.computeIfAbsent(routeId, k -> new RouteLatency());
+    }
+
+    private static String routeId(NamedNode definition) {
+        for (NamedNode node = definition; node != null; node = node.getParent()) {
+            if (node instanceof NamedRoute) {
+                return ((NamedRoute) node).getRouteId();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the timings of the given exchange, exchanges copied by an EIP such as the
+     * splitter get their own timings but share the trace of the original exchange.
+     */
+    private Timings timings(Exchange exchange) {
+        final Object value = exchange.getProperty(TIMINGS_PROPERTY);
+
+        if (value instanceof Timings && ((Timings) value).exchange == exchange) {
+            return (Timings) value;
+        }
+
+        final Timings answer = new Timings(exchange, value instanceof Timings ? ((Timings) value).trace : null);
+        exchange.setProperty(TIMINGS_PROPERTY, answer);
+
+        return answer;
+    }
+
+    private final class LatencyHistogram {
+        private final Recorder recorder;
+        private final Histogram accumulated;
+        private Histogram interval;
+
+        LatencyHistogram() {
+            this.recorder = new Recorder(highestTrackableValue, significantDigits);
+            this.accumulated = new Histogram(highestTrackableValue, significantDigits);
+        }
+
+        void record(long nanos) {
+            recorder.recordValue(Math.min(Math.max(nanos, 0), highestTrackableValue));
+        }
+
+        synchronized JsonObject snapshot() {
+            interval = recorder.getIntervalHistogram(interval);
+            accumulated.add(interval);
+
+            return new JsonObject()
+                .put("count", accumulated.getTotalCount())
+                .put("mean", toMillis(accumulated.getMean()))
+                .put("p50", toMillis(accumulated.getValueAtPercentile(50)))
+                .put("p90", toMillis(accumulated.getValueAtPercentile(90)))
+                .put("p99", toMillis(accumulated.getValueAtPercentile(99)))
+                .put("p999", toMillis(accumulated.getValueAtPercentile(99.9)))
+                .put("max", toMillis(accumulated.getMaxValue()));
+        }
+
+        private double toMillis(double nanos) {
+            return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    private final class RouteLatency {
+        private final int index;
+        private final LatencyHistogram histogram;
+        private final ConcurrentMap<String, LatencyHistogram> nodes;
+
+        RouteLatency() {
+            this.index = routeIndex.getAndIncrement();
+            this.histogram = new LatencyHistogram();
+            this.nodes = new ConcurrentHashMap<>();
+        }
+
+        LatencyHistogram node(String nodeId) {
+            return nodes.computeIfAbsent(nodeId, k -> new LatencyHistogram());
+        }
+    }
+
+    /**
+     * The steps of an exchange, only collected when slow exchanges sampling is enabled.
+     */
+    private static final class Trace {
+        private final Object owner;
+        private final List<String> steps;
+
+        Trace(Object owner) {
+            this.owner = owner;
+            this.steps = new ArrayList<>();
+        }
+
+        synchronized void add(String step, long nanos) {
+            steps.add(step + "=" + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms");
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.join(", ", steps);
+        }
+    }
+
+    /**
+     * The timings of an exchange, it acts as the callback of the processors the exchange
+     * is going through: they complete in the reverse order they have been started in as
+     * an exchange is processed by one processor at a time.
+     */
+    private final class Timings implements AsyncCallback {
+        private static final long NOT_STARTED = Long.MIN_VALUE;
+
+        private final Exchange exchange;
+        private Trace trace;
+        private long[] routes;
+        private long[] starts;
+        private LatencyProcessor[] processors;
+        private AsyncCallback[] callbacks;
+        private int depth;
+
+        Timings(Exchange exchange, Trace trace) {
+            this.exchange = exchange;
+            this.trace = trace;
+            this.routes = new long[Math.max(routeIndex.get(), 1)];
+            this.starts = new long[8];
+            this.processors = new LatencyProcessor[8];
+            this.callbacks = new AsyncCallback[8];
+
+            Arrays.fill(this.routes, NOT_STARTED);
+        }
+
+        void begin(RouteLatency route) {
+            if (route.index >= routes.length) {
+                final int size = routes.length;
+
+                routes = Arrays.copyOf(routes, Math.max(route.index + 1, size * 2));
+                Arrays.fill(routes, size, routes.length, NOT_STARTED);
+            }
+
+            routes[route.index] = System.nanoTime();
+        }
+
+        long end(RouteLatency route) {
+            if (route.index >= routes.length || routes[route.index] == NOT_STARTED) {
+                return -1;
+            }
+
+            final long elapsed = System.nanoTime() - routes[route.index];
+            routes[route.index] = NOT_STARTED;
+
+            return elapsed;
+        }
+
+        void push(LatencyProcessor processor, AsyncCallback callback) {
+            if (depth == starts.length) {
+                starts = Arrays.copyOf(starts, depth * 2);
+                processors = Arrays.copyOf(processors, depth * 2);
+                callbacks = Arrays.copyOf(callbacks, depth * 2);
+            }
+
+            processors[depth] = processor;
+            callbacks[depth] = callback;
+            starts[depth] = System.nanoTime();
+            depth++;
+        }
+
+        AsyncCallback pop(long now) {
+            final int i = --depth;
+            final LatencyProcessor processor = processors[i];
+            final AsyncCallback callback = callbacks[i];
+
+            processors[i] = null;
+            callbacks[i] = null;
+
+            processor.record(this, now - starts[i]);
+
+            return callback;
+        }
+
+        @Override
+        public void done(boolean doneSync) {
+            pop(System.nanoTime()).done(doneSync);
+        }
+    }
+
+    private final class LatencyRoutePolicy extends RoutePolicySupport {
+        private final String routeId;
+        private final RouteLatency latency;
+
+        LatencyRoutePolicy(String routeId, RouteLatency latency) {
+            this.routeId = routeId;
+            this.latency = latency;
+        }
+
+        @Override
+        public void onExchangeBegin(Route route, Exchange exchange) {
+            final Timings timings = timings(exchange);
+
+            timings.begin(latency);
+
+            // the trace is owned by the first route the exchange goes through
+            if (slowExchangeThreshold > 0 && timings.trace == null) {
+                timings.trace = new Trace(this);
+            }
+        }
+
+        @Override
+        public void onExchangeDone(Route route, Exchange exchange) {
+            final Object value = exchange.getProperty(TIMINGS_PROPERTY);
+            if (!(value instanceof Timings) || ((Timings) value).exchange != exchange) {
+                return;
+            }
+
+            final Timings timings = (Timings) value;
+            final long elapsed = timings.end(latency);
+            if (elapsed < 0) {
+                return;
+            }
+
+            latency.histogram.record(elapsed);
+
+            if (slowExchangeThreshold > 0) {
+                final Trace trace = timings.trace;
+
+                if (trace != null && trace.owner == this) {
+                    timings.trace = null;
+
+                    if (elapsed >= slowExchangeThreshold) {
+                        LOGGER.warn("Slow exchange {} on route {} took {}ms: [{}]",
+                            exchange.getExchangeId(),
+                            routeId,
+                            TimeUnit.NANOSECONDS.toMillis(elapsed),
+                            trace);
+                    }
+                }
+            }
+        }
+    }
+
+    private final class LatencyProcessor extends DelegateAsyncProcessor {
+        private final String step;
+        private final LatencyHistogram histogram;
+
+        LatencyProcessor(Processor processor, String step, LatencyHistogram histogram) {
+            super(processor);
+
+            this.step = step;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public boolean process(Exchange exchange, AsyncCallback callback) {
+            final Timings timings = timings(exchange);
+
+            timings.push(this, callback);
+
+            try {
+                return processor.process(exchange, timings);
+            } catch (RuntimeException | Error e) {
+                // the processor failed without invoking the callback
+                timings.pop(System.nanoTime());
+                throw e;
+            }
+        }
+
+        void record(Timings timings, long elapsed) {
+            histogram.record(elapsed);
+
+            if (slowExchangeThreshold > 0 && timings.trace != null) {
+                timings.trace.add(step, elapsed);
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.core.instrument.binder.system.UptimeMetrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Route;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Ordered;
+import org.apache.camel.component.micrometer.MicrometerConstants;
+import org.apache.camel.component.micrometer.eventnotifier.MicrometerExchangeEventNotifier;
+import org.apache.camel.component.micrometer.eventnotifier.MicrometerRouteEventNotifier;
+import org.apache.camel.component.micrometer.routepolicy.MicrometerRoutePolicyFactory;
+import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpRouter;
+import org.apache.camel.k.ContextCustomizer;
+import org.apache.camel.k.annotation.Customizer;
+import org.apache.camel.k.http.VertxLoadSampler;
+import org.apache.camel.k.support.StartupProfiler;
+import org.apache.camel.spi.EventNotifier;
+import org.apache.camel.support.service.ServiceSupport;
+
+@Customizer("metrics")
+public class MetricsContextCustomizer implements ContextCustomizer {
+    public static final String DEFAULT_PATH = "/metrics";
+    public static final long DEFAULT_VERTX_SAMPLE_INTERVAL = 1000;
+    public static final long DEFAULT_VERTX_BLOCKED_THRESHOLD =
+        VertxOptions.DEFAULT_MAX_EVENT_LOOP_EXECUTE_TIME_UNIT.toMillis(VertxOptions.DEFAULT_MAX_EVENT_LOOP_EXECUTE_TIME);
+
+    private String path;
+    private boolean includeRoutes;
+    private boolean includeExchanges;
+    private boolean includeKnative;
+    private boolean includeJvm;
+    private boolean includeVertx;
+    private boolean includeStartup;
+    private long vertxSampleInterval;
+    private long vertxBlockedThreshold;
+
+    public MetricsContextCustomizer() {
+        this.path = DEFAULT_PATH;
+        this.includeRoutes = true;
+        this.includeExchanges = true;
+        this.includeKnative = true;
+        this.includeJvm = true;
+        this.includeVertx = true;
+        this.includeStartup = true;
+        this.vertxSampleInterval = DEFAULT_VERTX_SAMPLE_INTERVAL;
+        this.vertxBlockedThreshold = DEFAULT_VERTX_BLOCKED_THRESHOLD;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public boolean isIncludeRoutes() {
+        return includeRoutes;
+    }
+
+    public void setIncludeRoutes(boolean includeRoutes) {
+        this.includeRoutes = includeRoutes;
+    }
+
+    public boolean isIncludeExchanges() {
+        return includeExchanges;
+    }
+
+    public void setIncludeExchanges(boolean includeExchanges) {
+        this.includeExchanges = includeExchanges;
+    }
+
+    public boolean isIncludeKnative() {
+        return includeKnative;
+    }
+
+    public void setIncludeKnative(boolean includeKnative) {
+        this.includeKnative = includeKnative;
+    }
+
+    public boolean isIncludeJvm() {
+        return includeJvm;
+    }
+
+    public void setIncludeJvm(boolean includeJvm) {
+        this.includeJvm = includeJvm;
+    }
+
+    public boolean isIncludeVertx() {
+        return includeVertx;
+    }
+
+    public void setIncludeVertx(boolean includeVertx) {
+        this.includeVertx = includeVertx;
+    }
+
+    public boolean isIncludeStartup() {
+        return includeStartup;
+    }
+
+    /**
+     * Whether to export the duration and the allocated memory of the startup steps, the steps
+     * are exported from the context start until it is stopped and the allocated memory only
+     * accounts for the thread that executed each step.
+     */
+    public void setIncludeStartup(boolean includeStartup) {
+        this.includeStartup = includeStartup;
+    }
+
+    public long getVertxSampleInterval() {
+        return vertxSampleInterval;
+    }
+
+    public void setVertxSampleInterval(long vertxSampleInterval) {
+        this.vertxSampleInterval = vertxSampleInterval;
+    }
+
+    public long getVertxBlockedThreshold() {
+        return vertxBlockedThreshold;
+    }
+
+    public void setVertxBlockedThreshold(long vertxBlockedThreshold) {
+        this.vertxBlockedThreshold = vertxBlockedThreshold;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST;
+    }
+
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
+    @Override
+    public void apply(CamelContext camelContext) {
+        final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        final List<EventNotifier> notifiers = new ArrayList<>();
+
+        MicrometerRoutePolicyFactory factory = null;
+
+        if (includeRoutes) {
+            factory = new MicrometerRoutePolicyFactory();
+            factory.setMeterRegistry(registry);
+
+            MicrometerRouteEventNotifier notifier = new MicrometerRouteEventNotifier();
+            notifier.setMeterRegistry(registry);
+
+            notifiers.add(notifier);
+        }
+        if (includeExchanges) {
+            MicrometerExchangeEventNotifier notifier = new MicrometerExchangeEventNotifier();
+            notifier.setMeterRegistry(registry);
+
+            notifiers.add(notifier);
+        }
+        if (includeKnative) {
+            notifiers.add(new KnativeMetricsEventNotifier(registry));
+        }
+
+        // the context is only mutated holding its monitor, see ContextCustomizer#isConcurrent
+        synchronized (camelContext) {
+            final VertxPlatformHttpRouter router = VertxPlatformHttpRouter.lookup(camelContext);
+
+            // camel-micrometer components, route policies and notifiers look it up by name
+            camelContext.getRegistry().bind(MicrometerConstants.METRICS_REGISTRY_NAME, registry);
+
+            try {
+                if (factory != null) {
+                    camelContext.addRoutePolicyFactory(factory);
+                }
+                for (EventNotifier notifier : notifiers) {
+                    camelContext.getManagementStrategy().addEventNotifier(notifier);
+                }
+                if (includeJvm) {
+                    camelContext.addService(new JvmMetrics(registry));
+                }
+                if (includeStartup) {
+                    camelContext.addService(new StartupMetrics(registry, StartupProfiler.lookup(camelContext)));
+                }
+                if (includeVertx) {
+                    camelContext.addService(new VertxMetrics(
+                        registry,
+                        VertxLoadSampler.lookup(camelContext, router.vertx(), vertxSampleInterval),
+                        vertxBlockedThreshold));
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+
+            // add metrics route
+            addRoute(
+                registry,
+                router
+            );
+        }
+    }
+
+    private Route addRoute(PrometheusMeterRegistry registry, VertxPlatformHttpRouter router) {
+        Route route = router.route(HttpMethod.GET, path);
+
+        // add scrape handler, the scrape is not cheap so keep it off the event loop
+        route.handler(routingContext -> {
+            routingContext.vertx().<String>executeBlocking(
+                promise -> promise.complete(registry.scrape()),
+                false,
+                result -> {
+                    if (result.succeeded()) {
+                        routingContext.response()
+                            .putHeader("content-type", TextFormat.CONTENT_TYPE_004)
+                            .setStatusCode(200)
+                            .end(result.result());
+                    } else {
+                        routingContext.fail(result.cause());
+                    }
+                });
+        });
+
+        return route;
+    }
+
+    /**
+     * Exposes the steps recorded by the startup profiler, the service is started with the
+     * context so the steps up to the Starting phase have already been recorded.
+     */
+    /**
+     * Exports the steps recorded by the startup profiler, the steps completed before the
+     * context is started are exported when it starts, the ones completed afterwards, such
+     * as the steps of the phases following the context start, as soon as they complete
+     * and until the context is stopped.
+     */
+    private static final class StartupMetrics extends ServiceSupport implements Consumer<StartupProfiler.Step> {
+        private final MeterRegistry registry;
+        private final StartupProfiler profiler;
+        private final Set<StartupProfiler.Step> exported;
+
+        StartupMetrics(MeterRegistry registry, StartupProfiler profiler) {
+            this.registry = registry;
+            this.profiler = profiler;
+            this.exported = ConcurrentHashMap.newKeySet();
+        }
+
+        @Override
+        protected void doStart() throws Exception {
+            // listen first so no step is missed, the set dedupes the ones seen twice
+            profiler.addListener(this);
+
+            for (StartupProfiler.Step step : profiler.getSteps()) {
+                accept(step);
+            }
+        }
+
+        @Override
+        protected void doStop() throws Exception {
+            profiler.removeListener(this);
+        }
+
+        @Override
+        public void accept(StartupProfiler.Step step) {
+            if (!exported.add(step)) {
+                return;
+            }
+
+            final Tags tags = Tags.of("kind", step.getKind(), "name", step.getName());
+
+            TimeGauge.builder("camel.k.startup.duration", step, TimeUnit.NANOSECONDS, StartupProfiler.Step::getDuration)
+                .tags(tags)
+                .register(registry);
+
+            if (step.getAllocated() >= 0) {
+                Gauge.builder("camel.k.startup.allocated", step, StartupProfiler.Step::getAllocated)
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(registry);
+            }
+        }
+    }
+
+    /**
+     * Binds the JVM and system meters, the GC meters hold JMX listeners that
+     * must be released when the context is stopped.
+     */
+    private static final class JvmMetrics extends ServiceSupport {
+        private final MeterRegistry registry;
+        private JvmGcMetrics gcMetrics;
+
+        JvmMetrics(MeterRegistry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        protected void doStart() throws Exception {
+            new ClassLoaderMetrics().bindTo(registry);
+            new JvmMemoryMetrics().bindTo(registry);
+            new JvmThreadMetrics().bindTo(registry);
+            new ProcessorMetrics().bindTo(registry);
+            new UptimeMetrics().bindTo(registry);
+
+            gcMetrics = new JvmGcMetrics();
+            gcMetrics.bindTo(registry);
+        }
+
+        @Override
+        protected void doStop() throws Exception {
+            if (gcMetrics != null) {
+                gcMetrics.close();
+                gcMetrics = null;
+            }
+        }
+    }
+}
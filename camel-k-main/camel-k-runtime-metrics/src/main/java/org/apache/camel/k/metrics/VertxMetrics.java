@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.camel.k.http.VertxLoadSampler;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * Records the lag of the Vert.x event loops and the time a task waits in the
+ * worker pool before being executed as histograms.
+ *
+ * The samples are taken by the {@link VertxLoadSampler} shared with the health
+ * checks, the loop tag is the index of the event loop in the Vert.x instance.
+ */
+final class VertxMetrics extends ServiceSupport implements VertxLoadSampler.Listener {
+    static final String EVENT_LOOP_LAG = "camel.vertx.eventloop.lag";
+    static final String EVENT_LOOP_BLOCKED = "camel.vertx.eventloop.blocked";
+    static final String WORKER_QUEUE_DELAY = "camel.vertx.worker.queue.delay";
+
+    private final MeterRegistry registry;
+    private final VertxLoadSampler sampler;
+    private final long blockedThreshold;
+
+    private Timer[] lags;
+    private Counter[] blocked;
+    private Timer queueDelay;
+
+    VertxMetrics(MeterRegistry registry, VertxLoadSampler sampler, long blockedThreshold) {
+        this.registry = registry;
+        this.sampler = sampler;
+        this.blockedThreshold = TimeUnit.MILLISECONDS.toNanos(blockedThreshold);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        final int eventLoops = sampler.getEventLoops();
+
+        lags = new Timer[eventLoops];
+        blocked = new Counter[eventLoops];
+
+        for (int i = 0; i < eventLoops; i++) {
+            final Tags tags = Tags.of("loop", Integer.toString(i));
+
+            lags[i] = Timer.builder(EVENT_LOOP_LAG)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+            blocked[i] = Counter.builder(EVENT_LOOP_BLOCKED)
+                .tags(tags)
+                .register(registry);
+        }
+
+        queueDelay = Timer.builder(WORKER_QUEUE_DELAY)
+            .publishPercentileHistogram()
+            .register(registry);
+
+        sampler.addListener(this);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        sampler.removeListener(this);
+    }
+
+    @Override
+    public void onEventLoopLag(int loop, long lag) {
+        lags[loop].record(lag, TimeUnit.NANOSECONDS);
+
+        if (lag >= blockedThreshold) {
+            blocked[loop].increment();
+        }
+    }
+
+    @Override
+    public void onWorkerQueueDelay(long delay) {
+        queueDelay.record(delay, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.component.knative.spi.Knative;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.event.ExchangeCompletedEvent;
+import org.apache.camel.impl.event.ExchangeCreatedEvent;
+import org.apache.camel.impl.event.ExchangeSendingEvent;
+import org.apache.camel.impl.event.ExchangeSentEvent;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KnativeMetricsEventNotifierTest {
+
+    @Test
+    public void testProducerMetrics() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        KnativeMetricsEventNotifier notifier = new KnativeMetricsEventNotifier(registry);
+        Endpoint endpoint = new MockEndpoint("knative:endpoint/sink", context.getComponent("mock"));
+
+        for (int i = 0; i < 3; i++) {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getMessage().setBody(new byte[] { 1, 2, 3, 4 });
+            exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, i == 2 ? 503 : 200);
+
+            notifier.notify(new ExchangeSendingEvent(exchange, endpoint));
+            assertThat(registry.get(KnativeMetricsEventNotifier.PRODUCER_INFLIGHT).gauge().value()).isEqualTo(1);
+            notifier.notify(new ExchangeSentEvent(exchange, endpoint, 10));
+        }
+
+        assertThat(registry.get(KnativeMetricsEventNotifier.PRODUCER_INFLIGHT).gauge().value()).isEqualTo(0);
+        assertThat(registry.get(KnativeMetricsEventNotifier.PRODUCER_REQUEST_BYTES).summary().totalAmount()).isEqualTo(12);
+
+        Timer ok = registry.get(KnativeMetricsEventNotifier.PRODUCER_REQUESTS).tags("status", "200").timer();
+        assertThat(ok.count()).isEqualTo(2);
+        assertThat(ok.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20);
+        assertThat(ok.getId().getTag("endpoint")).isEqualTo("knative:endpoint/sink");
+
+        Timer unavailable = registry.get(KnativeMetricsEventNotifier.PRODUCER_REQUESTS).tags("status", "503").timer();
+        assertThat(unavailable.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testConsumerMetrics() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        KnativeMetricsEventNotifier notifier = new KnativeMetricsEventNotifier(registry);
+        Endpoint endpoint = new MockEndpoint("knative:endpoint/from", context.getComponent("mock"));
+
+        for (int i = 0; i < 2; i++) {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.adapt(ExtendedExchange.class).setFromEndpoint(endpoint);
+            exchange.getMessage().setBody(new byte[] { 1, 2 });
+
+            notifier.notify(new ExchangeCreatedEvent(exchange));
+            assertThat(registry.get(KnativeMetricsEventNotifier.CONSUMER_INFLIGHT).gauge().value()).isEqualTo(1);
+
+            exchange.setProperty(Knative.KNATIVE_WORKER_QUEUE_TIME, TimeUnit.MILLISECONDS.toNanos(5));
+            notifier.notify(new ExchangeCompletedEvent(exchange));
+        }
+
+        assertThat(registry.get(KnativeMetricsEventNotifier.CONSUMER_INFLIGHT).gauge().value()).isEqualTo(0);
+        assertThat(registry.get(KnativeMetricsEventNotifier.CONSUMER_REQUEST_BYTES).summary().totalAmount()).isEqualTo(4);
+        assertThat(registry.get(KnativeMetricsEventNotifier.CONSUMER_REQUESTS).tags("status", "200").timer().count()).isEqualTo(2);
+
+        Timer poolWait = registry.get(KnativeMetricsEventNotifier.CONSUMER_POOL_WAIT).timer();
+        assertThat(poolWait.count()).isEqualTo(2);
+        assertThat(poolWait.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(10);
+    }
+
+    @Test
+    public void testNonKnativeEndpointsAreIgnored() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        KnativeMetricsEventNotifier notifier = new KnativeMetricsEventNotifier(registry);
+        Endpoint endpoint = new MockEndpoint("mock:result", context.getComponent("mock"));
+        Exchange exchange = new DefaultExchange(context);
+
+        notifier.notify(new ExchangeSendingEvent(exchange, endpoint));
+        notifier.notify(new ExchangeSentEvent(exchange, endpoint, 10));
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.metrics;
+
+import java.net.URL;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.k.Runtime;
+import org.apache.camel.k.http.PlatformHttpServiceContextCustomizer;
+import org.apache.camel.k.test.AvailablePortFinder;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.when;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+public class LatencyContextCustomizerTest {
+
+    @Test
+    public void testLatencyEndpoint() throws Exception {
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .routeId("myRoute")
+                    .delay(50).id("myDelay")
+                    .to("direct:next").id("myNext");
+                from("direct:next")
+                    .routeId("nextRoute")
+                    .to("mock:end").id("myEnd");
+            }
+        });
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        LatencyContextCustomizer latencyCustomizer = new LatencyContextCustomizer();
+        latencyCustomizer.setSlowExchangeThreshold(10);
+        latencyCustomizer.apply(runtime.getCamelContext());
+
+        try {
+            runtime.getCamelContext().start();
+            runtime.getCamelContext().createProducerTemplate().sendBody("direct:start", "test");
+            runtime.getCamelContext().createProducerTemplate().sendBody("direct:start", "test");
+
+            when()
+                .get(new URL("http://localhost:" + phsc.getBindPort() + LatencyContextCustomizer.DEFAULT_PATH))
+            .then()
+                .statusCode(200)
+                .body("routes.myRoute.count", equalTo(2))
+                .body("routes.myRoute.p50", greaterThanOrEqualTo(50f))
+                .body("routes.myRoute.nodes.myDelay.count", equalTo(2))
+                .body("routes.myRoute.nodes.myNext.count", equalTo(2))
+                .body("routes.nextRoute.count", equalTo(2))
+                .body("routes.nextRoute.nodes.myEnd.count", equalTo(2));
+        } finally {
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void testLatencyWithParallelSplitAndAsyncSteps() throws Exception {
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .routeId("splitRoute")
+                    .split(body().tokenize(",")).parallelProcessing().id("mySplit")
+                        .to("direct:item").id("myItem")
+                    .end()
+                    .to("mock:end").id("myEnd");
+                from("direct:item")
+                    .routeId("itemRoute")
+                    .delay(10).asyncDelayed().id("itemDelay");
+            }
+        });
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        LatencyContextCustomizer latencyCustomizer = new LatencyContextCustomizer();
+        latencyCustomizer.setSlowExchangeThreshold(1);
+        latencyCustomizer.apply(runtime.getCamelContext());
+
+        try {
+            runtime.getCamelContext().start();
+            runtime.getCamelContext().createProducerTemplate().sendBody("direct:start", "a,b,c,d");
+            runtime.getCamelContext().createProducerTemplate().sendBody("direct:start", "e,f,g,h");
+
+            when()
+                .get(new URL("http://localhost:" + phsc.getBindPort() + LatencyContextCustomizer.DEFAULT_PATH))
+            .then()
+                .statusCode(200)
+                .body("routes.splitRoute.count", equalTo(2))
+                .body("routes.splitRoute.p50", greaterThanOrEqualTo(10f))
+                .body("routes.splitRoute.nodes.mySplit.count", equalTo(2))
+                .body("routes.splitRoute.nodes.myItem.count", equalTo(8))
+                .body("routes.splitRoute.nodes.myEnd.count", equalTo(2))
+                .body("routes.itemRoute.count", equalTo(8))
+                .body("routes.itemRoute.nodes.itemDelay.count", equalTo(8))
+                .body("routes.itemRoute.nodes.itemDelay.p50", greaterThanOrEqualTo(10f));
+        } finally {
+            runtime.stop();
+        }
+    }
+}
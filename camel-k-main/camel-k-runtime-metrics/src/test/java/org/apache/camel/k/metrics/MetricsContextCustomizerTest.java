@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.metrics;
+
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Ordered;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.k.Constants;
+import org.apache.camel.k.ContextCustomizer;
+import org.apache.camel.k.Runtime;
+import org.apache.camel.k.http.PlatformHttpServiceContextCustomizer;
+import org.apache.camel.k.support.RuntimeSupport;
+import org.apache.camel.k.support.StartupProfiler;
+import org.apache.camel.k.test.AvailablePortFinder;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.when;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+public class MetricsContextCustomizerTest {
+
+    @Test
+    public void testMetricsEndpoint() throws Exception {
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .routeId("my-route")
+                    .to("mock:end");
+            }
+        });
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        MetricsContextCustomizer metricsCustomizer = new MetricsContextCustomizer();
+        metricsCustomizer.apply(runtime.getCamelContext());
+
+        try {
+            runtime.getCamelContext().start();
+            runtime.getCamelContext().createProducerTemplate().sendBody("direct:start", "test");
+
+            when()
+                .get(new URL("http://localhost:" + phsc.getBindPort() + MetricsContextCustomizer.DEFAULT_PATH))
+            .then()
+                .statusCode(200)
+                .header("content-type", startsWith("text/plain"))
+                .body(
+                    containsString("jvm_memory_used_bytes"),
+                    containsString("routeId=\"my-route\""));
+        } finally {
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void testVertxMetrics() throws Exception {
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.setEventLoops(2);
+        phsc.apply(runtime.getCamelContext());
+
+        MetricsContextCustomizer metricsCustomizer = new MetricsContextCustomizer();
+        metricsCustomizer.setIncludeRoutes(false);
+        metricsCustomizer.setIncludeExchanges(false);
+        metricsCustomizer.setIncludeJvm(false);
+        metricsCustomizer.setVertxSampleInterval(10);
+        metricsCustomizer.apply(runtime.getCamelContext());
+
+        try {
+            runtime.getCamelContext().start();
+
+            when()
+                .get(new URL("http://localhost:" + phsc.getBindPort() + MetricsContextCustomizer.DEFAULT_PATH))
+            .then()
+                .statusCode(200)
+                .body(
+                    containsString("camel_vertx_eventloop_lag_seconds_bucket{loop=\"0\""),
+                    containsString("camel_vertx_eventloop_lag_seconds_bucket{loop=\"1\""),
+                    containsString("camel_vertx_eventloop_blocked_total{loop=\"1\""),
+                    not(containsString("camel_vertx_eventloop_lag_seconds_bucket{loop=\"2\"")),
+                    containsString("camel_vertx_worker_queue_delay_seconds_bucket"),
+                    not(containsString("jvm_memory_used_bytes")));
+        } finally {
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void testStartupMetrics() throws Exception {
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        StartupProfiler profiler = StartupProfiler.lookup(runtime.getCamelContext());
+        profiler.start(StartupProfiler.KIND_PHASE, "before").close();
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        MetricsContextCustomizer metricsCustomizer = new MetricsContextCustomizer();
+        metricsCustomizer.setIncludeJvm(false);
+        metricsCustomizer.apply(runtime.getCamelContext());
+
+        try {
+            runtime.getCamelContext().start();
+
+            // steps completed once the context is started are exported too
+            profiler.start(StartupProfiler.KIND_PHASE, "after").close();
+
+            when()
+                .get(new URL("http://localhost:" + phsc.getBindPort() + MetricsContextCustomizer.DEFAULT_PATH))
+            .then()
+                .statusCode(200)
+                .body(
+                    containsString("camel_k_startup_duration_seconds{kind=\"phase\",name=\"before\""),
+                    containsString("camel_k_startup_duration_seconds{kind=\"phase\",name=\"after\""));
+        } finally {
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void testMetricsCustomizerIsAppliedConcurrently() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.getRegistry().bind("metrics", new MetricsContextCustomizer() {
+            @Override
+            public void apply(CamelContext camelContext) {
+                await(latch);
+                super.apply(camelContext);
+            }
+        });
+        runtime.getRegistry().bind("other", new ContextCustomizer() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST;
+            }
+
+            @Override
+            public boolean isConcurrent() {
+                return true;
+            }
+
+            @Override
+            public void apply(CamelContext camelContext) {
+                await(latch);
+            }
+        });
+        runtime.setProperties(
+            Constants.PROPERTY_CAMEL_K_CUSTOMIZERS_PARALLEL, "true",
+            "camel.k.customizer.metrics.enabled", "true",
+            "camel.k.customizer.metrics.include-jvm", "false",
+            "camel.k.customizer.other.enabled", "true");
+
+        PlatformHttpServiceContextCustomizer phsc = new PlatformHttpServiceContextCustomizer();
+        phsc.setBindPort(AvailablePortFinder.getNextAvailable());
+        phsc.apply(runtime.getCamelContext());
+
+        // the customizers complete only if they are applied at the same time
+        assertThat(RuntimeSupport.configureContextCustomizers(runtime)).hasSize(2);
+
+        try {
+            runtime.getCamelContext().start();
+
+            when()
+                .get(new URL("http://localhost:" + phsc.getBindPort() + MetricsContextCustomizer.DEFAULT_PATH))
+            .then()
+                .statusCode(200)
+                .body(not(containsString("jvm_memory_used_bytes")));
+        } finally {
+            runtime.stop();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        latch.countDown();
+
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Customizers have not been applied in parallel");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.opentelemetry;
+
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.apache.camel.CamelContext;
+import org.apache.camel.k.ContextCustomizer;
+import org.apache.camel.k.annotation.Customizer;
+import org.apache.camel.util.ObjectHelper;
+
+@Customizer("opentelemetry")
+public class OpenTelemetryContextCustomizer implements ContextCustomizer {
+    public static final String DEFAULT_ENDPOINT = "http://localhost:4317";
+    public static final double DEFAULT_SAMPLER_RATIO = 1.0;
+    public static final int DEFAULT_BATCH_MAX_QUEUE_SIZE = 2048;
+    public static final int DEFAULT_BATCH_MAX_EXPORT_SIZE = 512;
+    public static final long DEFAULT_BATCH_SCHEDULE_DELAY = 1000;
+
+    private String serviceName;
+    private String endpoint;
+    private double samplerRatio;
+    private int batchMaxQueueSize;
+    private int batchMaxExportSize;
+    private long batchScheduleDelay;
+    private SpanExporter exporter;
+
+    public OpenTelemetryContextCustomizer() {
+        this.endpoint = DEFAULT_ENDPOINT;
+        this.samplerRatio = DEFAULT_SAMPLER_RATIO;
+        this.batchMaxQueueSize = DEFAULT_BATCH_MAX_QUEUE_SIZE;
+        this.batchMaxExportSize = DEFAULT_BATCH_MAX_EXPORT_SIZE;
+        this.batchScheduleDelay = DEFAULT_BATCH_SCHEDULE_DELAY;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * The OTLP (gRPC) endpoint spans are exported to, usually a collector running as sidecar.
+     */
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public double getSamplerRatio() {
+        return samplerRatio;
+    }
+
+    /**
+     * The ratio of traces sampled by the integration when no sampling decision has been
+     * taken upstream, i.e. by the sender of the event.
+     */
+    public void setSamplerRatio(double samplerRatio) {
+        this.samplerRatio = samplerRatio;
+    }
+
+    public int getBatchMaxQueueSize() {
+        return batchMaxQueueSize;
+    }
+
+    public void setBatchMaxQueueSize(int batchMaxQueueSize) {
+        this.batchMaxQueueSize = batchMaxQueueSize;
+    }
+
+    public int getBatchMaxExportSize() {
+        return batchMaxExportSize;
+    }
+
+    public void setBatchMaxExportSize(int batchMaxExportSize) {
+        this.batchMaxExportSize = batchMaxExportSize;
+    }
+
+    public long getBatchScheduleDelay() {
+        return batchScheduleDelay;
+    }
+
+    public void setBatchScheduleDelay(long batchScheduleDelay) {
+        this.batchScheduleDelay = batchScheduleDelay;
+    }
+
+    public SpanExporter getExporter() {
+        return exporter;
+    }
+
+    /**
+     * The exporter to use instead of the default OTLP one.
+     */
+    public void setExporter(SpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @Override
+    public void apply(CamelContext camelContext) {
+        ObjectHelper.notNull(serviceName, "service-name");
+
+        SpanExporter spanExporter = exporter;
+        if (spanExporter == null) {
+            spanExporter = OtlpGrpcSpanExporter.builder().setEndpoint(endpoint).build();
+        }
+
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+            .setResource(Resource.getDefault().merge(Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), serviceName))))
+            .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(samplerRatio)))
+            .addSpanProcessor(
+                BatchSpanProcessor.builder(spanExporter)
+                    .setMaxQueueSize(batchMaxQueueSize)
+                    .setMaxExportBatchSize(batchMaxExportSize)
+                    .setScheduleDelay(batchScheduleDelay, TimeUnit.MILLISECONDS)
+                    .build())
+            .build();
+
+        OpenTelemetrySdk sdk = OpenTelemetrySdk.builder()
+            .setTracerProvider(provider)
+            .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+            .build();
+
+        new OpenTelemetryTracer(sdk, provider).init(camelContext);
+    }
+}
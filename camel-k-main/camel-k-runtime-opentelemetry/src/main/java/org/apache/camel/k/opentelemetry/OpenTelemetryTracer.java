@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.opentelemetry;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Route;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.spi.RoutePolicy;
+import org.apache.camel.spi.RoutePolicyFactory;
+import org.apache.camel.support.EventNotifierSupport;
+import org.apache.camel.support.RoutePolicySupport;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.URISupport;
+
+/**
+ * Creates a span for each route an exchange goes through and for each event sent to
+ * a knative endpoint.
+ *
+ * The trace context is carried across knative hops by the CloudEvents distributed tracing
+ * extension, i.e. the ce-traceparent and ce-tracestate attributes, so it does not require
+ * any additional HTTP header and survives brokers and channels.
+ *
+ * The spans an exchange is going through are kept as an immutable linked list bound to the
+ * exchange, exchanges copied by EIPs such as the splitter, the multicast or the wire tap get
+ * the list as it was when the copy has been made, so their spans are children of the span
+ * that was active at that point and never interfere with the ones of the original exchange.
+ */
+final class OpenTelemetryTracer extends ServiceSupport implements RoutePolicyFactory {
+    static final String ACTIVE_SPAN_PROPERTY = "CamelOpenTelemetryActiveSpan";
+    static final String CLOUD_EVENT_EXTENSION_PREFIX = "ce-";
+    static final String KNATIVE_SCHEME = "knative:";
+    static final String INSTRUMENTATION_NAME = "org.apache.camel.k";
+
+    private static final TextMapGetter<Map<String, Object>> GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(Map<String, Object> carrier) {
+            return carrier.keySet().stream()
+                .filter(key -> key.regionMatches(true, 0, CLOUD_EVENT_EXTENSION_PREFIX, 0, CLOUD_EVENT_EXTENSION_PREFIX.length()))
+                .map(key -> key.substring(CLOUD_EVENT_EXTENSION_PREFIX.length()))
+                .collect(Collectors.toList());
+        }
+
+        @Override
+        public String get(Map<String, Object> carrier, String key) {
+            if (carrier == null) {
+                return null;
+            }
+
+            // camel headers are case insensitive
+            final Object value = carrier.get(CLOUD_EVENT_EXTENSION_PREFIX + key);
+            return value != null ? value.toString() : null;
+        }
+    };
+
+    private static final TextMapSetter<Map<String, Object>> SETTER =
+        (carrier, key, value) -> carrier.put(CLOUD_EVENT_EXTENSION_PREFIX + key, value);
+
+    private final OpenTelemetry openTelemetry;
+    private final SdkTracerProvider provider;
+    private final Tracer tracer;
+    private final EventNotifierSupport notifier;
+
+    OpenTelemetryTracer(OpenTelemetry openTelemetry, SdkTracerProvider provider) {
+        this.openTelemetry = openTelemetry;
+        this.provider = provider;
+        this.tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+        this.notifier = new KnativeSendNotifier();
+    }
+
+    void init(CamelContext camelContext) {
+        try {
+            camelContext.addService(this);
+            camelContext.addRoutePolicyFactory(this);
+            camelContext.getManagementStrategy().addEventNotifier(notifier);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public RoutePolicy createRoutePolicy(CamelContext camelContext, String routeId, NamedNode route) {
+        return new TracingRoutePolicy();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // flush the spans still buffered by the batch processor
+        provider.shutdown().join(10, TimeUnit.SECONDS);
+    }
+
+    private static ActiveSpan current(Exchange exchange) {
+        final Object value = exchange.getProperty(ACTIVE_SPAN_PROPERTY);
+        return value instanceof ActiveSpan ? (ActiveSpan) value : null;
+    }
+
+    private static void push(Exchange exchange, Span span) {
+        exchange.setProperty(ACTIVE_SPAN_PROPERTY, new ActiveSpan(span, current(exchange)));
+    }
+
+    private static Span pop(Exchange exchange) {
+        final ActiveSpan current = current(exchange);
+        if (current == null) {
+            return null;
+        }
+
+        if (current.parent != null) {
+            exchange.setProperty(ACTIVE_SPAN_PROPERTY, current.parent);
+        } else {
+            exchange.removeProperty(ACTIVE_SPAN_PROPERTY);
+        }
+
+        return current.span;
+    }
+
+    private static boolean isKnative(Endpoint endpoint) {
+        return endpoint != null && endpoint.getEndpointUri().startsWith(KNATIVE_SCHEME);
+    }
+
+    private static void end(Span span, Exchange exchange) {
+        // unsampled spans are not recording, skip the attributes
+        if (span.isRecording() && exchange.isFailed()) {
+            if (exchange.getException() != null) {
+                span.recordException(exchange.getException());
+            }
+
+            span.setStatus(StatusCode.ERROR);
+        }
+
+        span.end();
+    }
+
+    /**
+     * A span and the span that was active when it has been started.
+     */
+    private static final class ActiveSpan {
+        private final Span span;
+        private final ActiveSpan parent;
+
+        ActiveSpan(Span span, ActiveSpan parent) {
+            this.span = span;
+            this.parent = parent;
+        }
+    }
+
+    private final class TracingRoutePolicy extends RoutePolicySupport {
+        @Override
+        public void onExchangeBegin(Route route, Exchange exchange) {
+            final ActiveSpan current = current(exchange);
+            final Span span;
+
+            if (current == null) {
+                // the exchange enters the integration, continue the trace of the received event if any
+                final Context parent = openTelemetry.getPropagators().getTextMapPropagator().extract(
+                    Context.root(),
+                    exchange.getIn().getHeaders(),
+                    GETTER);
+
+                span = tracer.spanBuilder(route.getRouteId())
+                    .setParent(parent)
+                    .setSpanKind(isKnative(route.getEndpoint()) ? SpanKind.CONSUMER : SpanKind.SERVER)
+                    .startSpan();
+            } else {
+                span = tracer.spanBuilder(route.getRouteId())
+                    .setParent(Context.root().with(current.span))
+                    .setSpanKind(SpanKind.INTERNAL)
+                    .startSpan();
+            }
+
+            if (span.isRecording()) {
+                span.setAttribute("camel.route.id", route.getRouteId());
+                span.setAttribute("camel.uri", URISupport.sanitizeUri(route.getEndpoint().getEndpointUri()));
+            }
+
+            push(exchange, span);
+        }
+
+        @Override
+        public void onExchangeDone(Route route, Exchange exchange) {
+            final Span span = pop(exchange);
+            if (span != null) {
+                end(span, exchange);
+            }
+        }
+    }
+
+    private final class KnativeSendNotifier extends EventNotifierSupport {
+        KnativeSendNotifier() {
+            setIgnoreCamelContextEvents(true);
+            setIgnoreRouteEvents(true);
+            setIgnoreServiceEvents(true);
+            setIgnoreExchangeCreatedEvent(true);
+            setIgnoreExchangeCompletedEvent(true);
+            setIgnoreExchangeFailedEvents(true);
+            setIgnoreExchangeRedeliveryEvents(true);
+        }
+
+        @Override
+        public boolean isEnabled(CamelEvent event) {
+            return event instanceof CamelEvent.ExchangeSendingEvent || event instanceof CamelEvent.ExchangeSentEvent;
+        }
+
+        @Override
+        public void notify(CamelEvent event) throws Exception {
+            if (event instanceof CamelEvent.ExchangeSendingEvent) {
+                final CamelEvent.ExchangeSendingEvent sending = (CamelEvent.ExchangeSendingEvent) event;
+                if (!isKnative(sending.getEndpoint())) {
+                    return;
+                }
+
+                final Exchange exchange = sending.getExchange();
+                final ActiveSpan current = current(exchange);
+                final Context parent = current == null ? Context.root() : Context.root().with(current.span);
+                final Span span = tracer.spanBuilder(URISupport.sanitizeUri(sending.getEndpoint().getEndpointUri()))
+                    .setParent(parent)
+                    .setSpanKind(SpanKind.PRODUCER)
+                    .startSpan();
+
+                // propagate the context, including the sampling decision, as cloud event extension
+                openTelemetry.getPropagators().getTextMapPropagator().inject(
+                    Context.root().with(span),
+                    exchange.getMessage().getHeaders(),
+                    SETTER);
+
+                push(exchange, span);
+            } else if (event instanceof CamelEvent.ExchangeSentEvent) {
+                final CamelEvent.ExchangeSentEvent sent = (CamelEvent.ExchangeSentEvent) event;
+                if (!isKnative(sent.getEndpoint())) {
+                    return;
+                }
+
+                final Span span = pop(sent.getExchange());
+                if (span != null) {
+                    end(span, sent.getExchange());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.opentelemetry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.apache.camel.builder.NotifyBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.k.Runtime;
+import org.apache.camel.k.support.RuntimeSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class OpenTelemetryContextCustomizerTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+
+    @Test
+    public void testOpenTelemetryConfiguration() {
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.setProperties(
+            "camel.k.customizer.opentelemetry.enabled", "true",
+            "camel.k.customizer.opentelemetry.service-name", "my-service",
+            "camel.k.customizer.opentelemetry.endpoint", "http://otel-collector:4317",
+            "camel.k.customizer.opentelemetry.sampler-ratio", "0.1",
+            "camel.k.customizer.opentelemetry.batch-max-queue-size", "4096");
+
+        assertThat(RuntimeSupport.configureContextCustomizers(runtime))
+            .hasOnlyOneElementSatisfying(customizer -> {
+                assertThat(customizer)
+                    .isInstanceOfSatisfying(OpenTelemetryContextCustomizer.class, otel -> {
+                        assertThat(otel.getServiceName()).isEqualTo("my-service");
+                        assertThat(otel.getEndpoint()).isEqualTo("http://otel-collector:4317");
+                        assertThat(otel.getSamplerRatio()).isEqualTo(0.1);
+                        assertThat(otel.getBatchMaxQueueSize()).isEqualTo(4096);
+                        assertThat(otel.getBatchMaxExportSize()).isEqualTo(OpenTelemetryContextCustomizer.DEFAULT_BATCH_MAX_EXPORT_SIZE);
+                    });
+            });
+    }
+
+    @Test
+    public void testTraceContextPropagation() throws Exception {
+        InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .routeId("start")
+                    .to("direct:next");
+                from("direct:next")
+                    .routeId("next")
+                    .to("mock:end");
+            }
+        });
+
+        OpenTelemetryContextCustomizer customizer = new OpenTelemetryContextCustomizer();
+        customizer.setServiceName("my-service");
+        customizer.setExporter(exporter(exporter));
+        customizer.apply(runtime.getCamelContext());
+
+        runtime.getCamelContext().start();
+        runtime.getCamelContext().createProducerTemplate().sendBodyAndHeaders(
+            "direct:start",
+            "test",
+            Map.of(
+                "ce-traceparent", "00-" + TRACE_ID + "-" + PARENT_ID + "-01"));
+
+        // stopping the context flushes the batched spans
+        runtime.getCamelContext().stop();
+
+        assertThat(exporter.getFinishedSpanItems())
+            .hasSize(2)
+            .allSatisfy(span -> assertThat(span.getTraceId()).isEqualTo(TRACE_ID))
+            .anySatisfy(span -> {
+                assertThat(span.getName()).isEqualTo("start");
+                assertThat(span.getKind()).isEqualTo(SpanKind.SERVER);
+                assertThat(span.getParentSpanId()).isEqualTo(PARENT_ID);
+            })
+            .anySatisfy(span -> {
+                assertThat(span.getName()).isEqualTo("next");
+                assertThat(span.getKind()).isEqualTo(SpanKind.INTERNAL);
+            });
+    }
+
+    @Test
+    public void testSpansOfCopiedExchanges() throws Exception {
+        InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .routeId("start")
+                    .split(body().tokenize(",")).parallelProcessing()
+                        .to("direct:item")
+                    .end()
+                    .wireTap("direct:tap")
+                    .to("direct:next");
+                from("direct:item")
+                    .routeId("item")
+                    .delay(10)
+                    .to("mock:item");
+                from("direct:tap")
+                    .routeId("tap")
+                    .to("mock:tap");
+                from("direct:next")
+                    .routeId("next")
+                    .to("mock:end");
+            }
+        });
+
+        OpenTelemetryContextCustomizer customizer = new OpenTelemetryContextCustomizer();
+        customizer.setServiceName("my-service");
+        customizer.setExporter(exporter(exporter));
+        customizer.apply(runtime.getCamelContext());
+
+        // the wire tap is processed asynchronously and its span ends once the
+        // tapped copy is done, that is after it has reached mock:tap, so wait for
+        // the four split items, the exchange and its tapped copy to be done; the
+        // builder is created before starting as exchange events are only emitted
+        // if a notifier is registered at that time
+        NotifyBuilder done = new NotifyBuilder(runtime.getCamelContext()).whenDone(6).create();
+
+        runtime.getCamelContext().start();
+
+        runtime.getCamelContext().createProducerTemplate().sendBodyAndHeaders(
+            "direct:start",
+            "a,b,c,d",
+            Map.of(
+                "ce-traceparent", "00-" + TRACE_ID + "-" + PARENT_ID + "-01"));
+
+        assertThat(done.matches(10, TimeUnit.SECONDS)).isTrue();
+
+        // stopping the context flushes the batched spans
+        runtime.getCamelContext().stop();
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        SpanData start = spans.stream().filter(span -> span.getName().equals("start")).findFirst().orElseThrow();
+
+        assertThat(start.getParentSpanId()).isEqualTo(PARENT_ID);
+        assertThat(spans)
+            .hasSize(7)
+            .allSatisfy(span -> assertThat(span.getTraceId()).isEqualTo(TRACE_ID))
+            .filteredOn(span -> !span.getName().equals("start"))
+            .extracting(SpanData::getName, SpanData::getParentSpanId)
+            .containsExactlyInAnyOrder(
+                tuple("item", start.getSpanId()),
+                tuple("item", start.getSpanId()),
+                tuple("item", start.getSpanId()),
+                tuple("item", start.getSpanId()),
+                tuple("tap", start.getSpanId()),
+                tuple("next", start.getSpanId()));
+    }
+
+    private static SpanExporter exporter(InMemorySpanExporter exporter) {
+        return new SpanExporter() {
+            @Override
+            public CompletableResultCode export(Collection<SpanData> spans) {
+                return exporter.export(spans);
+            }
+
+            @Override
+            public CompletableResultCode flush() {
+                return exporter.flush();
+            }
+
+            @Override
+            public CompletableResultCode shutdown() {
+                // the in memory exporter discards the recorded spans on shutdown
+                return CompletableResultCode.ofSuccess();
+            }
+        };
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.tracing;
+
+import java.util.Map;
+
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.opentracing.References;
+import io.opentracing.Scope;
+import io.opentracing.ScopeManager;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.propagation.Format;
+import io.opentracing.tag.Tag;
+
+/**
+ * A {@link Tracer} that skips the creation of spans whose parent has not been sampled.
+ *
+ * The sampling decision is taken once, when the root span of a trace is created, so
+ * the children of an unsampled span are replaced by a no-op span sharing the context
+ * of the parent: no span, tag or log is allocated for them and the same decision is
+ * propagated downstream when the context is injected into the outgoing messages.
+ */
+final class SamplingAwareTracer implements Tracer {
+    private final Tracer delegate;
+
+    SamplingAwareTracer(Tracer delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ScopeManager scopeManager() {
+        return delegate.scopeManager();
+    }
+
+    @Override
+    public Span activeSpan() {
+        return delegate.activeSpan();
+    }
+
+    @Override
+    public Scope activateSpan(Span span) {
+        return delegate.activateSpan(span);
+    }
+
+    @Override
+    public SpanBuilder buildSpan(String operationName) {
+        return new SamplingAwareSpanBuilder(delegate.buildSpan(operationName));
+    }
+
+    @Override
+    public <C> void inject(SpanContext spanContext, Format<C> format, C carrier) {
+        delegate.inject(spanContext, format, carrier);
+    }
+
+    @Override
+    public <C> SpanContext extract(Format<C> format, C carrier) {
+        return delegate.extract(format, carrier);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private static final class SamplingAwareSpanBuilder implements SpanBuilder {
+        private final SpanBuilder delegate;
+        private SpanContext parent;
+
+        SamplingAwareSpanBuilder(SpanBuilder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public SpanBuilder asChildOf(SpanContext parent) {
+            return addReference(References.CHILD_OF, parent);
+        }
+
+        @Override
+        public SpanBuilder asChildOf(Span parent) {
+            return addReference(References.CHILD_OF, parent != null ? parent.context() : null);
+        }
+
+        @Override
+        public SpanBuilder addReference(String referenceType, SpanContext referencedContext) {
+            if (this.parent == null && referencedContext != null) {
+                this.parent = referencedContext;
+            }
+
+            delegate.addReference(referenceType, referencedContext);
+            return this;
+        }
+
+        @Override
+        public SpanBuilder ignoreActiveSpan() {
+            delegate.ignoreActiveSpan();
+            return this;
+        }
+
+        @Override
+        public SpanBuilder withTag(String key, String value) {
+            delegate.withTag(key, value);
+            return this;
+        }
+
+        @Override
+        public SpanBuilder withTag(String key, boolean value) {
+            delegate.withTag(key, value);
+            return this;
+        }
+
+        @Override
+        public SpanBuilder withTag(String key, Number value) {
+            delegate.withTag(key, value);
+            return this;
+        }
+
+        @Override
+        public <T> SpanBuilder withTag(Tag<T> tag, T value) {
+            delegate.withTag(tag, value);
+            return this;
+        }
+
+        @Override
+        public SpanBuilder withStartTimestamp(long microseconds) {
+            delegate.withStartTimestamp(microseconds);
+            return this;
+        }
+
+        @Override
+        public Span start() {
+            if (parent instanceof JaegerSpanContext && !((JaegerSpanContext) parent).isSampled()) {
+                return new UnsampledSpan((JaegerSpanContext) parent);
+            }
+
+            return delegate.start();
+        }
+    }
+
+    /**
+     * A span that is never reported, it shares the context of its unsampled parent.
+     */
+    private static final class UnsampledSpan implements Span {
+        private final JaegerSpanContext context;
+
+        UnsampledSpan(JaegerSpanContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public SpanContext context() {
+            return context;
+        }
+
+        @Override
+        public Span setTag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public Span setTag(String key, boolean value) {
+            return this;
+        }
+
+        @Override
+        public Span setTag(String key, Number value) {
+            return this;
+        }
+
+        @Override
+        public <T> Span setTag(Tag<T> tag, T value) {
+            return this;
+        }
+
+        @Override
+        public Span log(Map<String, ?> fields) {
+            return this;
+        }
+
+        @Override
+        public Span log(long timestampMicroseconds, Map<String, ?> fields) {
+            return this;
+        }
+
+        @Override
+        public Span log(String event) {
+            return this;
+        }
+
+        @Override
+        public Span log(long timestampMicroseconds, String event) {
+            return this;
+        }
+
+        @Override
+        public Span setBaggageItem(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public String getBaggageItem(String key) {
+            return context.getBaggageItem(key);
+        }
+
+        @Override
+        public Span setOperationName(String operationName) {
+            return this;
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        @Override
+        public void finish(long finishMicroseconds) {
+        }
+    }
+}
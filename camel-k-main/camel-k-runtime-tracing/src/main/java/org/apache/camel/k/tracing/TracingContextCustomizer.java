@@ -17,7 +17,9 @@
 package org.apache.camel.k.tracing;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import io.jaegertracing.Configuration;
 import io.opentracing.Tracer;
@@ -29,9 +31,21 @@ import org.apache.camel.util.ObjectHelper;
 
 @Customizer("tracing")
 public class TracingContextCustomizer implements ContextCustomizer {
+    public static final int DEFAULT_REPORTER_MAX_QUEUE_SIZE = 1000;
+    public static final int DEFAULT_REPORTER_FLUSH_INTERVAL = 1000;
+
     private String serviceName;
     private Map<String, String> tags;
-    private Configuration.ReporterConfiguration reporter = new Configuration.ReporterConfiguration();
+    private String excludePatterns;
+
+    // spans are buffered and sent in batches by the reporter, the jaeger default
+    // queue size is easily overrun at peak load which drops sampled spans
+    private Configuration.ReporterConfiguration reporter = new Configuration.ReporterConfiguration()
+        .withMaxQueueSize(DEFAULT_REPORTER_MAX_QUEUE_SIZE)
+        .withFlushInterval(DEFAULT_REPORTER_FLUSH_INTERVAL);
+
+    // the sampling decision is taken when the root span is created, i.e. by the
+    // consumer at the edge of the integration, and then propagated downstream
     private Configuration.SamplerConfiguration sampler = new Configuration.SamplerConfiguration();
 
     public String getServiceName() {
@@ -50,6 +64,17 @@ public class TracingContextCustomizer implements ContextCustomizer {
         this.tags = tags;
     }
 
+    public String getExcludePatterns() {
+        return excludePatterns;
+    }
+
+    /**
+     * A comma separated list of endpoint patterns for which no span should be created.
+     */
+    public void setExcludePatterns(String excludePatterns) {
+        this.excludePatterns = excludePatterns;
+    }
+
     public Configuration.ReporterConfiguration getReporter() {
         return reporter;
     }
@@ -66,6 +91,11 @@ public class TracingContextCustomizer implements ContextCustomizer {
         this.sampler = sampler;
     }
 
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
     @Override
     public void apply(CamelContext camelContext) {
         ObjectHelper.notNull(serviceName, "service-name");
@@ -77,8 +107,28 @@ public class TracingContextCustomizer implements ContextCustomizer {
             .withSampler(sampler)
             .getTracer();
 
+        apply(camelContext, tracer);
+    }
+
+    void apply(CamelContext camelContext, Tracer tracer) {
         OpenTracingTracer openTracingTracer = new OpenTracingTracer();
-        openTracingTracer.setTracer(tracer);
-        openTracingTracer.init(camelContext);
+        // exchanges belonging to an unsampled trace do not create spans
+        openTracingTracer.setTracer(new SamplingAwareTracer(tracer));
+
+        if (ObjectHelper.isNotEmpty(excludePatterns)) {
+            Set<String> patterns = new HashSet<>();
+            for (String pattern : excludePatterns.split(",")) {
+                if (ObjectHelper.isNotEmpty(pattern.trim())) {
+                    patterns.add(pattern.trim());
+                }
+            }
+
+            openTracingTracer.setExcludePatterns(patterns);
+        }
+
+        // the context is only mutated holding its monitor, see ContextCustomizer#isConcurrent
+        synchronized (camelContext) {
+            openTracingTracer.init(camelContext);
+        }
     }
 }
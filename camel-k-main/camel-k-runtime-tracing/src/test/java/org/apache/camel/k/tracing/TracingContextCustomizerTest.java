@@ -16,11 +16,24 @@
  */
 package org.apache.camel.k.tracing;
 
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.reporters.InMemoryReporter;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.k.Constants;
+import org.apache.camel.k.ContextCustomizer;
 import org.apache.camel.k.Runtime;
 import org.apache.camel.k.support.RuntimeSupport;
+import org.apache.camel.opentracing.OpenTracingTracer;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -53,4 +66,139 @@ public class TracingContextCustomizerTest {
                     });
             });
     }
+
+    @Test
+    public void testTracingReporterConfiguration() {
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.setProperties(
+            "camel.k.customizer.tracing.enabled", "true",
+            "camel.k.customizer.tracing.service-name", "my-service",
+            "camel.k.customizer.tracing.exclude-patterns", "direct:*,log:*",
+            "camel.k.customizer.tracing.reporter.flush-interval", "500",
+            "camel.k.customizer.tracing.sampler.type", "ratelimiting",
+            "camel.k.customizer.tracing.sampler.param", "10");
+
+        assertThat(RuntimeSupport.configureContextCustomizers(runtime))
+            .hasOnlyOneElementSatisfying(customizer -> {
+                assertThat(customizer)
+                    .isInstanceOfSatisfying(TracingContextCustomizer.class, tracing -> {
+                        assertThat(tracing.getExcludePatterns()).isEqualTo("direct:*,log:*");
+                        assertThat(tracing.getReporter().getMaxQueueSize()).isEqualTo(TracingContextCustomizer.DEFAULT_REPORTER_MAX_QUEUE_SIZE);
+                        assertThat(tracing.getReporter().getFlushIntervalMs()).isEqualTo(500);
+                        assertThat(tracing.getSampler().getType()).isEqualTo("ratelimiting");
+                        assertThat(tracing.getSampler().getParam().intValue()).isEqualTo(10);
+                    });
+            });
+    }
+
+    @Test
+    public void testExcludedEndpointsProduceNoSpans() throws Exception {
+        InMemoryReporter reporter = new InMemoryReporter();
+        List<JaegerSpan> spans = trace(reporter, true, "direct:excluded,mock:excluded");
+
+        assertThat(spans)
+            .extracting(JaegerSpan::getOperationName)
+            .containsExactlyInAnyOrder("start", "start", "traced", "traced", "mock");
+
+        assertThat(spans)
+            .extracting(span -> span.getTags().get("camel.uri"))
+            .doesNotContain("direct://excluded", "mock://excluded");
+    }
+
+    @Test
+    public void testUnsampledExchangesProduceNoSpans() throws Exception {
+        InMemoryReporter reporter = new InMemoryReporter();
+        List<JaegerSpan> spans = trace(reporter, false, null);
+
+        assertThat(spans).isEmpty();
+    }
+
+    @Test
+    public void testTracingCustomizerIsAppliedConcurrently() {
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.getRegistry().bind("tracing", new TracingContextCustomizer() {
+            @Override
+            public void apply(CamelContext camelContext) {
+                await(latch);
+                super.apply(camelContext);
+            }
+        });
+        runtime.getRegistry().bind("other", new ContextCustomizer() {
+            @Override
+            public boolean isConcurrent() {
+                return true;
+            }
+
+            @Override
+            public void apply(CamelContext camelContext) {
+                await(latch);
+            }
+        });
+        runtime.setProperties(
+            Constants.PROPERTY_CAMEL_K_CUSTOMIZERS_PARALLEL, "true",
+            "camel.k.customizer.tracing.enabled", "true",
+            "camel.k.customizer.tracing.service-name", "my-service",
+            "camel.k.customizer.other.enabled", "true");
+
+        // the customizers complete only if they are applied at the same time
+        assertThat(RuntimeSupport.configureContextCustomizers(runtime)).hasSize(2);
+        assertThat(runtime.getCamelContext().hasService(OpenTracingTracer.class)).isNotNull();
+    }
+
+    private static void await(CountDownLatch latch) {
+        latch.countDown();
+
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Customizers have not been applied in parallel");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<JaegerSpan> trace(InMemoryReporter reporter, boolean sampled, String excludePatterns) throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .to("direct:traced")
+                    .to("direct:excluded");
+                from("direct:traced")
+                    .to("mock:traced");
+                from("direct:excluded")
+                    .to("mock:excluded");
+            }
+        });
+
+        TracingContextCustomizer customizer = new TracingContextCustomizer();
+        customizer.setExcludePatterns(excludePatterns);
+        customizer.apply(context, new JaegerTracer.Builder("my-service").withReporter(reporter).withSampler(new ConstSampler(sampled)).build());
+
+        try {
+            context.start();
+
+            MockEndpoint traced = context.getEndpoint("mock:traced", MockEndpoint.class);
+            traced.expectedMessageCount(1);
+
+            MockEndpoint excluded = context.getEndpoint("mock:excluded", MockEndpoint.class);
+            excluded.expectedMessageCount(1);
+
+            context.createProducerTemplate().sendBody("direct:start", "test");
+
+            MockEndpoint.assertIsSatisfied(context);
+
+            // the sampling decision is propagated downstream even if no span is created
+            assertThat(traced.getExchanges().get(0).getMessage().getHeader("uber-trace-id", String.class))
+                .endsWith(sampled ? ":1" : ":0");
+        } finally {
+            context.stop();
+        }
+
+        return reporter.getSpans();
+    }
 }
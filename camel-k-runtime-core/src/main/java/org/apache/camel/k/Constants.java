@@ -20,6 +20,12 @@ public final class Constants {
     public static final String ENV_CAMEL_K_ROUTES = "CAMEL_K_ROUTES";
     public static final String PROPERTY_CAMEL_K_ROUTES = "camel.k.routes";
 
+    public static final String ENV_CAMEL_K_ROUTES_PARALLELISM = "CAMEL_K_ROUTES_PARALLELISM";
+    public static final String PROPERTY_CAMEL_K_ROUTES_PARALLELISM = "camel.k.routes.parallelism";
+
+    public static final String ENV_CAMEL_K_SOURCES_CACHE_DIRECTORY = "CAMEL_K_SOURCES_CACHE_DIRECTORY";
+    public static final String PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY = "camel.k.sources.cache.directory";
+
     public static final String ENV_CAMEL_K_CONF = "CAMEL_K_CONF";
     public static final String PROPERTY_CAMEL_K_CONF = "camel.k.conf";
 
@@ -28,6 +34,7 @@ public final class Constants {
 
     public static final String ENV_CAMEL_K_CUSTOMIZERS = "CAMEL_K_CUSTOMIZERS";
     public static final String PROPERTY_CAMEL_K_CUSTOMIZER = "camel.k.customizer";
+    public static final String PROPERTY_CAMEL_K_CUSTOMIZERS_PARALLEL = "camel.k.customizers.parallel";
 
     public static final String ENV_CAMEL_K_MOUNT_PATH_CONFIGMAPS = "CAMEL_K_MOUNT_PATH_CONFIGMAPS";
     public static final String PROPERTY_CAMEL_K_MOUNT_PATH_CONFIGMAPS = "camel.k.mount-path.configmaps";
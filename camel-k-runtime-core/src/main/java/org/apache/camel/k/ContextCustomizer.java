@@ -16,6 +16,9 @@
  */
 package org.apache.camel.k;
 
+import java.util.Collections;
+import java.util.Set;
+
 import org.apache.camel.CamelContext;
 import org.apache.camel.Ordered;
 
@@ -33,6 +36,30 @@ public interface ContextCustomizer extends Ordered, Comparable<ContextCustomizer
         return 0;
     }
 
+    /**
+     * The ids of the customizers that, if enabled, must be applied before this one in
+     * addition to the ones with a lower order.
+     *
+     * @return the ids of the customizers this one depends on.
+     */
+    default Set<String> getDependencies() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Whether this customizer can be applied at the same time as other customizers when
+     * customizers are applied in parallel. Many {@link CamelContext} methods, such as the
+     * ones adding services, route policies or event notifiers, are not thread safe so
+     * customizers that do not opt in are applied holding the {@link CamelContext} monitor
+     * whereas the ones that opt in must synchronize on the {@link CamelContext} themselves
+     * around the calls that mutate it.
+     *
+     * @return true if the customizer can be applied concurrently.
+     */
+    default boolean isConcurrent() {
+        return false;
+    }
+
     @Override
     default int compareTo(ContextCustomizer o) {
         return Integer.compare(getOrder(), o.getOrder());
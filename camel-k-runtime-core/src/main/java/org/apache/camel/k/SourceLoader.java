@@ -32,6 +32,11 @@ public interface SourceLoader {
 
     /**
      * Creates a camel {@link RoutesBuilder} from the given resource.
+     * <p/>
+     * When sources are loaded in parallel this method is invoked concurrently for different
+     * sources so it is where expensive and self contained work, such as compiling a script,
+     * benefits from the pool whereas anything changing the {@link org.apache.camel.CamelContext}
+     * has to be deferred to the configuration of the returned {@link RoutesBuilder}.
      *
      * @param runtime the runtime.
      * @param source the source to load.
@@ -40,6 +45,18 @@ public interface SourceLoader {
      */
     Result load(Runtime runtime, Source source) throws Exception;
 
+    /**
+     * Whether the {@link RoutesBuilder} created by this loader can be configured at the
+     * same time as the ones created by other loaders when sources are loaded in parallel,
+     * which requires its configure method not to change the state of the
+     * {@link org.apache.camel.CamelContext}, as an example by binding beans to the registry.
+     *
+     * @return true if the routes can be configured concurrently.
+     */
+    default boolean isConcurrent() {
+        return false;
+    }
+
     /**
      * Represent the result of the process of loading a {@link Source}.
      */
@@ -16,9 +16,15 @@
  */
 package org.apache.camel.k.listener;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.k.Constants;
 import org.apache.camel.k.Runtime;
 import org.apache.camel.k.RuntimeAware;
@@ -26,6 +32,7 @@ import org.apache.camel.k.Source;
 import org.apache.camel.k.SourceLoader;
 import org.apache.camel.k.Sources;
 import org.apache.camel.k.support.RuntimeSupport;
+import org.apache.camel.k.support.StartupProfiler;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,18 +61,72 @@ public class RoutesConfigurer extends AbstractPhaseListener {
     }
 
     protected void load(Runtime runtime, String[] routes) {
+        final List<String> locations = new ArrayList<>(routes.length);
+        final List<Source> sources = new ArrayList<>(routes.length);
+
         for (String route: routes) {
             if (ObjectHelper.isEmpty(route)) {
                 continue;
             }
 
             try {
-                load(runtime, Sources.fromURI(route));
+                sources.add(Sources.fromURI(route));
+                locations.add(route);
             } catch (Exception e) {
                 throw RuntimeCamelException.wrapRuntimeCamelException(e);
             }
+        }
+
+        final int parallelism = Math.min(parallelism(), sources.size());
 
-            LOGGER.info("Loading routes from: {}", route);
+        if (parallelism <= 1) {
+            for (int i = 0; i < sources.size(); i++) {
+                load(runtime, sources.get(i));
+
+                LOGGER.info("Loading routes from: {}", locations.get(i));
+            }
+
+            return;
+        }
+
+        //
+        // Loading a source (i.e. compiling a script) is independent from loading the
+        // others so it can be done concurrently, the results are then added to the
+        // runtime in the order the sources are listed so the registration order of
+        // the routes is deterministic.
+        //
+        // The groovy and kotlin loaders compile their script when loading whereas the
+        // other loaders defer the parsing of the source to the configuration of the
+        // routes so, for the loaders that support it, the routes are configured on
+        // the pool too; the js loader evaluates its script in the configure method
+        // and thus does not benefit from the pool.
+        //
+        final ExecutorService executor = runtime.getCamelContext().getExecutorServiceManager().newFixedThreadPool(
+            this,
+            "RoutesConfigurer",
+            parallelism);
+
+        try {
+            final List<Future<SourceLoader.Result>> results = new ArrayList<>(sources.size());
+            for (Source source: sources) {
+                results.add(executor.submit(() -> {
+                    final SourceLoader loader = RuntimeSupport.loaderFor(runtime.getCamelContext(), source);
+                    return load(runtime, source, loader, loader.isConcurrent());
+                }));
+            }
+
+            for (int i = 0; i < sources.size(); i++) {
+                register(runtime, results.get(i).get());
+
+                LOGGER.info("Loading routes from: {}", locations.get(i));
+            }
+        } catch (ExecutionException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            runtime.getCamelContext().getExecutorServiceManager().shutdownNow(executor);
         }
     }
 
@@ -79,10 +140,18 @@ public class RoutesConfigurer extends AbstractPhaseListener {
     }
 
     public static SourceLoader load(Runtime runtime, Source source) {
-        final List<SourceLoader.Interceptor> interceptors = RuntimeSupport.loadInterceptors(runtime.getCamelContext(), source);
         final SourceLoader loader = RuntimeSupport.loaderFor(runtime.getCamelContext(), source);
 
-        try {
+        register(runtime, load(runtime, source, loader, false));
+
+        return loader;
+    }
+
+    private static SourceLoader.Result load(Runtime runtime, Source source, SourceLoader loader, boolean configure) {
+        final StartupProfiler.Step step = StartupProfiler.lookup(runtime.getCamelContext()).start(StartupProfiler.KIND_SOURCE, source.getName());
+        final List<SourceLoader.Interceptor> interceptors = RuntimeSupport.loadInterceptors(runtime.getCamelContext(), source);
+
+        try (step) {
             for (SourceLoader.Interceptor interceptor: interceptors) {
                 if (interceptor instanceof RuntimeAware) {
                     ((RuntimeAware) interceptor).setRuntime(runtime);
@@ -96,12 +165,31 @@ public class RoutesConfigurer extends AbstractPhaseListener {
                 result = interceptor.afterLoad(loader, source, result);
             }
 
-            result.builder().ifPresent(runtime::addRoutes);
-            result.configuration().ifPresent(runtime::addConfiguration);
+            if (configure && result.builder().isPresent() && result.builder().get() instanceof RouteBuilder) {
+                // the routes are added to the context later on, the builder is configured only once
+                ((RouteBuilder) result.builder().get()).configureRoutes(runtime.getCamelContext());
+            }
+
+            return result;
         } catch (Exception e) {
             throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            LOGGER.debug("Loaded source {} in {}ms", source.getName(), TimeUnit.NANOSECONDS.toMillis(step.getDuration()));
         }
+    }
 
-        return loader;
+    private static void register(Runtime runtime, SourceLoader.Result result) {
+        result.builder().ifPresent(runtime::addRoutes);
+        result.configuration().ifPresent(runtime::addConfiguration);
+    }
+
+    private static int parallelism() {
+        String parallelism = System.getProperty(Constants.PROPERTY_CAMEL_K_ROUTES_PARALLELISM);
+
+        if (ObjectHelper.isEmpty(parallelism)) {
+            parallelism = System.getenv(Constants.ENV_CAMEL_K_ROUTES_PARALLELISM);
+        }
+
+        return ObjectHelper.isEmpty(parallelism) ? 1 : Integer.parseInt(parallelism);
     }
 }
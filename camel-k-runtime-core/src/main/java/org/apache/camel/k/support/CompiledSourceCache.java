@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.k.Constants;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.StringHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An on disk cache of the bytecode produced by compiling sources, entries are keyed by
+ * a hash of the content of the source so a source is compiled again only if it changes.
+ *
+ * The cache is a best effort optimization, any error while reading or writing an entry
+ * is logged and the source compiled as usual.
+ */
+public final class CompiledSourceCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledSourceCache.class);
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+    private static final Map<ClassLoader, String> DEPENDENCIES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Path directory;
+
+    public CompiledSourceCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Computes the key of an entry, the key includes the java, camel and camel-k versions and
+     * the name and version of the artifacts visible to the class loader the source is compiled
+     * against but not their location so entries produced at build time (i.e. by the
+     * precompile-sources goal of the camel-k-maven-plugin) can be used by the runtime as long
+     * as it has the same dependencies the sources have been compiled against.
+     *
+     * @param classLoader the class loader the source is compiled against.
+     * @param parts the parts identifying the compiled source, i.e. the loader, the compiler settings and the content.
+     * @return the key.
+     */
+    public String key(ClassLoader classLoader, String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, System.getProperty("java.specification.version"));
+            update(digest, CamelContext.class.getPackage().getImplementationVersion());
+            update(digest, CompiledSourceCache.class.getPackage().getImplementationVersion());
+            update(digest, DEPENDENCIES.computeIfAbsent(classLoader, CompiledSourceCache::dependencies));
+
+            for (String part : parts) {
+                update(digest, part);
+            }
+
+            return hex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Loads the given class from the given entry, compiling and storing it if the entry does
+     * not exist or can not be used, i.e. because it misses the class or holds a corrupted one.
+     *
+     * @param key the key of the entry.
+     * @param name the name of the class to load.
+     * @param parent the class loader the source is compiled against.
+     * @param compiler compiles the source, returning the bytecode of the classes indexed by class name.
+     * @return the class.
+     */
+    public Class<?> loadClass(String key, String name, ClassLoader parent, Callable<Map<String, byte[]>> compiler) throws Exception {
+        final Optional<Map<String, byte[]>> cached = load(key);
+
+        if (cached.isPresent()) {
+            try {
+                return defineClasses(parent, cached.get()).loadClass(name);
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOGGER.warn("Discarding invalid compiled source cache entry {}", directory.resolve(key), e);
+            }
+        }
+
+        final Map<String, byte[]> classes = compiler.call();
+
+        // replaces an entry that can not be used, if any
+        evict(key);
+        store(key, classes);
+
+        return classLoader(parent, classes).loadClass(name);
+    }
+
+    /**
+     * Loads the classes of the given entry.
+     *
+     * @param key the key of the entry.
+     * @return the bytecode of the cached classes indexed by class name or an empty optional if not found.
+     */
+    public Optional<Map<String, byte[]>> load(String key) {
+        final Path entry = directory.resolve(key);
+        if (!Files.isDirectory(entry)) {
+            return Optional.empty();
+        }
+
+        final Map<String, byte[]> classes = new HashMap<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(entry, "*" + CLASS_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                name = name.substring(0, name.length() - CLASS_SUFFIX.length());
+
+                classes.put(name, Files.readAllBytes(file));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read compiled source cache entry {}", entry, e);
+            return Optional.empty();
+        }
+
+        LOGGER.debug("Loaded {} classes from compiled source cache entry {}", classes.size(), entry);
+
+        return classes.isEmpty() ? Optional.empty() : Optional.of(classes);
+    }
+
+    /**
+     * Stores the given classes, the entry is written to a temporary directory and then
+     * moved in place so a concurrent or interrupted write never exposes a partial entry.
+     *
+     * @param key the key of the entry.
+     * @param classes the bytecode of the classes indexed by class name.
+     */
+    public void store(String key, Map<String, byte[]> classes) {
+        final Path entry = directory.resolve(key);
+        if (Files.isDirectory(entry)) {
+            return;
+        }
+
+        Path tmp = null;
+
+        try {
+            Files.createDirectories(directory);
+
+            tmp = Files.createTempDirectory(directory, key + ".");
+
+            for (Map.Entry<String, byte[]> clazz : classes.entrySet()) {
+                Files.write(tmp.resolve(clazz.getKey() + CLASS_SUFFIX), clazz.getValue());
+            }
+
+            try {
+                Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, entry);
+            }
+
+            LOGGER.debug("Stored {} classes in compiled source cache entry {}", classes.size(), entry);
+        } catch (FileAlreadyExistsException e) {
+            // stored concurrently by another process
+            LOGGER.debug("Compiled source cache entry {} already exists", entry);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write compiled source cache entry {}", entry, e);
+        } finally {
+            if (tmp != null && Files.exists(tmp)) {
+                delete(tmp);
+            }
+        }
+    }
+
+    /**
+     * Removes the given entry.
+     *
+     * @param key the key of the entry.
+     */
+    public void evict(String key) {
+        final Path entry = directory.resolve(key);
+        if (Files.exists(entry)) {
+            delete(entry);
+        }
+    }
+
+    /**
+     * Creates a class loader that defines the given classes on demand.
+     */
+    public static ClassLoader classLoader(ClassLoader parent, Map<String, byte[]> classes) {
+        return new BytecodeClassLoader(parent, classes);
+    }
+
+    /**
+     * Lookup the cache configured through {@link Constants#PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY} or
+     * {@link Constants#ENV_CAMEL_K_SOURCES_CACHE_DIRECTORY}.
+     *
+     * @param context the camel context.
+     * @return the cache or an empty optional if not configured.
+     */
+    public static Optional<CompiledSourceCache> lookup(CamelContext context) {
+        String directory = context.getPropertiesComponent()
+            .loadProperties(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY::equals)
+            .getProperty(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY);
+
+        if (ObjectHelper.isEmpty(directory)) {
+            directory = System.getProperty(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY);
+        }
+        if (ObjectHelper.isEmpty(directory)) {
+            directory = System.getenv(Constants.ENV_CAMEL_K_SOURCES_CACHE_DIRECTORY);
+        }
+
+        return ObjectHelper.isEmpty(directory)
+            ? Optional.empty()
+            : Optional.of(new CompiledSourceCache(Paths.get(directory)));
+    }
+
+    /**
+     * Hashes the name and version of the artifacts visible to the given class loader as found
+     * in their manifest, the name of the jar is used for the artifacts that do not declare them.
+     */
+    private static String dependencies(ClassLoader classLoader) {
+        final Set<String> artifacts = new TreeSet<>();
+
+        try {
+            for (Enumeration<URL> manifests = classLoader.getResources(MANIFEST); manifests.hasMoreElements();) {
+                artifacts.add(artifact(manifests.nextElement()));
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String artifact : artifacts) {
+                update(digest, artifact);
+            }
+
+            return hex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to determine the dependencies of " + classLoader, e);
+        }
+    }
+
+    private static String artifact(URL manifest) {
+        try (InputStream is = manifest.openStream()) {
+            final Attributes attributes = new Manifest(is).getMainAttributes();
+
+            String name = attributes.getValue("Bundle-SymbolicName");
+            String version = attributes.getValue("Bundle-Version");
+
+            if (name == null || version == null) {
+                name = attributes.getValue(Attributes.Name.IMPLEMENTATION_TITLE);
+                version = attributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION);
+            }
+            if (name != null && version != null) {
+                final String symbolicName = StringHelper.before(name, ";");
+                return (symbolicName != null ? symbolicName : name) + ":" + version;
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read {}", manifest, e);
+        }
+
+        // i.e. jar:file:/path/to/artifact-1.0.jar!/META-INF/MANIFEST.MF
+        String location = manifest.toExternalForm();
+        location = location.contains("!/")
+            ? StringHelper.before(location, "!/")
+            : location.substring(0, location.length() - MANIFEST.length() - 1);
+
+        return location.substring(location.lastIndexOf('/') + 1);
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+
+        return sb.toString();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Defines all the given classes upfront so a corrupted entry is detected before any of its
+     * classes is used.
+     */
+    private static ClassLoader defineClasses(ClassLoader parent, Map<String, byte[]> classes) throws ClassNotFoundException {
+        final ClassLoader answer = classLoader(parent, classes);
+        for (String name : classes.keySet()) {
+            Class.forName(name, false, answer);
+        }
+
+        return answer;
+    }
+
+    private static void delete(Path path) {
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.delete(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.debug("Unable to delete {}", path, e);
+        }
+    }
+
+    private static final class BytecodeClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        BytecodeClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+            super(parent);
+
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            final byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -17,13 +17,21 @@
 package org.apache.camel.k.support;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -45,6 +53,7 @@ import org.slf4j.LoggerFactory;
 
 public final class RuntimeSupport {
     private static final Logger LOGGER = LoggerFactory.getLogger(RuntimeSupport.class);
+    private static final Pattern ENABLE_CUSTOMIZER_PATTERN = Pattern.compile(Constants.ENABLE_CUSTOMIZER_PATTERN);
 
     private RuntimeSupport() {
     }
@@ -60,25 +69,141 @@ public final class RuntimeSupport {
     }
 
     public static List<ContextCustomizer> configureContextCustomizers(CamelContext context) {
-        List<ContextCustomizer> appliedCustomizers = new ArrayList<>();
-        Map<String, ContextCustomizer> customizers = lookupCustomizers(context);
+        List<ContextCustomizer> appliedCustomizers = Collections.synchronizedList(new ArrayList<>());
+        Map<String, ContextCustomizer> customizers = new LinkedHashMap<>();
 
-        customizers.entrySet().stream()
+        lookupCustomizers(context).entrySet().stream()
             .sorted(Map.Entry.comparingByValue())
-            .forEach(e -> {
-                LOGGER.info("Apply ContextCustomizer with id={} and type={}", e.getKey(), e.getValue().getClass().getName());
+            .forEach(e -> customizers.put(e.getKey(), e.getValue()));
 
-                PropertiesSupport.bindProperties(context, e.getValue(), Constants.CUSTOMIZER_PREFIX + e.getKey() + ".");
-                PropertiesSupport.bindProperties(context, e.getValue(), Constants.CUSTOMIZER_PREFIX_FALLBACK + e.getKey() + ".");
+        if (customizers.isEmpty()) {
+            return appliedCustomizers;
+        }
+
+        final boolean parallel = customizers.size() > 1 && Boolean.parseBoolean(
+            context.getPropertiesComponent()
+                .loadProperties(Constants.PROPERTY_CAMEL_K_CUSTOMIZERS_PARALLEL::equals)
+                .getProperty(Constants.PROPERTY_CAMEL_K_CUSTOMIZERS_PARALLEL, "false"));
+
+        final ExecutorService executor = parallel
+            ? context.getExecutorServiceManager().newFixedThreadPool(
+                context,
+                "ContextCustomizer",
+                customizers.size())
+            : null;
+
+        try {
+            for (Map.Entry<String, ContextCustomizer> entry : customizers.entrySet()) {
+                for (String dependency : entry.getValue().getDependencies()) {
+                    final ContextCustomizer customizer = customizers.get(dependency);
+
+                    if (customizer != null && customizer.getOrder() > entry.getValue().getOrder()) {
+                        throw new IllegalStateException(
+                            "ContextCustomizer with id=" + entry.getKey() + " and order=" + entry.getValue().getOrder()
+                                + " depends on ContextCustomizer with id=" + dependency + " which has a higher order=" + customizer.getOrder());
+                    }
+                }
+            }
+
+            //
+            // A customizer is applied once the customizers with a lower order and the
+            // ones it explicitly depends on have been applied so, when enabled, the
+            // independent ones can be applied in parallel.
+            //
+            final Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+
+            for (String id : customizers.keySet()) {
+                scheduleContextCustomizer(context, id, customizers, futures, new HashSet<>(), executor, appliedCustomizers);
+            }
 
-                e.getValue().apply(context);
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
 
-                appliedCustomizers.add(e.getValue());
-            });
+            throw new RuntimeException(e.getCause());
+        } finally {
+            if (executor != null) {
+                context.getExecutorServiceManager().shutdown(executor);
+            }
+        }
 
         return appliedCustomizers;
     }
 
+    private static CompletableFuture<Void> scheduleContextCustomizer(
+            CamelContext context,
+            String id,
+            Map<String, ContextCustomizer> customizers,
+            Map<String, CompletableFuture<Void>> futures,
+            Set<String> visiting,
+            ExecutorService executor,
+            List<ContextCustomizer> appliedCustomizers) {
+
+        CompletableFuture<Void> future = futures.get(id);
+        if (future != null) {
+            return future;
+        }
+        if (!visiting.add(id)) {
+            throw new IllegalStateException("Circular dependency detected for ContextCustomizer with id=" + id);
+        }
+
+        final ContextCustomizer customizer = customizers.get(id);
+        final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+
+        for (Map.Entry<String, ContextCustomizer> entry : customizers.entrySet()) {
+            if (entry.getValue().getOrder() < customizer.getOrder() || customizer.getDependencies().contains(entry.getKey())) {
+                dependencies.add(scheduleContextCustomizer(context, entry.getKey(), customizers, futures, visiting, executor, appliedCustomizers));
+            }
+        }
+
+        final StartupProfiler profiler = StartupProfiler.lookup(context);
+        final Runnable task = () -> {
+            LOGGER.info("Apply ContextCustomizer with id={} and type={}", id, customizer.getClass().getName());
+
+            final StartupProfiler.Step step = profiler.start(StartupProfiler.KIND_CUSTOMIZER, id);
+
+            //
+            // Properties are bound right before applying the customizer as they may refer
+            // to beans bound by the customizers applied before. The binding and the customizers
+            // that do not opt in hold the context monitor, see ContextCustomizer#isConcurrent.
+            //
+            if (customizer.isConcurrent()) {
+                synchronized (context) {
+                    bindProperties(context, id, customizer);
+                }
+
+                customizer.apply(context);
+            } else {
+                synchronized (context) {
+                    bindProperties(context, id, customizer);
+
+                    customizer.apply(context);
+                }
+            }
+
+            appliedCustomizers.add(customizer);
+
+            step.close();
+
+            LOGGER.info("Applied ContextCustomizer with id={} in {}ms", id, TimeUnit.NANOSECONDS.toMillis(step.getDuration()));
+        };
+
+        future = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]));
+        future = executor != null ? future.thenRunAsync(task, executor) : future.thenRun(task);
+
+        visiting.remove(id);
+        futures.put(id, future);
+
+        return future;
+    }
+
+    private static void bindProperties(CamelContext context, String id, ContextCustomizer customizer) {
+        PropertiesSupport.bindProperties(context, customizer, Constants.CUSTOMIZER_PREFIX + id + ".");
+        PropertiesSupport.bindProperties(context, customizer, Constants.CUSTOMIZER_PREFIX_FALLBACK + id + ".");
+    }
+
     public static Map<String, ContextCustomizer> lookupCustomizers(CamelContext context) {
         Map<String, ContextCustomizer> customizers = new ConcurrentHashMap<>();
         Properties properties = context.getPropertiesComponent().loadProperties(n -> n.startsWith(Constants.CUSTOMIZER_PREFIX) || n.startsWith(Constants.CUSTOMIZER_PREFIX_FALLBACK));
@@ -92,15 +217,13 @@ public final class RuntimeSupport {
                 customizers.computeIfAbsent(customizerId, id -> lookupCustomizerByID(context, id));
             }
 
-            Pattern pattern = Pattern.compile(Constants.ENABLE_CUSTOMIZER_PATTERN);
-
             properties.entrySet().stream()
                 .filter(entry -> entry.getKey() instanceof String)
                 .filter(entry -> entry.getValue() != null)
                 .forEach(entry -> {
                     final String key = (String)entry.getKey();
                     final Object val = entry.getValue();
-                    final Matcher matcher = pattern.matcher(key);
+                    final Matcher matcher = ENABLE_CUSTOMIZER_PATTERN.matcher(key);
 
                     if (matcher.matches()) {
                         String customizerId = null;
@@ -178,28 +301,11 @@ public final class RuntimeSupport {
 
 
     public static SourceLoader lookupLoaderById(CamelContext context, String loaderId) {
-        LOGGER.info("Looking up loader for id: {}", loaderId);
-
-        SourceLoader loader = context.getRegistry().findByTypeWithName(SourceLoader.class).get(loaderId);
-        if (loader != null) {
-            LOGGER.info("Found loader {} with id {} from the registry", loader, loaderId);
-            return loader;
-        }
-
-        return lookupLoaderFromResource(context, loaderId);
+        return SourceLoaderRegistry.lookup(context).lookupById(loaderId);
     }
 
     public static SourceLoader lookupLoaderByLanguage(CamelContext context, String loaderId) {
-        LOGGER.info("Looking up loader for language: {}", loaderId);
-
-        for (SourceLoader loader: context.getRegistry().findByType(SourceLoader.class)) {
-            if (loader.getSupportedLanguages().contains(loaderId)) {
-                LOGGER.info("Found loader {} for language {} from the registry", loader, loaderId);
-                return loader;
-            }
-        }
-
-        return lookupLoaderFromResource(context, loaderId);
+        return SourceLoaderRegistry.lookup(context).lookupByLanguage(loaderId);
     }
 
     public static SourceLoader lookupLoaderFromResource(CamelContext context, String loaderId) {
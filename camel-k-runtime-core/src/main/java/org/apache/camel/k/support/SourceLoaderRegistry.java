@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.support;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.k.SourceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the {@link SourceLoader}s of a context, loaders bound to the registry always take
+ * precedence over the ones created from a service definition, which are cached so they are
+ * instantiated only once regardless of the number of sources they load.
+ *
+ * The loaders bound to the registry are indexed by id and language, the camel registry does
+ * not notify bindings so the index is rebuilt whenever the loaders bound to the registry differ
+ * from the ones it has been built from, as a result loaders bound later are honoured.
+ */
+public final class SourceLoaderRegistry {
+    public static final String REGISTRY_NAME = "camel-k-source-loaders";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SourceLoaderRegistry.class);
+
+    private final CamelContext context;
+    private final Map<String, SourceLoader> resources;
+    private volatile Index index;
+
+    public SourceLoaderRegistry(CamelContext context) {
+        this.context = context;
+        this.resources = new ConcurrentHashMap<>();
+        this.index = new Index(Collections.emptyMap());
+    }
+
+    public SourceLoader lookupById(String loaderId) {
+        SourceLoader loader = index().loaders.get(loaderId);
+        if (loader != null) {
+            LOGGER.debug("Found loader {} with id {} from the registry", loader, loaderId);
+            return loader;
+        }
+
+        return lookupFromResource(loaderId);
+    }
+
+    public SourceLoader lookupByLanguage(String language) {
+        SourceLoader loader = index().languages.get(language);
+        if (loader != null) {
+            LOGGER.debug("Found loader {} for language {} from the registry", loader, language);
+            return loader;
+        }
+
+        return lookupFromResource(language);
+    }
+
+    /**
+     * Lookup the loaders registry bound to the given context, binding a new one if none is found.
+     */
+    public static synchronized SourceLoaderRegistry lookup(CamelContext context) {
+        SourceLoaderRegistry registry = context.getRegistry().lookupByNameAndType(REGISTRY_NAME, SourceLoaderRegistry.class);
+        if (registry == null) {
+            registry = new SourceLoaderRegistry(context);
+            context.getRegistry().bind(REGISTRY_NAME, registry);
+        }
+
+        return registry;
+    }
+
+    private Index index() {
+        final Map<String, SourceLoader> loaders = context.getRegistry().findByTypeWithName(SourceLoader.class);
+
+        Index answer = index;
+        if (!answer.loaders.equals(loaders)) {
+            answer = new Index(loaders);
+            index = answer;
+
+            LOGGER.info("Indexed loaders {} for languages {} from the registry", answer.loaders.keySet(), answer.languages.keySet());
+        }
+
+        return answer;
+    }
+
+    private SourceLoader lookupFromResource(String loaderId) {
+        // the same resource may be looked up both by id and by language
+        return resources.computeIfAbsent(loaderId, id -> RuntimeSupport.lookupLoaderFromResource(context, id));
+    }
+
+    private static final class Index {
+        final Map<String, SourceLoader> loaders;
+        final Map<String, SourceLoader> languages;
+
+        Index(Map<String, SourceLoader> loaders) {
+            this.loaders = new HashMap<>(loaders);
+            this.languages = new HashMap<>();
+
+            for (SourceLoader loader : loaders.values()) {
+                for (String language : loader.getSupportedLanguages()) {
+                    languages.putIfAbsent(language, loader);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.support;
+
+import java.nio.file.Path;
+import java.util.Collection;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.k.Constants;
+import org.apache.camel.k.Runtime;
+import org.apache.camel.k.Sources;
+import org.apache.camel.k.listener.RoutesConfigurer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the given sources against a throw away context with the {@link CompiledSourceCache}
+ * pointing to the given directory so the bytecode produced by the loaders is stored ahead of
+ * time, the directory can then be shipped with the integration to skip compilation at startup.
+ */
+public final class SourcesPrecompiler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SourcesPrecompiler.class);
+
+    private SourcesPrecompiler() {
+    }
+
+    public static void precompile(Path directory, Collection<String> routes) {
+        try (CamelContext context = new DefaultCamelContext()) {
+            final Runtime runtime = Runtime.on(context);
+            runtime.setInitialProperties(Constants.PROPERTY_CAMEL_K_SOURCES_CACHE_DIRECTORY, directory.toString());
+
+            for (String route: routes) {
+                LOGGER.info("Precompiling routes from: {}", route);
+
+                RoutesConfigurer.load(runtime, Sources.fromURI(route));
+            }
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.support;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.camel.CamelContext;
+
+/**
+ * Records the wall time and the memory allocated by the steps of the startup of the
+ * runtime such as phases, listeners, sources and context customizers.
+ *
+ * The allocated memory is the one of the thread that starts and closes a step so the
+ * memory allocated by the other threads a step waits for, such as the customizers
+ * applied in parallel during the context configuration phase, is only accounted for
+ * by their own steps.
+ */
+public final class StartupProfiler {
+    public static final String REGISTRY_NAME = "camel-k-startup-profiler";
+
+    public static final String KIND_PHASE = "phase";
+    public static final String KIND_LISTENER = "listener";
+    public static final String KIND_SOURCE = "source";
+    public static final String KIND_CUSTOMIZER = "customizer";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final Queue<Step> steps;
+    private final List<Consumer<Step>> listeners;
+
+    public StartupProfiler() {
+        this.steps = new ConcurrentLinkedQueue<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Starts measuring a step, the step is recorded once closed.
+     *
+     * @param kind the kind of the step, i.e. phase.
+     * @param name the name of the step.
+     * @return the step.
+     */
+    public Step start(String kind, String name) {
+        return new Step(kind, name);
+    }
+
+    /**
+     * @return the steps recorded so far, in the order they have been completed.
+     */
+    public Collection<Step> getSteps() {
+        return Collections.unmodifiableCollection(new ArrayList<>(steps));
+    }
+
+    /**
+     * Adds a listener notified, on the thread closing it, of each step recorded from now on.
+     */
+    public void addListener(Consumer<Step> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Step> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return a report of the recorded steps, one per line.
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+
+        for (Step step : steps) {
+            if (sb.length() > 0) {
+                sb.append(System.lineSeparator());
+            }
+
+            sb.append("kind=").append(step.kind)
+                .append(" name=").append(step.name)
+                .append(" duration=").append(TimeUnit.NANOSECONDS.toMillis(step.duration)).append("ms");
+
+            if (step.allocated >= 0) {
+                sb.append(" allocated=").append(step.allocated / 1024).append("KiB");
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Lookup the profiler bound to the given context, binding a new one if none is found.
+     */
+    public static synchronized StartupProfiler lookup(CamelContext context) {
+        StartupProfiler profiler = context.getRegistry().lookupByNameAndType(REGISTRY_NAME, StartupProfiler.class);
+        if (profiler == null) {
+            profiler = new StartupProfiler();
+            context.getRegistry().bind(REGISTRY_NAME, profiler);
+        }
+
+        return profiler;
+    }
+
+    private static long allocatedBytes() {
+        // the memory allocated by a thread is only tracked by some JVMs
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+
+        return -1;
+    }
+
+    public final class Step implements AutoCloseable {
+        private final String kind;
+        private final String name;
+        private final long start;
+        private final long startAllocated;
+        private long duration;
+        private long allocated;
+
+        private Step(String kind, String name) {
+            this.kind = kind;
+            this.name = name;
+            this.start = System.nanoTime();
+            this.startAllocated = allocatedBytes();
+            this.allocated = -1;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the wall time of the step in nanoseconds.
+         */
+        public long getDuration() {
+            return duration;
+        }
+
+        /**
+         * @return the bytes allocated by the thread executing the step, not including the
+         *         ones allocated by the threads it hands work to, or -1 if unknown.
+         */
+        public long getAllocated() {
+            return allocated;
+        }
+
+        @Override
+        public void close() {
+            final long endAllocated = allocatedBytes();
+
+            this.duration = System.nanoTime() - start;
+            this.allocated = startAllocated >= 0 && endAllocated >= 0 ? endAllocated - startAllocated : -1;
+
+            steps.add(this);
+
+            for (Consumer<Step> listener : listeners) {
+                listener.accept(this);
+            }
+        }
+    }
+}
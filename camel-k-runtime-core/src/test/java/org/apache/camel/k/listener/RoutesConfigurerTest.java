@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.listener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.k.Constants;
+import org.apache.camel.k.Runtime;
+import org.apache.camel.k.Source;
+import org.apache.camel.k.SourceLoader;
+import org.apache.camel.k.support.StartupProfiler;
+import org.apache.camel.model.RouteDefinition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RoutesConfigurerTest {
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(Constants.PROPERTY_CAMEL_K_ROUTES_PARALLELISM);
+    }
+
+    @Test
+    public void testLoadRoutesInParallel() {
+        System.setProperty(Constants.PROPERTY_CAMEL_K_ROUTES_PARALLELISM, "4");
+
+        final Map<String, Long> delays = Map.of("r1", 400L, "r2", 300L, "r3", 200L, "r4", 100L);
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        DefaultCamelContext context = new DefaultCamelContext();
+        context.getRegistry().bind("test", new SourceLoader() {
+            @Override
+            public List<String> getSupportedLanguages() {
+                return List.of("test");
+            }
+
+            @Override
+            public Result load(Runtime runtime, Source source) throws Exception {
+                threads.add(Thread.currentThread().getName());
+
+                // the first sources complete last
+                Thread.sleep(delays.get(source.getName()));
+
+                return Result.on(new RouteBuilder() {
+                    @Override
+                    public void configure() throws Exception {
+                        from("direct:" + source.getName())
+                            .routeId(source.getName())
+                            .to("log:" + source.getName());
+                    }
+                });
+            }
+        });
+
+        RoutesConfigurer.forRoutes(
+            "classpath:my-cp-resource.txt?name=r1&language=test",
+            "classpath:my-cp-resource.txt?name=r2&language=test",
+            "classpath:my-cp-resource.txt?name=r3&language=test",
+            "classpath:my-cp-resource.txt?name=r4&language=test"
+        ).accept(Runtime.Phase.ConfigureRoutes, Runtime.on(context));
+
+        assertThat(threads).hasSize(4);
+        assertThat(context.getRouteDefinitions())
+            .extracting(RouteDefinition::getId)
+            .containsExactly("r1", "r2", "r3", "r4");
+        assertThat(StartupProfiler.lookup(context).getSteps())
+            .filteredOn(step -> StartupProfiler.KIND_SOURCE.equals(step.getKind()))
+            .extracting(StartupProfiler.Step::getName)
+            .containsExactlyInAnyOrder("r1", "r2", "r3", "r4");
+    }
+}
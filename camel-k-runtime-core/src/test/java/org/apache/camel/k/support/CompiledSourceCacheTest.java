@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledSourceCacheTest {
+    private static final String NAME = Cached.class.getName();
+    private static final ClassLoader PARENT = ClassLoader.getPlatformClassLoader();
+
+    @Test
+    public void testLoadClassCompilesOnce(@TempDir Path directory) throws Exception {
+        CompiledSourceCache cache = new CompiledSourceCache(directory);
+        AtomicInteger compilations = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            Class<?> type = cache.loadClass("key", NAME, PARENT, () -> compile(compilations));
+
+            assertThat(type.getName()).isEqualTo(NAME);
+            assertThat(type).isNotSameAs(Cached.class);
+        }
+
+        assertThat(compilations).hasValue(1);
+    }
+
+    @Test
+    public void testLoadClassFallsBackOnPartialEntry(@TempDir Path directory) throws Exception {
+        CompiledSourceCache cache = new CompiledSourceCache(directory);
+        AtomicInteger compilations = new AtomicInteger();
+
+        // an entry missing the class to load
+        Files.createDirectories(directory.resolve("key"));
+
+        assertThat(cache.loadClass("key", NAME, PARENT, () -> compile(compilations)).getName()).isEqualTo(NAME);
+        assertThat(compilations).hasValue(1);
+        assertThat(cache.load("key")).hasValueSatisfying(classes -> assertThat(classes).containsOnlyKeys(NAME));
+
+        assertThat(cache.loadClass("key", NAME, PARENT, () -> compile(compilations)).getName()).isEqualTo(NAME);
+        assertThat(compilations).hasValue(1);
+    }
+
+    @Test
+    public void testLoadClassFallsBackOnCorruptedEntry(@TempDir Path directory) throws Exception {
+        CompiledSourceCache cache = new CompiledSourceCache(directory);
+        AtomicInteger compilations = new AtomicInteger();
+
+        // an entry with a truncated class
+        byte[] bytecode = bytecode();
+        Files.createDirectories(directory.resolve("key"));
+        Files.write(directory.resolve("key").resolve(NAME + ".class"), Arrays.copyOf(bytecode, bytecode.length / 2));
+
+        assertThat(cache.loadClass("key", NAME, PARENT, () -> compile(compilations)).getName()).isEqualTo(NAME);
+        assertThat(compilations).hasValue(1);
+        assertThat(cache.load("key")).hasValueSatisfying(classes -> assertThat(classes.get(NAME)).isEqualTo(bytecode));
+
+        assertThat(cache.loadClass("key", NAME, PARENT, () -> compile(compilations)).getName()).isEqualTo(NAME);
+        assertThat(compilations).hasValue(1);
+    }
+
+    @Test
+    public void testKeyDependsOnArtifactsNotOnTheirLocation(@TempDir Path directory) throws Exception {
+        CompiledSourceCache cache = new CompiledSourceCache(directory);
+
+        try (URLClassLoader v1 = loader(jar(directory.resolve("a"), "1.0"));
+             URLClassLoader v1Elsewhere = loader(jar(directory.resolve("b"), "1.0"));
+             URLClassLoader v2 = loader(jar(directory.resolve("c"), "2.0"))) {
+
+            assertThat(cache.key(v1, "java", "content")).isEqualTo(cache.key(v1Elsewhere, "java", "content"));
+            assertThat(cache.key(v1, "java", "content")).isNotEqualTo(cache.key(v2, "java", "content"));
+            assertThat(cache.key(v1, "java", "content")).isNotEqualTo(cache.key(v1, "java", "other"));
+        }
+    }
+
+    private static Map<String, byte[]> compile(AtomicInteger compilations) throws IOException {
+        compilations.incrementAndGet();
+
+        return Map.of(NAME, bytecode());
+    }
+
+    private static byte[] bytecode() throws IOException {
+        try (InputStream is = Cached.class.getResourceAsStream(NAME.substring(NAME.lastIndexOf('.') + 1) + ".class")) {
+            return is.readAllBytes();
+        }
+    }
+
+    private static Path jar(Path directory, String version) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.IMPLEMENTATION_TITLE, "my-artifact");
+        manifest.getMainAttributes().put(Attributes.Name.IMPLEMENTATION_VERSION, version);
+
+        Path jar = Files.createDirectories(directory).resolve("my-artifact.jar");
+        try (OutputStream os = Files.newOutputStream(jar); JarOutputStream ignored = new JarOutputStream(os, manifest)) {
+            return jar;
+        }
+    }
+
+    private static URLClassLoader loader(Path jar) throws IOException {
+        return new URLClassLoader(new URL[] { jar.toUri().toURL() }, PARENT);
+    }
+
+    public static final class Cached {
+    }
+}
@@ -18,6 +18,11 @@ package org.apache.camel.k.support;
 
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Ordered;
@@ -25,9 +30,15 @@ import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.impl.engine.ExplicitCamelContextNameStrategy;
 import org.apache.camel.k.Constants;
 import org.apache.camel.k.ContextCustomizer;
+import org.apache.camel.k.Runtime;
+import org.apache.camel.k.Source;
+import org.apache.camel.k.SourceLoader;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class RuntimeSupportTest {
 
@@ -173,5 +184,339 @@ public class RuntimeSupportTest {
         List<ContextCustomizer> customizers = RuntimeSupport.configureContextCustomizers(context);
         assertThat(customizers).hasSize(3);
         assertThat(context.getName()).isEqualTo("camel-c2-c3-c1");
+
+        assertThat(StartupProfiler.lookup(context).getSteps())
+            .filteredOn(step -> StartupProfiler.KIND_CUSTOMIZER.equals(step.getKind()))
+            .extracting(StartupProfiler.Step::getName)
+            .containsExactly("c2", "c3", "c1");
+    }
+
+    @Test
+    public void testLoadCustomizerDependencies() {
+        DefaultCamelContext context = new DefaultCamelContext();
+        context.setName("camel");
+        context.getRegistry().bind("c1", new ContextCustomizer() {
+            @Override
+            public Set<String> getDependencies() {
+                return Set.of("c2");
+            }
+
+            @Override
+            public void apply(CamelContext camelContext) {
+                camelContext.setNameStrategy(new ExplicitCamelContextNameStrategy(camelContext.getName() + "-c1"));
+            }
+        });
+        context.getRegistry().bind("c2", new ContextCustomizer() {
+            @Override
+            public void apply(CamelContext camelContext) {
+                camelContext.setNameStrategy(new ExplicitCamelContextNameStrategy(camelContext.getName() + "-c2"));
+            }
+        });
+
+        Properties properties = new Properties();
+        properties.setProperty("camel.k.customizer.c1.enabled", "true");
+        properties.setProperty("camel.k.customizer.c2.enabled", "true");
+
+        context.getPropertiesComponent().setInitialProperties(properties);
+
+        List<ContextCustomizer> customizers = RuntimeSupport.configureContextCustomizers(context);
+        assertThat(customizers).hasSize(2);
+        assertThat(context.getName()).isEqualTo("camel-c2-c1");
+    }
+
+    @Test
+    public void testLoadCustomizersInParallel() {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final List<String> applied = new CopyOnWriteArrayList<>();
+
+        DefaultCamelContext context = new DefaultCamelContext();
+        context.getRegistry().bind("c1", new LatchCustomizer("c1", latch, applied));
+        context.getRegistry().bind("c2", new LatchCustomizer("c2", latch, applied));
+        context.getRegistry().bind("c3", new ContextCustomizer() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST;
+            }
+
+            @Override
+            public void apply(CamelContext camelContext) {
+                applied.add("c3");
+            }
+        });
+
+        Properties properties = new Properties();
+        properties.setProperty(Constants.PROPERTY_CAMEL_K_CUSTOMIZERS_PARALLEL, "true");
+        properties.setProperty("camel.k.customizer.c1.enabled", "true");
+        properties.setProperty("camel.k.customizer.c2.enabled", "true");
+        properties.setProperty("camel.k.customizer.c3.enabled", "true");
+
+        context.getPropertiesComponent().setInitialProperties(properties);
+
+        List<ContextCustomizer> customizers = RuntimeSupport.configureContextCustomizers(context);
+        assertThat(customizers).hasSize(3);
+        assertThat(applied).containsExactlyInAnyOrder("c1", "c2", "c3");
+
+        // c3 has a lower priority so it must be the last one
+        assertThat(applied).last().isEqualTo("c3");
+    }
+
+    @Test
+    public void testLoadCustomizersWithCircularDependencies() {
+        DefaultCamelContext context = new DefaultCamelContext();
+        context.getRegistry().bind("c1", new ContextCustomizer() {
+            @Override
+            public Set<String> getDependencies() {
+                return Set.of("c2");
+            }
+
+            @Override
+            public void apply(CamelContext camelContext) {
+            }
+        });
+        context.getRegistry().bind("c2", new ContextCustomizer() {
+            @Override
+            public Set<String> getDependencies() {
+                return Set.of("c1");
+            }
+
+            @Override
+            public void apply(CamelContext camelContext) {
+            }
+        });
+
+        Properties properties = new Properties();
+        properties.setProperty("camel.k.customizer.c1.enabled", "true");
+        properties.setProperty("camel.k.customizer.c2.enabled", "true");
+
+        context.getPropertiesComponent().setInitialProperties(properties);
+
+        assertThatThrownBy(() -> RuntimeSupport.configureContextCustomizers(context))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Circular dependency");
+    }
+
+    @Test
+    public void testLoaderLookupIsCached() {
+        CamelContext context = new DefaultCamelContext();
+
+        SourceLoader loader = RuntimeSupport.lookupLoaderByLanguage(context, "test");
+        assertThat(loader).isInstanceOf(TestSourceLoader.class);
+        assertThat(RuntimeSupport.lookupLoaderByLanguage(context, "test")).isSameAs(loader);
+        assertThat(RuntimeSupport.lookupLoaderById(context, "test")).isSameAs(loader);
+
+        // a loader from a new context is a new instance
+        assertThat(RuntimeSupport.lookupLoaderByLanguage(new DefaultCamelContext(), "test")).isNotSameAs(loader);
+    }
+
+    @Test
+    public void testLoaderLookupFromRegistry() {
+        CamelContext context = new DefaultCamelContext();
+
+        SourceLoader loader = new TestSourceLoader();
+        context.getRegistry().bind("my-loader", loader);
+
+        assertThat(RuntimeSupport.lookupLoaderByLanguage(context, "test")).isSameAs(loader);
+        assertThat(RuntimeSupport.lookupLoaderById(context, "my-loader")).isSameAs(loader);
+        assertThat(RuntimeSupport.lookupLoaderById(context, "test")).isNotSameAs(loader).isInstanceOf(TestSourceLoader.class);
+    }
+
+    @Test
+    public void testLoaderLookupFromRegistryAfterResource() {
+        CamelContext context = new DefaultCamelContext();
+
+        SourceLoader resource = RuntimeSupport.lookupLoaderByLanguage(context, "test");
+        assertThat(resource).isInstanceOf(TestSourceLoader.class);
+
+        // a loader bound after the first lookup takes precedence over the cached one
+        SourceLoader loader = new TestSourceLoader();
+        context.getRegistry().bind("test", loader);
+
+        assertThat(RuntimeSupport.lookupLoaderByLanguage(context, "test")).isSameAs(loader);
+        assertThat(RuntimeSupport.lookupLoaderById(context, "test")).isSameAs(loader);
+    }
+
+    @Test
+    public void testLoaderLookupFromRegistryIsIndexed() {
+        CamelContext context = new DefaultCamelContext();
+        AtomicInteger resolutions = new AtomicInteger();
+
+        SourceLoader loader = new SourceLoader() {
+            @Override
+            public List<String> getSupportedLanguages() {
+                resolutions.incrementAndGet();
+                return List.of("indexed");
+            }
+
+            @Override
+            public Result load(Runtime runtime, Source source) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        context.getRegistry().bind("indexed-loader", loader);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(RuntimeSupport.lookupLoaderByLanguage(context, "indexed")).isSameAs(loader);
+            assertThat(RuntimeSupport.lookupLoaderById(context, "indexed-loader")).isSameAs(loader);
+        }
+
+        assertThat(resolutions).hasValue(1);
+
+        // binding a loader changes the loaders of the registry so the index is rebuilt
+        SourceLoader other = new TestSourceLoader();
+        context.getRegistry().bind("other-loader", other);
+
+        assertThat(RuntimeSupport.lookupLoaderByLanguage(context, "test")).isSameAs(other);
+        assertThat(RuntimeSupport.lookupLoaderByLanguage(context, "indexed")).isSameAs(loader);
+        assertThat(resolutions).hasValue(2);
+    }
+
+    @Test
+    public void testLoadNonConcurrentCustomizersInParallel() {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+
+        DefaultCamelContext context = new DefaultCamelContext();
+
+        for (int i = 0; i < 4; i++) {
+            context.getRegistry().bind("c" + i, (ContextCustomizer) camelContext -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+
+                active.decrementAndGet();
+            });
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(Constants.PROPERTY_CAMEL_K_CUSTOMIZERS_PARALLEL, "true");
+        properties.setProperty("camel.k.customizer.c0.enabled", "true");
+        properties.setProperty("camel.k.customizer.c1.enabled", "true");
+        properties.setProperty("camel.k.customizer.c2.enabled", "true");
+        properties.setProperty("camel.k.customizer.c3.enabled", "true");
+
+        context.getPropertiesComponent().setInitialProperties(properties);
+
+        List<ContextCustomizer> customizers = RuntimeSupport.configureContextCustomizers(context);
+        assertThat(customizers).hasSize(4);
+
+        // customizers that do not opt in are never applied at the same time
+        assertThat(maxActive).hasValue(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void testBindCustomizerPropertiesAfterDependencies(boolean parallel) {
+        final BeanCustomizer c2 = new BeanCustomizer();
+
+        DefaultCamelContext context = new DefaultCamelContext();
+        context.getRegistry().bind("c1", (ContextCustomizer) camelContext -> camelContext.getRegistry().bind("myBean", "value"));
+        context.getRegistry().bind("c2", c2);
+
+        Properties properties = new Properties();
+        properties.setProperty(Constants.PROPERTY_CAMEL_K_CUSTOMIZERS_PARALLEL, Boolean.toString(parallel));
+        properties.setProperty("camel.k.customizer.c1.enabled", "true");
+        properties.setProperty("camel.k.customizer.c2.enabled", "true");
+        properties.setProperty("camel.k.customizer.c2.bean", "#bean:myBean");
+
+        context.getPropertiesComponent().setInitialProperties(properties);
+
+        // the bean c2 refers to is bound by c1 so c2 properties can only be bound once c1 is applied
+        assertThat(RuntimeSupport.configureContextCustomizers(context)).hasSize(2);
+        assertThat(c2.applied).isEqualTo("value");
+    }
+
+    @Test
+    public void testLoadCustomizersWithDependencyOnHigherOrder() {
+        DefaultCamelContext context = new DefaultCamelContext();
+        context.getRegistry().bind("c1", new ContextCustomizer() {
+            @Override
+            public Set<String> getDependencies() {
+                return Set.of("c2");
+            }
+
+            @Override
+            public void apply(CamelContext camelContext) {
+            }
+        });
+        context.getRegistry().bind("c2", new ContextCustomizer() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST;
+            }
+
+            @Override
+            public void apply(CamelContext camelContext) {
+            }
+        });
+
+        Properties properties = new Properties();
+        properties.setProperty("camel.k.customizer.c1.enabled", "true");
+        properties.setProperty("camel.k.customizer.c2.enabled", "true");
+
+        context.getPropertiesComponent().setInitialProperties(properties);
+
+        assertThatThrownBy(() -> RuntimeSupport.configureContextCustomizers(context))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("id=c1")
+            .hasMessageContaining("depends on ContextCustomizer with id=c2 which has a higher order");
+    }
+
+    public static final class BeanCustomizer implements ContextCustomizer {
+        private Object bean;
+        private Object applied;
+
+        public void setBean(Object bean) {
+            this.bean = bean;
+        }
+
+        @Override
+        public Set<String> getDependencies() {
+            return Set.of("c1");
+        }
+
+        @Override
+        public void apply(CamelContext camelContext) {
+            applied = bean;
+        }
+    }
+
+    private static final class LatchCustomizer implements ContextCustomizer {
+        private final String id;
+        private final CountDownLatch latch;
+        private final List<String> applied;
+
+        LatchCustomizer(String id, CountDownLatch latch, List<String> applied) {
+            this.id = id;
+            this.latch = latch;
+            this.applied = applied;
+        }
+
+        @Override
+        public boolean isConcurrent() {
+            return true;
+        }
+
+        @Override
+        public void apply(CamelContext camelContext) {
+            // completes only if the other customizer is applied at the same time
+            latch.countDown();
+
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Customizers have not been applied in parallel");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+
+            applied.add(id);
+        }
     }
 }
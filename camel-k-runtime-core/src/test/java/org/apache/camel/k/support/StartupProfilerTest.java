@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.support;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class StartupProfilerTest {
+    private static final int SIZE = 8 * 1024 * 1024;
+
+    // keeps the allocations below from being optimized away
+    private static volatile byte[] sink;
+
+    @Test
+    public void testStepsAreRecordedWhenClosed() {
+        StartupProfiler profiler = new StartupProfiler();
+
+        StartupProfiler.Step outer = profiler.start(StartupProfiler.KIND_PHASE, "outer");
+        StartupProfiler.Step inner = profiler.start(StartupProfiler.KIND_CUSTOMIZER, "inner");
+
+        assertThat(profiler.getSteps()).isEmpty();
+
+        inner.close();
+        outer.close();
+
+        assertThat(profiler.getSteps())
+            .extracting(StartupProfiler.Step::getName)
+            .containsExactly("inner", "outer");
+        assertThat(outer.getDuration()).isGreaterThanOrEqualTo(inner.getDuration());
+        assertThat(profiler.report())
+            .contains("kind=customizer name=inner")
+            .contains("kind=phase name=outer");
+    }
+
+    @Test
+    public void testListenersAreNotifiedOfNewSteps() {
+        StartupProfiler profiler = new StartupProfiler();
+        profiler.start(StartupProfiler.KIND_PHASE, "before").close();
+
+        List<StartupProfiler.Step> notified = new CopyOnWriteArrayList<>();
+        Consumer<StartupProfiler.Step> listener = notified::add;
+
+        profiler.addListener(listener);
+        profiler.start(StartupProfiler.KIND_PHASE, "during").close();
+        profiler.removeListener(listener);
+        profiler.start(StartupProfiler.KIND_PHASE, "after").close();
+
+        assertThat(notified).extracting(StartupProfiler.Step::getName).containsExactly("during");
+        assertThat(profiler.getSteps()).hasSize(3);
+    }
+
+    @Test
+    public void testAllocatedMemoryOfTheExecutingThreadOnly() throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+
+        StartupProfiler profiler = new StartupProfiler();
+
+        StartupProfiler.Step local = profiler.start(StartupProfiler.KIND_PHASE, "local");
+        sink = new byte[SIZE];
+        local.close();
+
+        assumeTrue(local.getAllocated() >= 0, "thread allocated memory is not tracked");
+        assertThat(local.getAllocated()).isGreaterThanOrEqualTo(SIZE);
+
+        StartupProfiler.Step remote = profiler.start(StartupProfiler.KIND_PHASE, "remote");
+        Thread thread = new Thread(() -> sink = new byte[SIZE]);
+        thread.start();
+        thread.join();
+        remote.close();
+
+        // the array is allocated by another thread
+        assertThat(remote.getAllocated()).isLessThan(SIZE);
+    }
+
+    @Test
+    public void testLookup() {
+        DefaultCamelContext context = new DefaultCamelContext();
+
+        StartupProfiler profiler = StartupProfiler.lookup(context);
+
+        assertThat(StartupProfiler.lookup(context)).isSameAs(profiler);
+        assertThat(context.getRegistry().lookupByName(StartupProfiler.REGISTRY_NAME)).isSameAs(profiler);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.k.test.AvailablePortFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Sends requests to a platform-http route served with the NIO and, where available, the
+ * epoll native transport, see {@link PlatformHttpServiceContextCustomizer#setPreferNativeTransport(boolean)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class PlatformHttpServiceBenchmark {
+    @Param({"false", "true"})
+    public boolean preferNativeTransport;
+
+    private CamelContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        PlatformHttpServiceContextCustomizer httpService = new PlatformHttpServiceContextCustomizer();
+        httpService.setBindPort(AvailablePortFinder.getNextAvailable());
+        httpService.setEventLoops(2);
+        httpService.setPreferNativeTransport(preferNativeTransport);
+
+        this.context = new DefaultCamelContext();
+        this.context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("platform-http:/bench")
+                    .setBody().constant("bench");
+            }
+        });
+
+        httpService.apply(context);
+
+        this.context.start();
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.request = HttpRequest.newBuilder(URI.create("http://localhost:" + httpService.getBindPort() + "/bench")).build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public String request() throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
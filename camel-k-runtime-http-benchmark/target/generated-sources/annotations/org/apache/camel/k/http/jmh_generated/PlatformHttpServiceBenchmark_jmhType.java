@@ -0,0 +1,4 @@
+package org.apache.camel.k.http.jmh_generated;
+public class PlatformHttpServiceBenchmark_jmhType extends PlatformHttpServiceBenchmark_jmhType_B3 {
+}
+
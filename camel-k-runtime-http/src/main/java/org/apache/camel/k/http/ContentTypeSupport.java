@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.http;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Helpers to match a content type against a list of content types that may
+ * end with a wildcard, i.e. text/*, as used to select the payloads to compress.
+ */
+public final class ContentTypeSupport {
+    private ContentTypeSupport() {
+    }
+
+    /**
+     * Split a comma separated list of content types, the result is lower case.
+     */
+    public static List<String> split(String contentTypes) {
+        if (ObjectHelper.isEmpty(contentTypes)) {
+            return Collections.emptyList();
+        }
+
+        return Stream.of(contentTypes.split(","))
+            .map(String::trim)
+            .filter(ObjectHelper::isNotEmpty)
+            .map(type -> type.toLowerCase(Locale.US))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Determine if the given content type, parameters excluded, matches one of
+     * the given content types as returned by {@link #split(String)}.
+     */
+    public static boolean matches(String contentType, List<String> contentTypes) {
+        if (contentType == null) {
+            return false;
+        }
+
+        int index = contentType.indexOf(';');
+        if (index != -1) {
+            contentType = contentType.substring(0, index);
+        }
+
+        contentType = contentType.trim().toLowerCase(Locale.US);
+
+        for (String type : contentTypes) {
+            if (type.endsWith("/*") ? contentType.startsWith(type.substring(0, type.length() - 1)) : contentType.equals(type)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.http;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.component.platform.http.PlatformHttpConstants;
+import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpRouter;
+import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpServer;
+import org.apache.camel.support.CamelContextHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link VertxPlatformHttpServer} that honours the tuning options exposed by
+ * {@link PlatformHttpServiceContextCustomizer} and that deploys the http server
+ * as a number of verticle instances sharing the same port.
+ */
+public class PlatformHttpServer extends VertxPlatformHttpServer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlatformHttpServer.class);
+
+    private final PlatformHttpServiceContextCustomizer configuration;
+    private Router router;
+    private String deploymentId;
+    private boolean localVertx;
+
+    public PlatformHttpServer(PlatformHttpServiceContextCustomizer configuration) {
+        super(configuration);
+
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected void doInit() throws Exception {
+        initializeServer();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        startServer();
+    }
+
+    @Override
+    protected Vertx createVertxInstance() {
+        // the options found in the registry may be shared with other components so
+        // the tuning options are applied to a copy
+        final VertxOptions found = CamelContextHelper.findByType(getCamelContext(), VertxOptions.class);
+        final VertxOptions options = found != null ? new VertxOptions(found) : new VertxOptions();
+
+        if (configuration.getEventLoops() > 0) {
+            options.setEventLoopPoolSize(configuration.getEventLoops());
+        }
+        if (configuration.isPreferNativeTransport()) {
+            options.setPreferNativeTransport(true);
+        }
+
+        Vertx vertx = Vertx.vertx(options);
+
+        if (options.getPreferNativeTransport()) {
+            if (vertx.isNativeTransportEnabled()) {
+                LOGGER.info("Vert.x is using the native transport");
+            } else {
+                // Vert.x silently falls back to NIO when the native libraries
+                // (i.e. netty-transport-native-epoll) are not available
+                LOGGER.warn("Native transport requested but not available, falling back to NIO");
+            }
+        }
+
+        return vertx;
+    }
+
+    @Override
+    protected void initializeServer() {
+        //
+        // the set-up performed by the super class is replicated here as the main
+        // router it creates is not accessible and it would be left unused
+        //
+        Vertx vertx = getVertx();
+        if (vertx == null) {
+            vertx = lookupVertx();
+            if (vertx == null) {
+                LOGGER.info("Creating new Vert.x instance");
+
+                vertx = createVertxInstance();
+                localVertx = true;
+            } else {
+                LOGGER.info("Found Vert.x instance in registry: {}", vertx);
+            }
+
+            setVertx(vertx);
+        }
+
+        if (!localVertx && (configuration.getEventLoops() > 0 || configuration.isPreferNativeTransport())) {
+            LOGGER.warn("The eventLoops and preferNativeTransport options are ignored as the Vert.x instance has not been created by the platform-http service");
+        }
+
+        final Router subRouter = Router.router(vertx);
+        if (configuration.getCors().isEnabled()) {
+            subRouter.route().handler(PlatformHttpServerSupport.createCorsHandler(configuration));
+        }
+
+        this.router = Router.router(vertx);
+
+        if (configuration.isCompressionSupported()) {
+            final int minSize = configuration.getCompressionMinSize();
+            final List<String> contentTypes = ContentTypeSupport.split(configuration.getCompressionContentTypes());
+
+            if (minSize > 0 || !contentTypes.isEmpty()) {
+                this.router.route().handler(ctx -> {
+                    ctx.addHeadersEndHandler(v -> {
+                        if (!PlatformHttpServerSupport.isCompressible(ctx.response(), minSize, contentTypes)) {
+                            // an explicit identity encoding tells Vert.x to not compress the response
+                            ctx.response().putHeader(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+                        }
+                    });
+                    ctx.next();
+                });
+            }
+        }
+
+        this.router.mountSubRouter(configuration.getPath(), subRouter);
+
+        getCamelContext().getRegistry().bind(
+            VertxPlatformHttpRouter.PLATFORM_HTTP_ROUTER_NAME,
+            new VertxPlatformHttpRouter(vertx, subRouter) {
+                @Override
+                public Handler<RoutingContext> bodyHandler() {
+                    return PlatformHttpServerSupport.createBodyHandler(configuration);
+                }
+            });
+    }
+
+    @Override
+    protected void startServer() {
+        final HttpServerOptions options = PlatformHttpServerSupport.configureSSL(
+            configuration.createHttpServerOptions(),
+            configuration,
+            getCamelContext());
+
+        final int instances = Math.max(1, configuration.getInstances());
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        getVertx().deployVerticle(
+            () -> new ServerVerticle(options),
+            new DeploymentOptions().setInstances(instances),
+            deployment -> {
+                if (deployment.succeeded()) {
+                    result.complete(deployment.result());
+                } else {
+                    result.completeExceptionally(deployment.cause());
+                }
+            });
+
+        this.deploymentId = await(result, "deploy the http server");
+
+        LOGGER.info("Vert.x HttpServer started on {}:{} ({} instance(s))", configuration.getBindHost(), configuration.getBindPort(), instances);
+    }
+
+    @Override
+    protected void stopServer() {
+        if (deploymentId == null) {
+            return;
+        }
+
+        getCamelContext().removeComponent(PlatformHttpConstants.PLATFORM_HTTP_COMPONENT_NAME);
+
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        getVertx().undeploy(deploymentId, undeployment -> {
+            if (undeployment.succeeded()) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(undeployment.cause());
+            }
+        });
+
+        try {
+            await(result, "undeploy the http server");
+        } finally {
+            deploymentId = null;
+        }
+    }
+
+    @Override
+    protected void stopVertx() {
+        final Vertx vertx = getVertx();
+        if (vertx == null || !localVertx) {
+            return;
+        }
+
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        vertx.close(close -> {
+            if (close.succeeded()) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(close.cause());
+            }
+        });
+
+        try {
+            await(result, "close Vert.x");
+        } finally {
+            setVertx(null);
+            localVertx = false;
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future, String action) {
+        try {
+            return future.get(configuration.getDeploymentTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeCamelException("Interrupted while waiting to " + action, e);
+        } catch (ExecutionException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeCamelException("Timeout waiting to " + action + " after " + configuration.getDeploymentTimeout() + "ms", e);
+        }
+    }
+
+    private final class ServerVerticle extends AbstractVerticle {
+        private final HttpServerOptions options;
+
+        ServerVerticle(HttpServerOptions options) {
+            this.options = options;
+        }
+
+        @Override
+        public void start(Promise<Void> startPromise) {
+            vertx.createHttpServer(options)
+                .requestHandler(router)
+                .listen(configuration.getBindPort(), configuration.getBindHost(), result -> {
+                    if (result.succeeded()) {
+                        startPromise.complete();
+                    } else {
+                        startPromise.fail(result.cause());
+                    }
+                });
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.http;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.TrustManagerFactory;
+
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.net.KeyCertOptions;
+import io.vertx.core.net.TrustOptions;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import org.apache.camel.CamelContext;
+import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpServerConfiguration;
+import org.apache.camel.support.jsse.KeyManagersParameters;
+import org.apache.camel.support.jsse.SSLContextParameters;
+import org.apache.camel.support.jsse.TrustManagersParameters;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Helpers for {@link PlatformHttpServer}, the SSL, body and CORS handling
+ * mirror the ones performed by camel-platform-http-vertx, which are not
+ * accessible outside of its own package.
+ */
+final class PlatformHttpServerSupport {
+    private static final Pattern COMMA_SEPARATED_SPLIT_REGEX = Pattern.compile("\\s*,\\s*");
+
+    private PlatformHttpServerSupport() {
+    }
+
+    static Handler<RoutingContext> createBodyHandler(PlatformHttpServiceContextCustomizer configuration) {
+        final BodyHandler bodyHandler = BodyHandler.create();
+
+        if (configuration.getMaxBodySize() != null) {
+            bodyHandler.setBodyLimit(configuration.getMaxBodySize().longValueExact());
+        }
+
+        bodyHandler.setHandleFileUploads(configuration.getBodyHandler().isHandleFileUploads());
+        bodyHandler.setUploadsDirectory(configuration.getBodyHandler().getUploadsDirectory());
+        bodyHandler.setDeleteUploadedFilesOnEnd(configuration.getBodyHandler().isDeleteUploadedFilesOnEnd());
+        bodyHandler.setMergeFormAttributes(configuration.getBodyHandler().isMergeFormAttributes());
+        bodyHandler.setPreallocateBodyBuffer(configuration.getBodyHandler().isPreallocateBodyBuffer());
+
+        return context -> {
+            context.request().resume();
+            bodyHandler.handle(context);
+        };
+    }
+
+    static Handler<RoutingContext> createCorsHandler(PlatformHttpServiceContextCustomizer configuration) {
+        final VertxPlatformHttpServerConfiguration.Cors corsConfig = configuration.getCors();
+
+        return context -> {
+            final HttpServerRequest request = context.request();
+            final HttpServerResponse response = context.response();
+            final String origin = request.getHeader(HttpHeaders.ORIGIN);
+
+            if (origin == null) {
+                context.next();
+                return;
+            }
+
+            final String requestedMethods = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+            if (requestedMethods != null) {
+                processHeaders(response, HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, requestedMethods, corsConfig.getMethods());
+            }
+
+            final String requestedHeaders = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+            if (requestedHeaders != null) {
+                processHeaders(response, HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, requestedHeaders, corsConfig.getHeaders());
+            }
+
+            final boolean allowsOrigin = ObjectHelper.isEmpty(corsConfig.getOrigins()) || corsConfig.getOrigins().contains(origin);
+            if (allowsOrigin) {
+                response.headers().set(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+            }
+
+            response.headers().set(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+
+            if (ObjectHelper.isNotEmpty(corsConfig.getExposedHeaders())) {
+                response.headers().set(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, String.join(",", corsConfig.getExposedHeaders()));
+            }
+
+            if (request.method().equals(HttpMethod.OPTIONS)) {
+                if ((requestedMethods != null || requestedHeaders != null) && corsConfig.getAccessControlMaxAge() != null) {
+                    response.putHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE, String.valueOf(corsConfig.getAccessControlMaxAge().getSeconds()));
+                }
+                response.end();
+            } else {
+                context.next();
+            }
+        };
+    }
+
+    private static void processHeaders(HttpServerResponse response, CharSequence header, String allowValue, Collection<String> allowed) {
+        if (ObjectHelper.isEmpty(allowed)) {
+            response.headers().set(header, allowValue);
+        } else {
+            final Set<String> requested = new HashSet<>();
+            for (String value : COMMA_SEPARATED_SPLIT_REGEX.split(allowValue)) {
+                requested.add(value.toLowerCase());
+            }
+
+            final String result = allowed.stream()
+                .filter(value -> requested.contains(value.toLowerCase()))
+                .collect(Collectors.joining(","));
+
+            if (ObjectHelper.isNotEmpty(result)) {
+                response.headers().set(header, result);
+            }
+        }
+    }
+
+    static HttpServerOptions configureSSL(HttpServerOptions options, PlatformHttpServiceContextCustomizer configuration, CamelContext camelContext) {
+        final SSLContextParameters sslParameters = configuration.getSslContextParameters() != null
+            ? configuration.getSslContextParameters()
+            : configuration.isUseGlobalSslContextParameters() ? camelContext.getSSLContextParameters() : null;
+
+        if (sslParameters != null) {
+            options.setSsl(true);
+            options.setKeyCertOptions(new KeyCertOptions() {
+                @Override
+                public KeyManagerFactory getKeyManagerFactory(Vertx vertx) throws Exception {
+                    return createKeyManagerFactory(camelContext, sslParameters);
+                }
+
+                @Override
+                public KeyCertOptions copy() {
+                    // the options are stateless so they can be shared
+                    return this;
+                }
+
+                @Deprecated
+                @Override
+                public KeyCertOptions clone() {
+                    return copy();
+                }
+            });
+            options.setTrustOptions(new TrustOptions() {
+                @Override
+                public TrustManagerFactory getTrustManagerFactory(Vertx vertx) throws Exception {
+                    return createTrustManagerFactory(camelContext, sslParameters);
+                }
+
+                @Override
+                public TrustOptions copy() {
+                    // the options are stateless so they can be shared
+                    return this;
+                }
+
+                @Deprecated
+                @Override
+                public TrustOptions clone() {
+                    return copy();
+                }
+            });
+        }
+
+        return options;
+    }
+
+    private static KeyManagerFactory createKeyManagerFactory(
+            CamelContext camelContext,
+            SSLContextParameters sslContextParameters)
+            throws GeneralSecurityException, IOException {
+
+        final KeyManagersParameters keyManagers = sslContextParameters.getKeyManagers();
+        if (keyManagers == null) {
+            return null;
+        }
+
+        String kmfAlgorithm = camelContext.resolvePropertyPlaceholders(keyManagers.getAlgorithm());
+        if (kmfAlgorithm == null) {
+            kmfAlgorithm = KeyManagerFactory.getDefaultAlgorithm();
+        }
+
+        KeyManagerFactory kmf;
+        if (keyManagers.getProvider() == null) {
+            kmf = KeyManagerFactory.getInstance(kmfAlgorithm);
+        } else {
+            kmf = KeyManagerFactory.getInstance(kmfAlgorithm, camelContext.resolvePropertyPlaceholders(keyManagers.getProvider()));
+        }
+
+        char[] kmfPassword = null;
+        if (keyManagers.getKeyPassword() != null) {
+            kmfPassword = camelContext.resolvePropertyPlaceholders(keyManagers.getKeyPassword()).toCharArray();
+        }
+
+        kmf.init(keyManagers.getKeyStore() == null ? null : keyManagers.getKeyStore().createKeyStore(), kmfPassword);
+
+        return kmf;
+    }
+
+    private static TrustManagerFactory createTrustManagerFactory(
+            CamelContext camelContext,
+            SSLContextParameters sslContextParameters)
+            throws GeneralSecurityException, IOException {
+
+        final TrustManagersParameters trustManagers = sslContextParameters.getTrustManagers();
+        if (trustManagers == null) {
+            return null;
+        }
+
+        TrustManagerFactory tmf = null;
+
+        if (trustManagers.getKeyStore() != null) {
+            String tmfAlgorithm = camelContext.resolvePropertyPlaceholders(trustManagers.getAlgorithm());
+            if (tmfAlgorithm == null) {
+                tmfAlgorithm = TrustManagerFactory.getDefaultAlgorithm();
+            }
+
+            if (trustManagers.getProvider() == null) {
+                tmf = TrustManagerFactory.getInstance(tmfAlgorithm);
+            } else {
+                tmf = TrustManagerFactory.getInstance(tmfAlgorithm, camelContext.resolvePropertyPlaceholders(trustManagers.getProvider()));
+            }
+
+            tmf.init(trustManagers.getKeyStore() == null ? null : trustManagers.getKeyStore().createKeyStore());
+        }
+
+        return tmf;
+    }
+
+    /**
+     * Determine if a response is eligible for compression, it is meant to be
+     * invoked right before the headers are written. The content types may end
+     * with a wildcard, i.e. text/*.
+     */
+    static boolean isCompressible(HttpServerResponse response, int minSize, List<String> contentTypes) {
+        final MultiMap headers = response.headers();
+
+        if (minSize > 0) {
+            final String length = headers.get(HttpHeaders.CONTENT_LENGTH);
+
+            // chunked responses have no length but, when the headers are
+            // written, the bytes written include the whole body for responses
+            // ended in one go or the first chunk for streamed ones
+            final long size = length != null ? Long.parseLong(length) : response.bytesWritten();
+
+            if (size < minSize) {
+                return false;
+            }
+        }
+
+        if (!contentTypes.isEmpty()) {
+            return ContentTypeSupport.matches(headers.get(HttpHeaders.CONTENT_TYPE), contentTypes);
+        }
+
+        return true;
+    }
+}
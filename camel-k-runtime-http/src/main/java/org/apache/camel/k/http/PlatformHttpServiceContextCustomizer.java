@@ -16,12 +16,12 @@
  */
 package org.apache.camel.k.http;
 
+import io.vertx.core.http.HttpServerOptions;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Ordered;
 import org.apache.camel.component.platform.http.PlatformHttpComponent;
 import org.apache.camel.component.platform.http.PlatformHttpConstants;
 import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpEngine;
-import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpServer;
 import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpServerConfiguration;
 import org.apache.camel.k.ContextCustomizer;
 import org.apache.camel.k.annotation.Customizer;
@@ -29,9 +29,173 @@ import org.apache.camel.k.annotation.Customizer;
 
 @Customizer("platform-http")
 public class PlatformHttpServiceContextCustomizer extends VertxPlatformHttpServerConfiguration implements ContextCustomizer {
+    public static final long DEFAULT_DEPLOYMENT_TIMEOUT = 30_000L;
+
+    private int eventLoops;
+    private boolean preferNativeTransport;
+    private int instances = 1;
+    private boolean reusePort = HttpServerOptions.DEFAULT_REUSE_PORT;
+    private boolean tcpNoDelay = HttpServerOptions.DEFAULT_TCP_NO_DELAY;
+    private boolean tcpFastOpen = HttpServerOptions.DEFAULT_TCP_FAST_OPEN;
+    private int acceptBacklog = HttpServerOptions.DEFAULT_ACCEPT_BACKLOG;
+    private boolean compressionSupported = HttpServerOptions.DEFAULT_COMPRESSION_SUPPORTED;
+    private int compressionLevel = HttpServerOptions.DEFAULT_COMPRESSION_LEVEL;
+    private int compressionMinSize;
+    private String compressionContentTypes;
+    private boolean decompressionSupported = HttpServerOptions.DEFAULT_DECOMPRESSION_SUPPORTED;
+    private long deploymentTimeout = DEFAULT_DEPLOYMENT_TIMEOUT;
+
     public PlatformHttpServiceContextCustomizer() {
     }
 
+    public int getEventLoops() {
+        return eventLoops;
+    }
+
+    /**
+     * The number of event loops of the Vert.x instance created by the service, the Vert.x default is used if
+     * not positive. It is ignored when a Vert.x instance is bound to the registry.
+     */
+    public void setEventLoops(int eventLoops) {
+        this.eventLoops = eventLoops;
+    }
+
+    public boolean isPreferNativeTransport() {
+        return preferNativeTransport;
+    }
+
+    /**
+     * Whether the Vert.x instance created by the service should use the native transport (epoll) when
+     * available, falling back to NIO otherwise. It is ignored when a Vert.x instance is bound to the registry.
+     */
+    public void setPreferNativeTransport(boolean preferNativeTransport) {
+        this.preferNativeTransport = preferNativeTransport;
+    }
+
+    public int getInstances() {
+        return instances;
+    }
+
+    /**
+     * The number of http server instances sharing the bind port, each one bound to its own event loop.
+     */
+    public void setInstances(int instances) {
+        this.instances = instances;
+    }
+
+    public boolean isReusePort() {
+        return reusePort;
+    }
+
+    /**
+     * Whether SO_REUSEPORT should be enabled on the server socket.
+     */
+    public void setReusePort(boolean reusePort) {
+        this.reusePort = reusePort;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Whether TCP_NODELAY should be enabled on the accepted connections.
+     */
+    public void setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    public boolean isTcpFastOpen() {
+        return tcpFastOpen;
+    }
+
+    /**
+     * Whether TCP_FASTOPEN should be enabled on the server socket, requires the native transport.
+     */
+    public void setTcpFastOpen(boolean tcpFastOpen) {
+        this.tcpFastOpen = tcpFastOpen;
+    }
+
+    public int getAcceptBacklog() {
+        return acceptBacklog;
+    }
+
+    /**
+     * The size of the queue of pending connections, the operating system default is used if negative.
+     */
+    public void setAcceptBacklog(int acceptBacklog) {
+        this.acceptBacklog = acceptBacklog;
+    }
+
+    public boolean isCompressionSupported() {
+        return compressionSupported;
+    }
+
+    /**
+     * Whether the responses should be compressed when the client supports it.
+     */
+    public void setCompressionSupported(boolean compressionSupported) {
+        this.compressionSupported = compressionSupported;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * The gzip/deflate compression level, from 1 (fastest) to 9 (best compression).
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getCompressionMinSize() {
+        return compressionMinSize;
+    }
+
+    /**
+     * The minimum size in bytes of a response to be compressed, all the responses are compressed if not
+     * positive.
+     */
+    public void setCompressionMinSize(int compressionMinSize) {
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    public String getCompressionContentTypes() {
+        return compressionContentTypes;
+    }
+
+    /**
+     * A comma separated list of the content types to compress, i.e. text/*,application/json, all the
+     * content types are compressed if not set.
+     */
+    public void setCompressionContentTypes(String compressionContentTypes) {
+        this.compressionContentTypes = compressionContentTypes;
+    }
+
+    public boolean isDecompressionSupported() {
+        return decompressionSupported;
+    }
+
+    /**
+     * Whether compressed request bodies should be decompressed.
+     */
+    public void setDecompressionSupported(boolean decompressionSupported) {
+        this.decompressionSupported = decompressionSupported;
+    }
+
+    public long getDeploymentTimeout() {
+        return deploymentTimeout;
+    }
+
+    /**
+     * The time in milliseconds to wait for the http server to be deployed or undeployed and for the
+     * Vert.x instance created by the service to be closed.
+     */
+    public void setDeploymentTimeout(long deploymentTimeout) {
+        this.deploymentTimeout = deploymentTimeout;
+    }
+
     @Override
     public int getOrder() {
         return Ordered.HIGHEST;
@@ -40,16 +204,7 @@ public class PlatformHttpServiceContextCustomizer extends VertxPlatformHttpServe
     @Override
     public void apply(CamelContext camelContext) {
         try {
-            camelContext.addService(new VertxPlatformHttpServer(this) {
-                @Override
-                protected void doInit() throws Exception {
-                    initializeServer();
-                }
-                @Override
-                protected void doStart() throws Exception {
-                    startServer();
-                }
-            });
+            camelContext.addService(new PlatformHttpServer(this));
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -59,4 +214,15 @@ public class PlatformHttpServiceContextCustomizer extends VertxPlatformHttpServe
 
         camelContext.getRegistry().bind(PlatformHttpConstants.PLATFORM_HTTP_COMPONENT_NAME, component);
     }
+
+    HttpServerOptions createHttpServerOptions() {
+        return new HttpServerOptions()
+            .setReusePort(reusePort)
+            .setTcpNoDelay(tcpNoDelay)
+            .setTcpFastOpen(tcpFastOpen)
+            .setAcceptBacklog(acceptBacklog)
+            .setCompressionSupported(compressionSupported)
+            .setCompressionLevel(compressionLevel)
+            .setDecompressionSupported(decompressionSupported);
+    }
 }
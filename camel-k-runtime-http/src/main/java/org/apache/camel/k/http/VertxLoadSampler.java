@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.http;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.apache.camel.CamelContext;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * Periodically samples the lag of each event loop of a Vert.x instance and the
+ * time a task waits in the worker pool before being executed.
+ *
+ * A single sampler is shared by the health checks and the metrics of a context
+ * so the loops are probed once per interval, see {@link #lookup(CamelContext, Vertx, long)}.
+ */
+public final class VertxLoadSampler extends ServiceSupport {
+    public static final String REGISTRY_NAME = "camel-k-vertx-load-sampler";
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final Vertx vertx;
+    private final List<EventExecutor> loops;
+    private final AtomicReferenceArray<ScheduledFuture<?>> timers;
+    private final AtomicLongArray lags;
+    private final AtomicLong probeSubmitted;
+    private final List<Listener> listeners;
+
+    private volatile Context context;
+    private volatile long interval;
+    private volatile long workerQueueDelay;
+
+    public VertxLoadSampler(Vertx vertx, long interval) {
+        this.vertx = vertx;
+        this.interval = interval;
+        this.loops = new ArrayList<>();
+        this.probeSubmitted = new AtomicLong(NONE);
+        this.listeners = new CopyOnWriteArrayList<>();
+
+        // the actual loops of the instance, not the ones of the default options
+        for (EventExecutor loop : vertx.nettyEventLoopGroup()) {
+            this.loops.add(loop);
+        }
+
+        this.lags = new AtomicLongArray(this.loops.size());
+        this.timers = new AtomicReferenceArray<>(this.loops.size());
+    }
+
+    /**
+     * @return the number of event loops of the sampled instance.
+     */
+    public int getEventLoops() {
+        return loops.size();
+    }
+
+    /**
+     * @return the highest lag of the event loops as measured by the last sample.
+     */
+    public long getEventLoopLag(TimeUnit unit) {
+        long lag = 0;
+        for (int i = 0; i < lags.length(); i++) {
+            lag = Math.max(lag, lags.get(i));
+        }
+
+        return unit.convert(lag, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the worker pool queue delay as measured by the last probe or, if
+     *         longer, the time the pending probe has been waiting so far.
+     */
+    public long getWorkerQueueDelay(TimeUnit unit) {
+        long delay = workerQueueDelay;
+
+        final long submitted = probeSubmitted.get();
+        if (submitted != NONE) {
+            delay = Math.max(delay, System.nanoTime() - submitted);
+        }
+
+        return unit.convert(delay, TimeUnit.NANOSECONDS);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // the probes are submitted from the raw netty loops, which have no
+        // Vert.x context, so they all go through the one captured here
+        context = vertx.getOrCreateContext();
+
+        for (int i = 0; i < loops.size(); i++) {
+            schedule(i);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        for (int i = 0; i < timers.length(); i++) {
+            final ScheduledFuture<?> timer = timers.getAndSet(i, null);
+            if (timer != null) {
+                timer.cancel(false);
+            }
+        }
+    }
+
+    private void schedule(int index) {
+        final long scheduled = System.nanoTime();
+        final long delay = interval;
+
+        timers.set(index, loops.get(index).schedule(() -> {
+            final long now = System.nanoTime();
+
+            // the task runs late when the event loop is busy
+            final long lag = Math.max(0, now - scheduled - TimeUnit.MILLISECONDS.toNanos(delay));
+
+            lags.set(index, lag);
+
+            for (Listener listener : listeners) {
+                listener.onEventLoopLag(index, lag);
+            }
+
+            // the worker pool is shared by all the loops
+            if (index == 0) {
+                probe(now);
+            }
+
+            if (isRunAllowed()) {
+                schedule(index);
+            }
+        }, delay, TimeUnit.MILLISECONDS));
+    }
+
+    private void probe(long submitted) {
+        // don't pile up probes when the pool is saturated, the pending one is
+        // accounted for when the delay is read
+        if (!probeSubmitted.compareAndSet(NONE, submitted)) {
+            return;
+        }
+
+        context.executeBlocking(
+            promise -> {
+                final long delay = System.nanoTime() - submitted;
+
+                workerQueueDelay = delay;
+                probeSubmitted.set(NONE);
+
+                for (Listener listener : listeners) {
+                    listener.onWorkerQueueDelay(delay);
+                }
+
+                promise.complete();
+            },
+            false,
+            result -> {
+            });
+    }
+
+    /**
+     * Lookup the sampler bound to the given context, creating it if needed, the
+     * sampling interval is the smallest requested.
+     *
+     * @param context the camel context.
+     * @param vertx the Vert.x instance to sample.
+     * @param interval the sampling interval in milliseconds.
+     * @return the sampler.
+     */
+    public static synchronized VertxLoadSampler lookup(CamelContext context, Vertx vertx, long interval) {
+        VertxLoadSampler sampler = context.getRegistry().lookupByNameAndType(REGISTRY_NAME, VertxLoadSampler.class);
+        if (sampler == null) {
+            sampler = new VertxLoadSampler(vertx, interval);
+
+            context.getRegistry().bind(REGISTRY_NAME, sampler);
+
+            try {
+                context.addService(sampler);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        } else if (interval < sampler.interval) {
+            sampler.interval = interval;
+        }
+
+        return sampler;
+    }
+
+    /**
+     * Receives the samples, the durations are in nanoseconds.
+     */
+    public interface Listener {
+        /**
+         * Invoked on the sampled event loop.
+         */
+        default void onEventLoopLag(int loop, long lag) {
+        }
+
+        /**
+         * Invoked on a worker thread.
+         */
+        default void onWorkerQueueDelay(long delay) {
+        }
+    }
+}
@@ -18,11 +18,18 @@ package org.apache.camel.k.http;
 
 import java.net.ConnectException;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import io.netty.channel.epoll.Epoll;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.platform.http.PlatformHttpComponent;
 import org.apache.camel.component.platform.http.PlatformHttpConstants;
@@ -45,6 +52,8 @@ import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class PlatformHttpServiceCustomizerTest {
 
@@ -161,6 +170,211 @@ public class PlatformHttpServiceCustomizerTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void testPlatformHttpServiceTuning(boolean preferNativeTransport) throws Exception {
+        // the native transport is only shipped for linux-x86_64
+        assumeTrue(!preferNativeTransport || Epoll.isAvailable());
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                fromF("platform-http:/tuning")
+                    .setBody().constant("tuning");
+            }
+        });
+
+        PlatformHttpServiceContextCustomizer httpService = new PlatformHttpServiceContextCustomizer();
+        httpService.setBindPort(AvailablePortFinder.getNextAvailable());
+        httpService.setEventLoops(2);
+        httpService.setPreferNativeTransport(preferNativeTransport);
+        httpService.setInstances(2);
+        httpService.setReusePort(true);
+        httpService.setTcpNoDelay(true);
+        httpService.setAcceptBacklog(128);
+        httpService.setCompressionSupported(true);
+        httpService.apply(runtime.getCamelContext());
+
+        try {
+            runtime.getCamelContext().start();
+
+            assertThat(VertxPlatformHttpRouter.lookup(runtime.getCamelContext()).vertx().isNativeTransportEnabled())
+                .isEqualTo(preferNativeTransport);
+
+            for (int i = 0; i < 4; i++) {
+                given()
+                    .port(httpService.getBindPort())
+                    .header("Accept-Encoding", "gzip")
+                .when()
+                    .get("/tuning")
+                .then()
+                    .statusCode(200)
+                    .header("Content-Encoding", "gzip")
+                    .body(equalTo("tuning"));
+            }
+        } finally {
+            runtime.getCamelContext().stop();
+        }
+
+        assertThatExceptionOfType(ConnectException.class).isThrownBy(
+            () -> {
+                given()
+                    .port(httpService.getBindPort())
+                .when()
+                    .get("/tuning")
+                .then()
+                    .extract();
+            }
+        );
+    }
+
+    @Test
+    public void testPlatformHttpServiceDoesNotAlterRegistryVertxOptions() throws Exception {
+        VertxOptions options = new VertxOptions().setEventLoopPoolSize(3);
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.getRegistry().bind("vertxOptions", options);
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                fromF("platform-http:/options")
+                    .setBody().constant("options");
+            }
+        });
+
+        PlatformHttpServiceContextCustomizer httpService = new PlatformHttpServiceContextCustomizer();
+        httpService.setBindPort(AvailablePortFinder.getNextAvailable());
+        httpService.setEventLoops(1);
+        httpService.apply(runtime.getCamelContext());
+
+        try {
+            runtime.getCamelContext().start();
+
+            given()
+                .port(httpService.getBindPort())
+            .when()
+                .get("/options")
+            .then()
+                .statusCode(200)
+                .body(equalTo("options"));
+        } finally {
+            runtime.getCamelContext().stop();
+        }
+
+        assertThat(options.getEventLoopPoolSize()).isEqualTo(3);
+    }
+
+    @Test
+    public void testPlatformHttpServiceWithRegistryVertx() throws Exception {
+        Vertx vertx = Vertx.vertx();
+
+        try {
+            Runtime runtime = Runtime.on(new DefaultCamelContext());
+            runtime.getRegistry().bind("vertx", vertx);
+            runtime.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    fromF("platform-http:/vertx")
+                        .setBody().constant("vertx");
+                }
+            });
+
+            PlatformHttpServiceContextCustomizer httpService = new PlatformHttpServiceContextCustomizer();
+            httpService.setBindPort(AvailablePortFinder.getNextAvailable());
+            httpService.setEventLoops(1);
+            httpService.apply(runtime.getCamelContext());
+
+            try {
+                runtime.getCamelContext().start();
+
+                assertThat(VertxPlatformHttpRouter.lookup(runtime.getCamelContext()).vertx()).isSameAs(vertx);
+
+                given()
+                    .port(httpService.getBindPort())
+                .when()
+                    .get("/vertx")
+                .then()
+                    .statusCode(200)
+                    .body(equalTo("vertx"));
+            } finally {
+                runtime.getCamelContext().stop();
+            }
+
+            // the instance is owned by the application so it must not be closed by the service
+            CompletableFuture<String> deployment = new CompletableFuture<>();
+            vertx.deployVerticle(new AbstractVerticle() { }, result -> deployment.complete(result.result()));
+
+            assertThat(deployment.get(5, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            vertx.close();
+        }
+    }
+
+    @Test
+    public void testPlatformHttpServiceCompressionThresholds() throws Exception {
+        final String small = "{}";
+        final String large = "{\"data\": \"" + "x".repeat(1024) + "\"}";
+
+        Runtime runtime = Runtime.on(new DefaultCamelContext());
+        runtime.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                fromF("platform-http:/json/small")
+                    .setHeader(Exchange.CONTENT_TYPE).constant("application/json")
+                    .setBody().constant(small);
+                fromF("platform-http:/json/large")
+                    .setHeader(Exchange.CONTENT_TYPE).constant("application/json; charset=UTF-8")
+                    .setBody().constant(large);
+                fromF("platform-http:/text/large")
+                    .setHeader(Exchange.CONTENT_TYPE).constant("text/plain")
+                    .setBody().constant(large);
+            }
+        });
+
+        PlatformHttpServiceContextCustomizer httpService = new PlatformHttpServiceContextCustomizer();
+        httpService.setBindPort(AvailablePortFinder.getNextAvailable());
+        httpService.setCompressionSupported(true);
+        httpService.setCompressionMinSize(256);
+        httpService.setCompressionContentTypes("application/json, application/cloudevents+json");
+        httpService.setDecompressionSupported(true);
+        httpService.apply(runtime.getCamelContext());
+
+        try {
+            runtime.getCamelContext().start();
+
+            given()
+                .port(httpService.getBindPort())
+                .header("Accept-Encoding", "gzip")
+            .when()
+                .get("/json/small")
+            .then()
+                .statusCode(200)
+                .header("Content-Encoding", not(equalTo("gzip")))
+                .body(equalTo(small));
+            given()
+                .port(httpService.getBindPort())
+                .header("Accept-Encoding", "gzip")
+            .when()
+                .get("/json/large")
+            .then()
+                .statusCode(200)
+                .header("Content-Encoding", equalTo("gzip"))
+                .body(equalTo(large));
+            given()
+                .port(httpService.getBindPort())
+                .header("Accept-Encoding", "gzip")
+            .when()
+                .get("/text/large")
+            .then()
+                .statusCode(200)
+                .header("Content-Encoding", not(equalTo("gzip")))
+                .body(equalTo(large));
+        } finally {
+            runtime.getCamelContext().stop();
+        }
+    }
+
     @Test
     public void testPlatformHttpServiceNotAvailableBeforeCamelContextStarts() throws Exception {
         Runtime runtime = Runtime.on(new DefaultCamelContext());
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.http;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VertxLoadSamplerTest {
+    @Test
+    public void testWorkerQueueDelayIsProbedOnOneContext() throws Exception {
+        Vertx vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(2));
+        VertxLoadSampler sampler = new VertxLoadSampler(vertx, 10);
+        Set<Context> contexts = ConcurrentHashMap.newKeySet();
+        CountDownLatch probes = new CountDownLatch(5);
+
+        sampler.addListener(new VertxLoadSampler.Listener() {
+            @Override
+            public void onWorkerQueueDelay(long delay) {
+                contexts.add(Vertx.currentContext());
+                probes.countDown();
+            }
+        });
+
+        try {
+            sampler.start();
+
+            assertThat(probes.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(contexts).hasSize(1).doesNotContainNull();
+            assertThat(sampler.getEventLoops()).isEqualTo(2);
+        } finally {
+            sampler.stop();
+            vertx.close();
+        }
+    }
+}
@@ -41,6 +41,12 @@ public class KnativeSinkBindingContextCustomizer implements ContextCustomizer {
 
     private String apiVersion;
 
+    private boolean sharedProducer = true;
+
+    private boolean warmUp = true;
+
+    private int poolSize;
+
     @Override
     public void apply(CamelContext camelContext) {
         createSyntheticDefinition(camelContext, name).ifPresent(serviceDefinition -> {
@@ -62,6 +68,17 @@ public class KnativeSinkBindingContextCustomizer implements ContextCustomizer {
                     .withMeta(Knative.CAMEL_ENDPOINT_KIND, Knative.EndpointKind.sink)
                     .withMeta(Knative.SERVICE_META_URL, kSinkUrl);
 
+            if (sharedProducer) {
+                // all the routes targeting the sink share the same client and connection pool
+                serviceBuilder = serviceBuilder
+                    .withMeta(Knative.SERVICE_META_HTTP_CLIENT_SHARED, "true")
+                    .withMeta(Knative.SERVICE_META_HTTP_CLIENT_WARM_UP, Boolean.toString(warmUp));
+
+                if (poolSize > 0) {
+                    serviceBuilder = serviceBuilder.withMeta(Knative.SERVICE_META_HTTP_CLIENT_POOL_SIZE, Integer.toString(poolSize));
+                }
+            }
+
             if (ObjectHelper.isNotEmpty(kind)) {
                 serviceBuilder = serviceBuilder.withMeta(Knative.KNATIVE_KIND, kind);
             }
@@ -130,4 +147,38 @@ public class KnativeSinkBindingContextCustomizer implements ContextCustomizer {
         this.apiVersion = apiVersion;
     }
 
+    public boolean isSharedProducer() {
+        return sharedProducer;
+    }
+
+    /**
+     * Whether all the routes targeting the sink should share the same http client and connection pool, default true.
+     */
+    public void setSharedProducer(boolean sharedProducer) {
+        this.sharedProducer = sharedProducer;
+    }
+
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * Whether the shared http client should eagerly open a connection to the sink when created by sending
+     * a HEAD request, default true.
+     */
+    public void setWarmUp(boolean warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * The max number of connections the shared http client keeps open to the sink, the client default
+     * applies if not positive.
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
 }
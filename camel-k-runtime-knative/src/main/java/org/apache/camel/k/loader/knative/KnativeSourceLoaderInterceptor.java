@@ -16,8 +16,13 @@
  */
 package org.apache.camel.k.loader.knative;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.RoutesBuilder;
@@ -25,8 +30,12 @@ import org.apache.camel.k.Source;
 import org.apache.camel.k.SourceLoader;
 import org.apache.camel.k.annotation.LoaderInterceptor;
 import org.apache.camel.k.support.RuntimeSupport;
+import org.apache.camel.model.ProcessDefinition;
+import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.ToDefinition;
+import org.apache.camel.processor.SendProcessor;
+import org.apache.camel.util.StringHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,18 +56,72 @@ public class KnativeSourceLoaderInterceptor implements SourceLoader.Interceptor
                     final CamelContext camelContext = builder.getContext();
                     final List<RouteDefinition> definitions = builder.getRouteCollection().getRoutes();
 
-                    if (definitions.size() == 1) {
-                        final String sinkName = camelContext.resolvePropertyPlaceholders("{{knative.sink:sink}}");
-                        final String sinkUri = String.format("knative://endpoint/%s", sinkName);
-                        final RouteDefinition definition = definitions.get(0);
+                    if (definitions.isEmpty()) {
+                        LOGGER.warn("Cannot determine route to enrich. the knative enpoint need to explicitly be defined");
+                        return;
+                    }
 
-                        LOGGER.info("Add sink:{} to route:{}", sinkUri, definition.getId());
+                    final String sinkName = camelContext.resolvePropertyPlaceholders("{{knative.sink:sink}}");
+                    final String sinkUri = String.format("knative://endpoint/%s", sinkName);
+                    final boolean sharedProducer = Boolean.parseBoolean(camelContext.resolvePropertyPlaceholders("{{knative.sink.shared-producer:false}}"));
+                    final Supplier<ProcessorDefinition<?>> sink;
+
+                    if (sharedProducer) {
+                        // all the terminal paths send to the sink through the same producer
+                        final SharedSinkProcessor shared = new SharedSinkProcessor(new SendProcessor(camelContext.getEndpoint(sinkUri)));
 
-                        // assuming that route is linear like there's no content based routing
-                        // or ant other EIP that would branch the flow
-                        definition.getOutputs().add(new ToDefinition(sinkUri));
+                        sink = () -> new ProcessDefinition(shared);
                     } else {
+                        sink = () -> new ToDefinition(sinkUri);
+                    }
+
+                    //
+                    // Routes consuming from direct endpoints that other routes of the same source
+                    // send to are synchronous sub routes of a bigger flow so the sink is added only
+                    // to the calling routes, after their last step.
+                    //
+                    // Routes consuming from seda/vm endpoints that other routes of the same source
+                    // send to continue the flow asynchronously so they get the sink whereas the
+                    // routes handing the exchange off to them as last step do not, otherwise the
+                    // sink would receive the exchange before the hand-off has been processed.
+                    //
+                    final Set<String> inputs = new HashSet<>();
+                    for (RouteDefinition definition: definitions) {
+                        linkKey(camelContext, definition.getInput().getEndpointUri()).ifPresent(inputs::add);
+                    }
+
+                    final Set<String> targets = new HashSet<>();
+                    for (RouteDefinition definition: definitions) {
+                        collectTargets(camelContext, definition.getOutputs(), targets);
+                    }
+
+                    final List<RouteDefinition> entries = new ArrayList<>(definitions.size());
+                    for (RouteDefinition definition: definitions) {
+                        final Optional<String> input = linkKey(camelContext, definition.getInput().getEndpointUri());
+                        if (input.filter(KnativeSourceLoaderInterceptor::isSynchronous).filter(targets::contains).isPresent()) {
+                            continue;
+                        }
+
+                        final List<ProcessorDefinition<?>> outputs = definition.getOutputs();
+                        if (!outputs.isEmpty() && outputs.get(outputs.size() - 1) instanceof ToDefinition) {
+                            final Optional<String> handOff = linkKey(camelContext, ((ToDefinition)outputs.get(outputs.size() - 1)).getEndpointUri());
+                            if (handOff.filter(key -> !isSynchronous(key)).filter(inputs::contains).isPresent()) {
+                                continue;
+                            }
+                        }
+
+                        entries.add(definition);
+                    }
+
+                    if (entries.isEmpty()) {
                         LOGGER.warn("Cannot determine route to enrich. the knative enpoint need to explicitly be defined");
+                        return;
+                    }
+
+                    for (RouteDefinition definition: entries) {
+                        LOGGER.info("Add sink:{} to route:{}", sinkUri, definition.getId());
+
+                        definition.getOutputs().add(sink.get());
                     }
                 });
             }
@@ -70,4 +133,54 @@ public class KnativeSourceLoaderInterceptor implements SourceLoader.Interceptor
         };
     }
 
+    /**
+     * Collect the internal endpoints (direct, seda, vm) the given outputs send to.
+     */
+    private static void collectTargets(CamelContext camelContext, List<ProcessorDefinition<?>> outputs, Set<String> targets) {
+        for (ProcessorDefinition<?> output: outputs) {
+            if (output instanceof ToDefinition) {
+                linkKey(camelContext, ((ToDefinition)output).getEndpointUri()).ifPresent(targets::add);
+            }
+
+            collectTargets(camelContext, output.getOutputs(), targets);
+        }
+    }
+
+    /**
+     * Compute a key identifying the internal endpoint (direct, seda, vm) targeted by the given uri.
+     */
+    private static Optional<String> linkKey(CamelContext camelContext, String uri) {
+        if (uri == null) {
+            return Optional.empty();
+        }
+
+        final String resolved = camelContext.resolvePropertyPlaceholders(uri);
+        final String scheme = StringHelper.before(resolved, ":");
+
+        if (scheme == null) {
+            return Optional.empty();
+        }
+
+        switch (scheme.toLowerCase(Locale.US)) {
+        case "direct":
+        case "seda":
+        case "vm":
+            String name = StringHelper.after(resolved, ":");
+            if (name.startsWith("//")) {
+                name = name.substring(2);
+            }
+
+            if (name.indexOf('?') != -1) {
+                name = StringHelper.before(name, "?");
+            }
+
+            return Optional.of(scheme.toLowerCase(Locale.US) + ":" + name);
+        default:
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isSynchronous(String linkKey) {
+        return linkKey.startsWith("direct:");
+    }
 }
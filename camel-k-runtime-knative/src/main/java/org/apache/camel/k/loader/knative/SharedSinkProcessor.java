@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.loader.knative;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Service;
+import org.apache.camel.support.service.ServiceHelper;
+
+/**
+ * Processor used to share a single sink producer among the routes of a source, the delegate is
+ * started by the first route that starts and stopped when the last route using it stops.
+ */
+final class SharedSinkProcessor implements AsyncProcessor, Service {
+    private final AsyncProcessor delegate;
+    private int references;
+
+    SharedSinkProcessor(AsyncProcessor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        delegate.process(exchange);
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        return delegate.process(exchange, callback);
+    }
+
+    @Override
+    public CompletableFuture<Exchange> processAsync(Exchange exchange) {
+        return delegate.processAsync(exchange);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (references++ == 0) {
+            ServiceHelper.startService(delegate);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (references > 0 && --references == 0) {
+            ServiceHelper.stopService(delegate);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SharedSink[" + delegate + "]";
+    }
+}
@@ -77,6 +77,9 @@ public class KnativeSinkBindingCustomizerTest {
             assertThat(svc.getType()).isEqualTo(Knative.Type.channel);
             assertThat(svc.getMetadata(Knative.KNATIVE_API_VERSION)).isEqualTo("messaging.knative.dev/v1beta1");
             assertThat(svc.getMetadata(Knative.KNATIVE_KIND)).isEqualTo("InMemoryChannel");
+            assertThat(svc.getMetadata(Knative.SERVICE_META_HTTP_CLIENT_SHARED)).isEqualTo("true");
+            assertThat(svc.getMetadata(Knative.SERVICE_META_HTTP_CLIENT_WARM_UP)).isEqualTo("true");
+            assertThat(svc.getMetadata(Knative.SERVICE_META_HTTP_CLIENT_POOL_SIZE)).isNull();
         });
     }
 
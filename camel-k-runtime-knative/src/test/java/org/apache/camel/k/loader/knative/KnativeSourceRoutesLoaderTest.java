@@ -48,6 +48,7 @@ import org.apache.camel.model.RouteDefinition;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -126,6 +127,128 @@ public class KnativeSourceRoutesLoaderTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void testWrapLoaderWithMultipleRoutes(boolean sharedProducer) throws Exception {
+        final String data = UUID.randomUUID().toString();
+        final TestRuntime runtime = new TestRuntime();
+
+        KnativeComponent component = new KnativeComponent();
+        component.setEnvironment(KnativeEnvironment.on(
+            KnativeEnvironment.endpoint(Knative.EndpointKind.sink, "sink", "localhost", runtime.port)
+        ));
+
+        Properties properties = new Properties();
+        properties.setProperty("knative.sink.shared-producer", Boolean.toString(sharedProducer));
+
+        CamelContext context = runtime.getCamelContext();
+        context.getPropertiesComponent().setInitialProperties(properties);
+        context.addComponent(KnativeConstants.SCHEME, component);
+
+        Source source = Sources.fromURI("classpath:sources/routes-multi.java?name=MyMultiRoutes.java&interceptors=knative-source");
+        RoutesConfigurer.load(runtime, source);
+
+        assertThat(runtime.builders).hasSize(1);
+
+        try {
+            context.addRoutes(runtime.builders.get(0));
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    fromF("platform-http:/")
+                        .routeId("http")
+                        .to("mock:result");
+                }
+            });
+            context.start();
+
+            List<RouteDefinition> definitions = context.adapt(ModelCamelContext.class).getRouteDefinitions();
+
+            // the sink is added only to the entry route, after the choice
+            assertThat(definitions).hasSize(3);
+            assertThat(definitions.get(0).getOutputs()).hasSize(2);
+            assertThat(definitions.get(1).getOutputs()).hasSize(2);
+
+            if (!sharedProducer) {
+                assertThat(definitions.get(0).getOutputs()).last().hasFieldOrPropertyWithValue(
+                    "endpointUri",
+                    "knative://endpoint/sink"
+                );
+            }
+
+            MockEndpoint mock = context.getEndpoint("mock:result", MockEndpoint.class);
+            mock.expectedMessageCount(2);
+            mock.expectedBodiesReceivedInAnyOrder(data, "from-a");
+
+            context.createFluentProducerTemplate()
+                .to("direct:start")
+                .withHeader("MyHeader", data)
+                .send();
+            context.createFluentProducerTemplate()
+                .to("direct:start")
+                .withHeader("MyHeader", "a")
+                .send();
+
+            mock.assertIsSatisfied();
+        } finally {
+            context.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "routes-subroute.java?name=MySubRoutes.java", "routes-entries.java?name=MyEntryRoutes.java", "routes-handoff.java?name=MyHandOffRoutes.java" })
+    public void testWrapLoaderWithSubRoutes(String name) throws Exception {
+        final TestRuntime runtime = new TestRuntime();
+
+        KnativeComponent component = new KnativeComponent();
+        component.setEnvironment(KnativeEnvironment.on(
+            KnativeEnvironment.endpoint(Knative.EndpointKind.sink, "sink", "localhost", runtime.port)
+        ));
+
+        CamelContext context = runtime.getCamelContext();
+        context.addComponent(KnativeConstants.SCHEME, component);
+
+        Source source = Sources.fromURI("classpath:sources/" + name + "&interceptors=knative-source");
+        RoutesConfigurer.load(runtime, source);
+
+        assertThat(runtime.builders).hasSize(1);
+
+        try {
+            context.addRoutes(runtime.builders.get(0));
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    fromF("platform-http:/")
+                        .routeId("http")
+                        .to("mock:result");
+                }
+            });
+            context.start();
+
+            MockEndpoint mock = context.getEndpoint("mock:result", MockEndpoint.class);
+
+            if (name.startsWith("routes-subroute.java")) {
+                mock.expectedBodiesReceived("enriched");
+            } else if (name.startsWith("routes-handoff.java")) {
+                // the sink is added to the seda route only, after the hand-off has been processed
+                mock.expectedBodiesReceived("from-start-handed-off");
+                mock.setAssertPeriod(500);
+            } else {
+                mock.expectedBodiesReceivedInAnyOrder("from-start", "from-other");
+            }
+
+            context.createFluentProducerTemplate().to("direct:start").withBody("test").send();
+
+            if (name.startsWith("routes-entries.java")) {
+                context.createFluentProducerTemplate().to("direct:other").withBody("test").send();
+            }
+
+            mock.assertIsSatisfied();
+        } finally {
+            context.stop();
+        }
+    }
+
     static class TestRuntime implements Runtime {
         private final CamelContext camelContext;
         private final List<RoutesBuilder> builders;
@@ -35,6 +35,7 @@ public interface CloudEvent {
     String CAMEL_CLOUD_EVENT_TIME = "CamelCloudEventTime";
     String CAMEL_CLOUD_EVENT_EXTENSIONS = "CamelCloudEventExtensions";
     String CAMEL_CLOUD_EVENT_CONTENT_TYPE = Exchange.CONTENT_TYPE;
+    String CAMEL_CLOUD_EVENT_ATTRIBUTES = "CamelCloudEventAttributes";
 
     /**
      * The CloudEvent spec version.
@@ -55,14 +56,29 @@ public interface CloudEvent {
             .findFirst();
     }
 
+    /**
+     * Find attribute by the name of the http header (case insensitive).
+     */
+    default Optional<Attribute> attributeFromHttp(String http) {
+        return attributes().stream()
+            .filter(a -> a.http().equalsIgnoreCase(http))
+            .findFirst();
+    }
+
+    /**
+     * Find attribute by the name of the json field.
+     */
+    default Optional<Attribute> attributeFromJson(String json) {
+        return attributes().stream()
+            .filter(a -> Objects.equals(json, a.json()))
+            .findFirst();
+    }
+
     /**
      * Mandatory find attribute by id.
      */
     default Attribute mandatoryAttribute(String id) {
-        return attributes().stream()
-            .filter(a -> Objects.equals(id, a.id()))
-            .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Unable to find attribute with id: " + id));
+        return attribute(id).orElseThrow(() -> new IllegalArgumentException("Unable to find attribute with id: " + id));
     }
 
     interface Attribute {
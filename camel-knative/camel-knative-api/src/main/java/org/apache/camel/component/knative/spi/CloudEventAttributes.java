@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.spi;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A compact, typed, representation of the attributes of a CloudEvent that can be stored as
+ * an exchange property (see {@link CloudEvent#CAMEL_CLOUD_EVENT_ATTRIBUTES}) in place of
+ * individual message headers.
+ */
+public final class CloudEventAttributes {
+    private static final ConcurrentMap<CloudEvent, Layout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private final CloudEvent cloudEvent;
+    private final Layout layout;
+    private final Object[] values;
+
+    public CloudEventAttributes(CloudEvent cloudEvent) {
+        this.cloudEvent = cloudEvent;
+        this.layout = LAYOUTS.computeIfAbsent(cloudEvent, Layout::new);
+        this.values = new Object[layout.attributes.size()];
+    }
+
+    /**
+     * The CloudEvent spec the attributes belong to.
+     */
+    public CloudEvent cloudEvent() {
+        return cloudEvent;
+    }
+
+    /**
+     * Get the value of the attribute with the given id.
+     */
+    public Object get(String id) {
+        Integer index = layout.indexes.get(id);
+        return index != null ? values[index] : null;
+    }
+
+    /**
+     * Set the value of the attribute with the given id.
+     */
+    public CloudEventAttributes set(String id, Object value) {
+        Integer index = layout.indexes.get(id);
+        if (index == null) {
+            throw new IllegalArgumentException("Unable to find attribute with id: " + id);
+        }
+
+        values[index] = value;
+
+        return this;
+    }
+
+    public Object getId() {
+        return get(CloudEvent.CAMEL_CLOUD_EVENT_ID);
+    }
+
+    public Object getType() {
+        return get(CloudEvent.CAMEL_CLOUD_EVENT_TYPE);
+    }
+
+    public Object getSource() {
+        return get(CloudEvent.CAMEL_CLOUD_EVENT_SOURCE);
+    }
+
+    public Object getTime() {
+        return get(CloudEvent.CAMEL_CLOUD_EVENT_TIME);
+    }
+
+    /**
+     * Invoke the given consumer for each attribute that has a value.
+     */
+    public void forEach(BiConsumer<CloudEvent.Attribute, Object> consumer) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(layout.attributes.get(i), values[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        Map<String, Object> answer = new HashMap<>();
+        forEach((attribute, value) -> answer.put(attribute.id(), value));
+
+        return "CloudEventAttributes{"
+            + "version=" + cloudEvent.version()
+            + ", attributes=" + answer
+            + '}';
+    }
+
+    private static final class Layout {
+        private final List<CloudEvent.Attribute> attributes;
+        private final Map<String, Integer> indexes;
+
+        Layout(CloudEvent cloudEvent) {
+            this.attributes = new ArrayList<>(cloudEvent.attributes());
+            this.indexes = new HashMap<>();
+
+            for (int i = 0; i < attributes.size(); i++) {
+                this.indexes.put(attributes.get(i).id(), i);
+            }
+        }
+    }
+}
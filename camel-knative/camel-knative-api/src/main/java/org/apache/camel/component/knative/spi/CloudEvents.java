@@ -18,7 +18,12 @@ package org.apache.camel.component.knative.spi;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 public enum CloudEvents implements CloudEvent {
     //
@@ -103,6 +108,21 @@ public enum CloudEvents implements CloudEvent {
         return instance.attributes();
     }
 
+    @Override
+    public Optional<Attribute> attribute(String id) {
+        return instance.attribute(id);
+    }
+
+    @Override
+    public Optional<Attribute> attributeFromHttp(String http) {
+        return instance.attributeFromHttp(http);
+    }
+
+    @Override
+    public Optional<Attribute> attributeFromJson(String json) {
+        return instance.attributeFromJson(json);
+    }
+
     public static CloudEvent fromSpecVersion(String version) {
         for (CloudEvent event: CloudEvents.values()) {
             if (Objects.equals(event.version(), version)) {
@@ -117,9 +137,26 @@ public enum CloudEvents implements CloudEvent {
         private final String version;
         private final Collection<Attribute> attributes;
 
+        //
+        // lookup tables computed once as attributes are resolved for every
+        // event on both the consumer and producer side
+        //
+        private final Map<String, Attribute> attributesById;
+        private final Map<String, Attribute> attributesByHttp;
+        private final Map<String, Attribute> attributesByJson;
+
         public CloudEventImpl(String version, Collection<Attribute> attributes) {
             this.version = version;
-            this.attributes = attributes;
+            this.attributes = Collections.unmodifiableCollection(attributes);
+            this.attributesById = new HashMap<>();
+            this.attributesByHttp = new HashMap<>();
+            this.attributesByJson = new HashMap<>();
+
+            for (Attribute attribute : attributes) {
+                this.attributesById.put(attribute.id(), attribute);
+                this.attributesByHttp.put(attribute.http().toLowerCase(Locale.US), attribute);
+                this.attributesByJson.put(attribute.json(), attribute);
+            }
         }
 
         @Override
@@ -131,6 +168,22 @@ public enum CloudEvents implements CloudEvent {
         public Collection<Attribute> attributes() {
             return attributes;
         }
+
+        @Override
+        public Optional<Attribute> attribute(String id) {
+            return Optional.ofNullable(attributesById.get(id));
+        }
+
+        @Override
+        public Optional<Attribute> attributeFromHttp(String http) {
+            return http != null
+                ? Optional.ofNullable(attributesByHttp.get(http.toLowerCase(Locale.US)))
+                : Optional.empty();
+        }
+
+        @Override
+        public Optional<Attribute> attributeFromJson(String json) {
+            return Optional.ofNullable(attributesByJson.get(json));
+        }
     }
 }
-
@@ -34,11 +34,21 @@ public final class Knative {
     public static final String MIME_STRUCTURED_CONTENT_MODE = "application/cloudevents+json";
     public static final String MIME_BATCH_CONTENT_MODE = "application/cloudevents-batch+json";
     public static final String CAMEL_ENDPOINT_KIND = "camel.endpoint.kind";
+    public static final String KNATIVE_WORKER_QUEUE_TIME = "CamelKnativeWorkerQueueTime";
 
     public static final String SERVICE_META_HOST = "service.host";
     public static final String SERVICE_META_ZONE = "service.zone";
     public static final String SERVICE_META_PATH = "service.path";
     public static final String SERVICE_META_URL = "service.url";
+    public static final String SERVICE_META_HTTP_CLIENT_SHARED = "http.client.shared";
+    public static final String SERVICE_META_HTTP_CLIENT_WARM_UP = "http.client.warm-up";
+    public static final String SERVICE_META_HTTP_CLIENT_POOL_SIZE = "http.client.pool.size";
+    public static final String SERVICE_META_HTTP_CLIENT_COMPRESSION = "http.client.compression";
+    public static final String SERVICE_META_HTTP_CLIENT_COMPRESSION_MIN_SIZE = "http.client.compression.min-size";
+    public static final String SERVICE_META_HTTP_CLIENT_COMPRESSION_CONTENT_TYPES = "http.client.compression.content-types";
+    public static final String SERVICE_META_KAFKA_TOPIC = "kafka.topic";
+    public static final String SERVICE_META_KAFKA_BOOTSTRAP_SERVERS = "kafka.bootstrap.servers";
+    public static final String SERVICE_META_KAFKA_GROUP_ID = "kafka.group.id";
 
     private Knative() {
     }
@@ -56,5 +66,6 @@ public final class Knative {
 
     public enum Protocol {
         http,
+        kafka,
     }
 }
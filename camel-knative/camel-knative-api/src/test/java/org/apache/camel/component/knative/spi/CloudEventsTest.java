@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.spi;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CloudEventsTest {
+
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    public void testAttributesLookup(CloudEvent ce) {
+        for (CloudEvent.Attribute attribute : ce.attributes()) {
+            assertThat(ce.attribute(attribute.id())).containsSame(attribute);
+            assertThat(ce.mandatoryAttribute(attribute.id())).isSameAs(attribute);
+            assertThat(ce.attributeFromHttp(attribute.http())).containsSame(attribute);
+            assertThat(ce.attributeFromHttp(attribute.http().toUpperCase())).containsSame(attribute);
+            assertThat(ce.attributeFromJson(attribute.json())).containsSame(attribute);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    public void testUnknownAttributesLookup(CloudEvent ce) {
+        assertThat(ce.attribute("unknown")).isEmpty();
+        assertThat(ce.attributeFromHttp("unknown")).isEmpty();
+        assertThat(ce.attributeFromHttp(null)).isEmpty();
+        assertThat(ce.attributeFromJson("unknown")).isEmpty();
+
+        assertThatThrownBy(() -> ce.mandatoryAttribute("unknown"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("unknown");
+    }
+}
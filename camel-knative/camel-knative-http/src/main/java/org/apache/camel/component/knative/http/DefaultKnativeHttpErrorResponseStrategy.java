@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.http;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+
+/**
+ * The default {@link KnativeHttpErrorResponseStrategy} which generates a compact plain text body made of
+ * the status, a short message and the id of the exchange that can be used to correlate the response with
+ * the logs. The full stack trace of the exception is included only when debug is enabled.
+ */
+public class DefaultKnativeHttpErrorResponseStrategy implements KnativeHttpErrorResponseStrategy {
+    public static final int DEFAULT_MAX_MESSAGE_LENGTH = 256;
+
+    private final boolean debug;
+    private final int maxMessageLength;
+
+    public DefaultKnativeHttpErrorResponseStrategy() {
+        this(false, DEFAULT_MAX_MESSAGE_LENGTH);
+    }
+
+    public DefaultKnativeHttpErrorResponseStrategy(boolean debug) {
+        this(debug, DEFAULT_MAX_MESSAGE_LENGTH);
+    }
+
+    public DefaultKnativeHttpErrorResponseStrategy(boolean debug, int maxMessageLength) {
+        this.debug = debug;
+        this.maxMessageLength = maxMessageLength;
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public int getMaxMessageLength() {
+        return maxMessageLength;
+    }
+
+    @Override
+    public Object computeErrorBody(Message message, int statusCode, Exception exception) {
+        // force content type to be text/plain
+        message.setHeader(Exchange.CONTENT_TYPE, "text/plain");
+
+        if (debug) {
+            StringWriter sw = new StringWriter();
+            PrintWriter pw = new PrintWriter(sw);
+            exception.printStackTrace(pw);
+
+            return sw.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        String reason = exception.getMessage();
+        if (reason == null) {
+            reason = exception.getClass().getName();
+        } else if (reason.length() > maxMessageLength) {
+            reason = reason.substring(0, maxMessageLength) + "...";
+        }
+
+        StringBuilder sb = new StringBuilder(64 + reason.length());
+        sb.append(statusCode).append(' ').append(HttpResponseStatus.valueOf(statusCode).reasonPhrase());
+        sb.append(": ").append(reason);
+        sb.append(" (exchange: ").append(message.getExchange().getExchangeId()).append(')');
+
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
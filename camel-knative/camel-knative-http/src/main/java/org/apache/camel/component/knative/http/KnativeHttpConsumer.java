@@ -16,11 +16,10 @@
  */
 package org.apache.camel.component.knative.http;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Predicate;
 
 import io.vertx.core.buffer.Buffer;
@@ -35,18 +34,24 @@ import org.apache.camel.Message;
 import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.Processor;
 import org.apache.camel.TypeConverter;
+import org.apache.camel.component.knative.spi.Knative;
 import org.apache.camel.component.knative.spi.KnativeEnvironment;
 import org.apache.camel.component.knative.spi.KnativeTransportConfiguration;
 import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpRouter;
 import org.apache.camel.spi.HeaderFilterStrategy;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.support.DefaultConsumer;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.MessageHelper;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class KnativeHttpConsumer extends DefaultConsumer {
+    public static final int DEFAULT_ACK_EARLY_QUEUE_SIZE = 1000;
+    public static final int DEFAULT_ACK_EARLY_POOL_SIZE = 10;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(KnativeHttpConsumer.class);
 
     private final KnativeTransportConfiguration configuration;
@@ -58,6 +63,14 @@ public class KnativeHttpConsumer extends DefaultConsumer {
     private String basePath;
     private Route route;
 
+    private boolean ackEarly;
+    private int ackEarlyQueueSize;
+    private int ackEarlyPoolSize;
+    private boolean ackEarlyDrainOnShutdown;
+    private ExecutorService ackEarlyExecutor;
+    private KnativeHttpErrorResponseStrategy errorResponseStrategy;
+    private boolean errorResponseDebug;
+
     public KnativeHttpConsumer(
         KnativeTransportConfiguration configuration,
         Endpoint endpoint,
@@ -72,6 +85,10 @@ public class KnativeHttpConsumer extends DefaultConsumer {
         this.router = router;
         this.headerFilterStrategy = new KnativeHttpHeaderFilterStrategy();
         this.filter = KnativeHttpSupport.createFilter(serviceDefinition);
+        this.ackEarly = false;
+        this.ackEarlyQueueSize = DEFAULT_ACK_EARLY_QUEUE_SIZE;
+        this.ackEarlyPoolSize = DEFAULT_ACK_EARLY_POOL_SIZE;
+        this.ackEarlyDrainOnShutdown = true;
     }
 
     public String getBasePath() {
@@ -82,6 +99,76 @@ public class KnativeHttpConsumer extends DefaultConsumer {
         this.basePath = basePath;
     }
 
+    public KnativeHttpErrorResponseStrategy getErrorResponseStrategy() {
+        return errorResponseStrategy;
+    }
+
+    /**
+     * The strategy used to compute the body of the response when the processing of an exchange fails.
+     */
+    public void setErrorResponseStrategy(KnativeHttpErrorResponseStrategy errorResponseStrategy) {
+        this.errorResponseStrategy = errorResponseStrategy;
+    }
+
+    public boolean isErrorResponseDebug() {
+        return errorResponseDebug;
+    }
+
+    /**
+     * If the default error response strategy should include the full stack trace of the exception.
+     */
+    public void setErrorResponseDebug(boolean errorResponseDebug) {
+        this.errorResponseDebug = errorResponseDebug;
+    }
+
+    public boolean isAckEarly() {
+        return ackEarly;
+    }
+
+    /**
+     * When the consumer is not expected to reply, acknowledge the request with a 202 as soon as the
+     * exchange is accepted into a bounded local queue instead of waiting for the route to complete.
+     *
+     * Requests that cannot be queued are rejected with a 503 so the sender can re-deliver them.
+     */
+    public void setAckEarly(boolean ackEarly) {
+        this.ackEarly = ackEarly;
+    }
+
+    public int getAckEarlyQueueSize() {
+        return ackEarlyQueueSize;
+    }
+
+    /**
+     * The max number of accepted exchanges waiting to be processed.
+     */
+    public void setAckEarlyQueueSize(int ackEarlyQueueSize) {
+        this.ackEarlyQueueSize = ackEarlyQueueSize;
+    }
+
+    public int getAckEarlyPoolSize() {
+        return ackEarlyPoolSize;
+    }
+
+    /**
+     * The number of threads processing accepted exchanges.
+     */
+    public void setAckEarlyPoolSize(int ackEarlyPoolSize) {
+        this.ackEarlyPoolSize = ackEarlyPoolSize;
+    }
+
+    public boolean isAckEarlyDrainOnShutdown() {
+        return ackEarlyDrainOnShutdown;
+    }
+
+    /**
+     * If the accepted exchanges should be processed before the consumer stops (default) or discarded,
+     * trading durability of already acknowledged events for a faster shutdown.
+     */
+    public void setAckEarlyDrainOnShutdown(boolean ackEarlyDrainOnShutdown) {
+        this.ackEarlyDrainOnShutdown = ackEarlyDrainOnShutdown;
+    }
+
     @Override
     protected void doStart() throws Exception {
         if (!ObjectHelper.isEmpty(serviceDefinition.getHost())) {
@@ -91,6 +178,27 @@ public class KnativeHttpConsumer extends DefaultConsumer {
             LOGGER.warn("Unsupported property `port` on definition={}", serviceDefinition.getName());
         }
 
+        if (errorResponseStrategy == null) {
+            errorResponseStrategy = new DefaultKnativeHttpErrorResponseStrategy(errorResponseDebug);
+        }
+
+        if (ackEarly && configuration.isReply()) {
+            LOGGER.warn("Option ackEarly is ignored on definition={} as the consumer is expected to reply", serviceDefinition.getName());
+        }
+
+        if (ackEarly && !configuration.isReply() && ackEarlyExecutor == null) {
+            ThreadPoolProfile profile = new ThreadPoolProfile("KnativeHttpConsumerAckEarly");
+            profile.setPoolSize(ackEarlyPoolSize);
+            profile.setMaxPoolSize(ackEarlyPoolSize);
+            profile.setMaxQueueSize(ackEarlyQueueSize);
+            profile.setRejectedPolicy(ThreadPoolRejectedPolicy.Abort);
+
+            ackEarlyExecutor = getEndpoint().getCamelContext().getExecutorServiceManager().newThreadPool(
+                this,
+                "KnativeHttpConsumerAckEarly",
+                profile);
+        }
+
         if (route == null) {
             String path = ObjectHelper.supplyIfEmpty(serviceDefinition.getPath(), () -> KnativeHttpTransport.DEFAULT_PATH);
             if (ObjectHelper.isNotEmpty(basePath)) {
@@ -129,6 +237,16 @@ public class KnativeHttpConsumer extends DefaultConsumer {
             route.remove();
         }
 
+        if (ackEarlyExecutor != null) {
+            if (ackEarlyDrainOnShutdown) {
+                getEndpoint().getCamelContext().getExecutorServiceManager().shutdownGraceful(ackEarlyExecutor);
+            } else {
+                getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(ackEarlyExecutor);
+            }
+
+            ackEarlyExecutor = null;
+        }
+
         super.doStop();
     }
 
@@ -158,6 +276,11 @@ public class KnativeHttpConsumer extends DefaultConsumer {
             message.setBody(null);
         }
 
+        if (ackEarlyExecutor != null) {
+            handleRequestAckEarly(request, exchange);
+            return;
+        }
+
         try {
             createUoW(exchange);
 
@@ -171,8 +294,14 @@ public class KnativeHttpConsumer extends DefaultConsumer {
             // from("knative:event/my.event")
             //        .to("http://{{env:PROJECT}}.{{env:NAMESPACE}}.svc.cluster.local/service");
             //
+            final long queued = System.nanoTime();
+
             router.vertx().executeBlocking(
                 promise -> {
+                    // record how long the exchange waited for a worker thread (in nanoseconds)
+                    // so a saturated worker pool can be told apart from a slow route
+                    exchange.setProperty(Knative.KNATIVE_WORKER_QUEUE_TIME, System.nanoTime() - queued);
+
                     try {
                         // no need to use an async processor as the processing happen in
                         // a dedicated thread ans it won't block the Vert.x event loop
@@ -190,7 +319,7 @@ public class KnativeHttpConsumer extends DefaultConsumer {
                             Buffer body = null;
 
                             if (request.response().getStatusCode() != 204 && configuration.isReply()) {
-                                body = computeResponseBody(exchange.getMessage());
+                                body = computeResponseBody(exchange.getMessage(), response.getStatusCode());
 
                                 // set the content type in the response.
                                 String contentType = MessageHelper.getContentType(exchange.getMessage());
@@ -230,6 +359,37 @@ public class KnativeHttpConsumer extends DefaultConsumer {
         }
     }
 
+    private void handleRequestAckEarly(HttpServerRequest request, Exchange exchange) {
+        try {
+            final long queued = System.nanoTime();
+
+            ackEarlyExecutor.execute(() -> {
+                exchange.setProperty(Knative.KNATIVE_WORKER_QUEUE_TIME, System.nanoTime() - queued);
+
+                try {
+                    createUoW(exchange);
+                    getProcessor().process(exchange);
+                } catch (Exception e) {
+                    exchange.setException(e);
+                } finally {
+                    if (exchange.getException() != null) {
+                        getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+                    }
+
+                    doneUoW(exchange);
+                }
+            });
+
+            request.response().setStatusCode(202);
+            request.response().end();
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Unable to accept request on {}, queue is full", getEndpoint().getEndpointUri());
+
+            request.response().setStatusCode(503);
+            request.response().end();
+        }
+    }
+
     private Message toMessage(HttpServerRequest request, Exchange exchange) {
         Message message = exchange.getMessage();
         String path = request.path();
@@ -297,20 +457,13 @@ public class KnativeHttpConsumer extends DefaultConsumer {
         return response;
     }
 
-    private Buffer computeResponseBody(Message message) throws NoTypeConversionAvailableException {
+    private Buffer computeResponseBody(Message message, int statusCode) throws NoTypeConversionAvailableException {
         Object body = message.getBody();
         Exception exception = message.getExchange().getException();
 
         if (exception != null) {
-            // we failed due an exception so print it as plain text
-            StringWriter sw = new StringWriter();
-            PrintWriter pw = new PrintWriter(sw);
-            exception.printStackTrace(pw);
-
-            // the body should then be the stacktrace
-            body = sw.toString().getBytes(StandardCharsets.UTF_8);
-            // force content type to be text/plain as that is what the stacktrace is
-            message.setHeader(Exchange.CONTENT_TYPE, "text/plain");
+            // the body should then describe the error
+            body = errorResponseStrategy.computeErrorBody(message, statusCode, exception);
 
             // and mark the exception as failure handled, as we handled it by returning
             // it as the response
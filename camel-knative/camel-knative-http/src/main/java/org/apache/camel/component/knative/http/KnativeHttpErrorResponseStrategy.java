@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.http;
+
+import org.apache.camel.Message;
+
+/**
+ * Strategy to compute the body of the response sent back by the {@link KnativeHttpConsumer} when the
+ * processing of an exchange fails.
+ */
+@FunctionalInterface
+public interface KnativeHttpErrorResponseStrategy {
+    /**
+     * Compute the body of the error response, implementations may set the content type of the response
+     * through the {@link org.apache.camel.Exchange#CONTENT_TYPE} header of the given message.
+     *
+     * @param  message    the message the response is computed from
+     * @param  statusCode the status code of the response
+     * @param  exception  the exception that caused the failure
+     * @return            the body of the response or null for an empty body
+     */
+    Object computeErrorBody(Message message, int statusCode, Exception exception);
+}
@@ -16,8 +16,13 @@
  */
 package org.apache.camel.component.knative.http;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
@@ -32,7 +37,9 @@ import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
+import org.apache.camel.component.knative.spi.Knative;
 import org.apache.camel.component.knative.spi.KnativeEnvironment;
+import org.apache.camel.k.http.ContentTypeSupport;
 import org.apache.camel.spi.HeaderFilterStrategy;
 import org.apache.camel.support.DefaultAsyncProducer;
 import org.apache.camel.support.MessageHelper;
@@ -43,6 +50,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class KnativeHttpProducer extends DefaultAsyncProducer {
+    public static final int DEFAULT_COMPRESSION_MIN_SIZE = 1024;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(KnativeHttpProducer.class);
 
     private final KnativeEnvironment.KnativeServiceDefinition serviceDefinition;
@@ -50,6 +59,10 @@ public class KnativeHttpProducer extends DefaultAsyncProducer {
     private final WebClientOptions clientOptions;
     private final HeaderFilterStrategy headerFilterStrategy;
     private final Supplier<String> uri;
+    private final KnativeHttpSharedClients sharedClients;
+    private final boolean compression;
+    private final int compressionMinSize;
+    private final List<String> compressionContentTypes;
 
     private WebClient client;
 
@@ -58,13 +71,39 @@ public class KnativeHttpProducer extends DefaultAsyncProducer {
             KnativeEnvironment.KnativeServiceDefinition serviceDefinition,
             Vertx vertx,
             WebClientOptions clientOptions) {
+        this(endpoint, serviceDefinition, vertx, clientOptions, null);
+    }
+
+    public KnativeHttpProducer(
+            Endpoint endpoint,
+            KnativeEnvironment.KnativeServiceDefinition serviceDefinition,
+            Vertx vertx,
+            WebClientOptions clientOptions,
+            KnativeHttpSharedClients sharedClients) {
         super(endpoint);
 
         this.serviceDefinition = serviceDefinition;
         this.vertx = ObjectHelper.notNull(vertx, "vertx");
-        this.clientOptions = ObjectHelper.supplyIfEmpty(clientOptions, WebClientOptions::new);
         this.headerFilterStrategy = new KnativeHttpHeaderFilterStrategy();
         this.uri = Suppliers.memorize(() -> computeUrl(serviceDefinition));
+        this.sharedClients = sharedClients;
+
+        this.compression = Boolean.parseBoolean(
+            serviceDefinition.getMetadata(Knative.SERVICE_META_HTTP_CLIENT_COMPRESSION));
+        this.compressionMinSize = serviceDefinition.getOptionalMetadata(Knative.SERVICE_META_HTTP_CLIENT_COMPRESSION_MIN_SIZE)
+            .map(Integer::parseInt)
+            .orElse(DEFAULT_COMPRESSION_MIN_SIZE);
+        this.compressionContentTypes = serviceDefinition.getOptionalMetadata(Knative.SERVICE_META_HTTP_CLIENT_COMPRESSION_CONTENT_TYPES)
+            .map(ContentTypeSupport::split)
+            .orElseGet(Collections::emptyList);
+
+        if (this.compression) {
+            // advertise gzip/deflate support and transparently decompress the responses
+            this.clientOptions = new WebClientOptions(ObjectHelper.supplyIfEmpty(clientOptions, WebClientOptions::new))
+                .setTryUseCompression(true);
+        } else {
+            this.clientOptions = ObjectHelper.supplyIfEmpty(clientOptions, WebClientOptions::new);
+        }
     }
 
     @Override
@@ -76,7 +115,7 @@ public class KnativeHttpProducer extends DefaultAsyncProducer {
             return true;
         }
 
-        final byte[] payload;
+        byte[] payload;
 
         try {
             payload = exchange.getMessage().getMandatoryBody(byte[].class);
@@ -91,13 +130,27 @@ public class KnativeHttpProducer extends DefaultAsyncProducer {
 
         MultiMap headers = MultiMap.caseInsensitiveMultiMap();
         headers.add(HttpHeaders.HOST, serviceDefinition.getHost());
-        headers.add(HttpHeaders.CONTENT_LENGTH, Integer.toString(payload.length));
 
         String contentType = MessageHelper.getContentType(message);
         if (contentType != null) {
             headers.add(HttpHeaders.CONTENT_TYPE, contentType);
         }
 
+        if (isCompressible(payload, contentType)) {
+            try {
+                payload = gzip(payload);
+            } catch (IOException e) {
+                exchange.setException(e);
+                callback.done(true);
+
+                return true;
+            }
+
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        headers.add(HttpHeaders.CONTENT_LENGTH, Integer.toString(payload.length));
+
         for (Map.Entry<String, Object> entry : message.getHeaders().entrySet()) {
             if (!headerFilterStrategy.applyFilterToCamelHeaders(entry.getKey(), entry.getValue(), exchange)) {
                 headers.add(entry.getKey(), entry.getValue().toString());
@@ -160,10 +213,21 @@ public class KnativeHttpProducer extends DefaultAsyncProducer {
     }
 
     @Override
-    protected void doInit() throws Exception {
-        super.doInit();
-
-        this.client = WebClient.create(vertx, clientOptions);
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        if (this.client == null) {
+            if (this.sharedClients != null) {
+                this.client = this.sharedClients.acquire(
+                    this.uri.get(),
+                    this.vertx,
+                    this.clientOptions,
+                    Integer.parseInt(serviceDefinition.getMetadata().getOrDefault(Knative.SERVICE_META_HTTP_CLIENT_POOL_SIZE, "0")),
+                    Boolean.parseBoolean(serviceDefinition.getMetadata().get(Knative.SERVICE_META_HTTP_CLIENT_WARM_UP)));
+            } else {
+                this.client = WebClient.create(vertx, clientOptions);
+            }
+        }
     }
 
     @Override
@@ -171,12 +235,38 @@ public class KnativeHttpProducer extends DefaultAsyncProducer {
         super.doStop();
 
         if (this.client != null) {
-            LOGGER.debug("Shutting down client: {}", client);
-            this.client.close();
+            if (this.sharedClients != null) {
+                this.sharedClients.release(this.client);
+            } else {
+                LOGGER.debug("Shutting down client: {}", client);
+                this.client.close();
+            }
+
             this.client = null;
         }
     }
 
+    private boolean isCompressible(byte[] payload, String contentType) {
+        if (!compression || payload.length < compressionMinSize) {
+            return false;
+        }
+        if (compressionContentTypes.isEmpty()) {
+            return true;
+        }
+
+        return ContentTypeSupport.matches(contentType, compressionContentTypes);
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(payload.length / 2);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bos)) {
+            gzip.write(payload);
+        }
+
+        return bos.toByteArray();
+    }
+
     private static String computeUrl(KnativeEnvironment.KnativeServiceDefinition definition) {
         String url = definition.getUrl();
         if (url == null) {
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.http;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the {@link WebClient} shared by all the producers targeting the same service with the same
+ * options so they reuse the same connection pool, a client is closed when the last producer using it
+ * releases it.
+ */
+public class KnativeHttpSharedClients {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KnativeHttpSharedClients.class);
+
+    private final Map<String, Entry> clients;
+
+    public KnativeHttpSharedClients() {
+        this.clients = new HashMap<>();
+    }
+
+    /**
+     * Acquire the client for the given url and options, creating it if needed.
+     *
+     * @param  url      the url of the target service
+     * @param  vertx    the vertx instance
+     * @param  options  the options used to create the client
+     * @param  poolSize the max number of connections to keep in the pool, ignored if not positive
+     * @param  warmUp   if a new client should eagerly open a connection to the service
+     * @return          the shared client
+     */
+    public synchronized WebClient acquire(String url, Vertx vertx, WebClientOptions options, int poolSize, boolean warmUp) {
+        WebClientOptions clientOptions = new WebClientOptions(options);
+        if (poolSize > 0) {
+            clientOptions.setMaxPoolSize(poolSize);
+        }
+
+        // producers with different options, i.e. timeouts or compression, must not share a client
+        final String key = url + "|" + clientOptions.toJson().encode();
+
+        Entry entry = clients.get(key);
+
+        if (entry == null) {
+            entry = new Entry(key, WebClient.create(vertx, clientOptions));
+            clients.put(key, entry);
+
+            LOGGER.debug("Created shared client for: {}", url);
+
+            if (warmUp) {
+                // open a connection to the service so the first events don't pay the
+                // connection setup, the outcome of the request is not relevant
+                entry.client.headAbs(url).send(result -> {
+                    LOGGER.debug("Warm up of shared client for: {} succeeded: {}", url, result.succeeded());
+                });
+            }
+        }
+
+        entry.references++;
+
+        return entry.client;
+    }
+
+    /**
+     * Release the given client, closing it if no longer used.
+     */
+    public synchronized void release(WebClient client) {
+        for (Entry entry: clients.values()) {
+            if (entry.client == client) {
+                if (--entry.references == 0) {
+                    LOGGER.debug("Shutting down shared client for: {}", entry.key);
+
+                    clients.remove(entry.key);
+                    entry.client.close();
+                }
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * The number of clients in use.
+     */
+    public synchronized int size() {
+        return clients.size();
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final WebClient client;
+        private int references;
+
+        Entry(String key, WebClient client) {
+            this.key = key;
+            this.client = client;
+        }
+    }
+}
@@ -16,6 +16,14 @@
  */
 package org.apache.camel.component.knative.http;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.ext.web.Router;
 import io.vertx.ext.web.client.WebClientOptions;
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
@@ -23,21 +31,43 @@ import org.apache.camel.Consumer;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
+import org.apache.camel.component.knative.spi.Knative;
 import org.apache.camel.component.knative.spi.KnativeEnvironment;
 import org.apache.camel.component.knative.spi.KnativeTransport;
 import org.apache.camel.component.knative.spi.KnativeTransportConfiguration;
 import org.apache.camel.component.platform.http.vertx.VertxPlatformHttpRouter;
 import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class KnativeHttpTransport extends ServiceSupport implements CamelContextAware, KnativeTransport {
     public static final int DEFAULT_PORT = 8080;
     public static final String DEFAULT_PATH = "/";
+    public static final String DEFAULT_SERVER_HOST = "0.0.0.0";
+    public static final long DEFAULT_SERVER_START_TIMEOUT = 30_000L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KnativeHttpTransport.class);
+
+    private final KnativeHttpSharedClients sharedClients;
 
     private VertxPlatformHttpRouter router;
     private WebClientOptions vertxHttpClientOptions;
     private CamelContext camelContext;
 
+    private String serverHost;
+    private int serverPort;
+    private int serverEventLoops;
+    private boolean serverPreferNativeTransport;
+    private long serverStartTimeout;
+    private HttpServerOptions serverOptions;
+    private Vertx serverVertx;
+    private HttpServer server;
+
     public KnativeHttpTransport() {
+        this.sharedClients = new KnativeHttpSharedClients();
+        this.serverHost = DEFAULT_SERVER_HOST;
+        this.serverPort = -1;
+        this.serverStartTimeout = DEFAULT_SERVER_START_TIMEOUT;
     }
 
     public VertxPlatformHttpRouter getRouter() {
@@ -56,6 +86,76 @@ public class KnativeHttpTransport extends ServiceSupport implements CamelContext
         this.vertxHttpClientOptions = vertxHttpClientOptions;
     }
 
+    public String getServerHost() {
+        return serverHost;
+    }
+
+    /**
+     * The host the dedicated server binds to.
+     */
+    public void setServerHost(String serverHost) {
+        this.serverHost = serverHost;
+    }
+
+    public int getServerPort() {
+        return serverPort;
+    }
+
+    /**
+     * When set to a positive value, the consumers are served by a dedicated Vert.x HTTP server bound to
+     * the given port instead of the shared platform-http router, so events do not compete with the other
+     * endpoints (health, rest, etc) for the same event loops.
+     */
+    public void setServerPort(int serverPort) {
+        this.serverPort = serverPort;
+    }
+
+    public int getServerEventLoops() {
+        return serverEventLoops;
+    }
+
+    /**
+     * The number of event loops of the dedicated server, if not set the Vert.x default is used.
+     */
+    public void setServerEventLoops(int serverEventLoops) {
+        this.serverEventLoops = serverEventLoops;
+    }
+
+    public long getServerStartTimeout() {
+        return serverStartTimeout;
+    }
+
+    /**
+     * How long to wait, in milliseconds, for the dedicated server to bind to its port before failing, it
+     * also bounds the time to wait for the server to be closed on stop.
+     */
+    public void setServerStartTimeout(long serverStartTimeout) {
+        this.serverStartTimeout = serverStartTimeout;
+    }
+
+    public boolean isServerPreferNativeTransport() {
+        return serverPreferNativeTransport;
+    }
+
+    /**
+     * Whether the dedicated server should use the native transport (epoll) when available, falling back
+     * to NIO otherwise.
+     */
+    public void setServerPreferNativeTransport(boolean serverPreferNativeTransport) {
+        this.serverPreferNativeTransport = serverPreferNativeTransport;
+    }
+
+    public HttpServerOptions getServerOptions() {
+        return serverOptions;
+    }
+
+    /**
+     * The options of the dedicated server.
+     */
+    public void setServerOptions(HttpServerOptions serverOptions) {
+        this.serverOptions = serverOptions;
+    }
+
     @Override
     public void setCamelContext(CamelContext camelContext) {
         this.camelContext = camelContext;
@@ -75,12 +175,98 @@ public class KnativeHttpTransport extends ServiceSupport implements CamelContext
     @Override
     protected void doStart() throws Exception {
         if (this.router == null) {
-            this.router = VertxPlatformHttpRouter.lookup(camelContext);
+            if (this.serverPort > 0) {
+                this.router = startServer();
+            } else {
+                this.router = VertxPlatformHttpRouter.lookup(camelContext);
+            }
         }
     }
 
     @Override
     protected void doStop() throws Exception {
+        // the shared clients are closed by the producers releasing them, not here, as
+        // producers still using them may be stopped after the transport
+        if (this.sharedClients.size() > 0) {
+            LOGGER.debug("Stopping transport with {} shared clients in use", this.sharedClients.size());
+        }
+
+        if (this.serverVertx != null) {
+            stopServer();
+
+            this.router = null;
+        }
+    }
+
+    private VertxPlatformHttpRouter startServer() throws Exception {
+        VertxOptions vertxOptions = new VertxOptions();
+        if (this.serverEventLoops > 0) {
+            vertxOptions.setEventLoopPoolSize(this.serverEventLoops);
+        }
+        if (this.serverPreferNativeTransport) {
+            vertxOptions.setPreferNativeTransport(true);
+        }
+
+        this.serverVertx = Vertx.vertx(vertxOptions);
+
+        if (this.serverPreferNativeTransport && !this.serverVertx.isNativeTransportEnabled()) {
+            LOGGER.warn("Native transport requested but not available, falling back to NIO");
+        }
+
+        final Router serverRouter = Router.router(this.serverVertx);
+        final HttpServerOptions options = this.serverOptions != null ? new HttpServerOptions(this.serverOptions) : new HttpServerOptions();
+        final CompletableFuture<HttpServer> result = new CompletableFuture<>();
+
+        this.serverVertx.createHttpServer(options)
+            .requestHandler(serverRouter)
+            .listen(this.serverPort, this.serverHost, ar -> {
+                if (ar.succeeded()) {
+                    result.complete(ar.result());
+                } else {
+                    result.completeExceptionally(ar.cause());
+                }
+            });
+
+        try {
+            this.server = result.get(this.serverStartTimeout, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // don't leak the event loops of the dedicated instance if the server can't be started
+            final CompletableFuture<Void> closed = new CompletableFuture<>();
+
+            this.serverVertx.close(ar -> closed.complete(null));
+            closed.get(this.serverStartTimeout, TimeUnit.MILLISECONDS);
+
+            this.serverVertx = null;
+
+            throw e;
+        }
+
+        LOGGER.info("Knative HTTP server started on {}:{}", this.serverHost, this.serverPort);
+
+        return new VertxPlatformHttpRouter(this.serverVertx, serverRouter);
+    }
+
+    private void stopServer() throws Exception {
+        try {
+            if (this.server != null) {
+                final CompletableFuture<Void> result = new CompletableFuture<>();
+
+                this.server.close(ar -> result.complete(null));
+                result.get(this.serverStartTimeout, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            this.server = null;
+
+            // close the dedicated instance even if the server did not close in time
+            final CompletableFuture<Void> closed = new CompletableFuture<>();
+
+            this.serverVertx.close(ar -> closed.complete(null));
+            this.serverVertx = null;
+
+            closed.get(this.serverStartTimeout, TimeUnit.MILLISECONDS);
+        }
+
+        LOGGER.info("Knative HTTP server stopped");
     }
 
     // *****************************
@@ -91,7 +277,9 @@ public class KnativeHttpTransport extends ServiceSupport implements CamelContext
 
     @Override
     public Producer createProducer(Endpoint endpoint, KnativeTransportConfiguration config, KnativeEnvironment.KnativeServiceDefinition service) {
-        return new KnativeHttpProducer(endpoint, service, this.router.vertx(), vertxHttpClientOptions);
+        final boolean shared = Boolean.parseBoolean(service.getMetadata().get(Knative.SERVICE_META_HTTP_CLIENT_SHARED));
+
+        return new KnativeHttpProducer(endpoint, service, this.router.vertx(), vertxHttpClientOptions, shared ? sharedClients : null);
     }
 
     @Override
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.http;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KnativeHttpSharedClientsTest {
+    private Vertx vertx;
+
+    @BeforeEach
+    public void before() {
+        this.vertx = Vertx.vertx();
+    }
+
+    @AfterEach
+    public void after() {
+        this.vertx.close();
+    }
+
+    @Test
+    public void testClientIsClosedByTheLastRelease() {
+        KnativeHttpSharedClients clients = new KnativeHttpSharedClients();
+        WebClientOptions options = new WebClientOptions();
+
+        WebClient c1 = clients.acquire("http://localhost:1", vertx, options, 0, false);
+        WebClient c2 = clients.acquire("http://localhost:1", vertx, options, 0, false);
+        WebClient c3 = clients.acquire("http://localhost:1", vertx, options, 10, false);
+
+        assertThat(c1).isSameAs(c2);
+        assertThat(c1).isNotSameAs(c3);
+        assertThat(clients.size()).isEqualTo(2);
+
+        clients.release(c1);
+
+        // still referenced by the second producer
+        assertThat(clients.size()).isEqualTo(2);
+        c2.getAbs("http://localhost:1").send(result -> { });
+
+        clients.release(c2);
+        clients.release(c3);
+
+        assertThat(clients.size()).isZero();
+        assertThatThrownBy(() -> c2.getAbs("http://localhost:1").send(result -> { }))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
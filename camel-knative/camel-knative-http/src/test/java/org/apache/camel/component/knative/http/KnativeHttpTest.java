@@ -16,6 +16,9 @@
  */
 package org.apache.camel.component.knative.http;
 
+import java.io.ByteArrayInputStream;
+import java.net.BindException;
+import java.net.ServerSocket;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -26,6 +29,7 @@ import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import io.restassured.RestAssured;
 import io.restassured.mapper.ObjectMapperType;
@@ -33,10 +37,12 @@ import io.vertx.core.http.HttpServerRequest;
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelException;
 import org.apache.camel.Exchange;
+import org.apache.camel.Message;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.knative.KnativeComponent;
 import org.apache.camel.component.knative.spi.CloudEvent;
+import org.apache.camel.component.knative.spi.CloudEventAttributes;
 import org.apache.camel.component.knative.spi.CloudEvents;
 import org.apache.camel.component.knative.spi.Knative;
 import org.apache.camel.component.knative.spi.KnativeEnvironment;
@@ -65,8 +71,12 @@ import static org.apache.camel.component.knative.spi.KnativeEnvironment.sourceCh
 import static org.apache.camel.component.knative.spi.KnativeEnvironment.sourceEndpoint;
 import static org.apache.camel.component.knative.spi.KnativeEnvironment.sourceEvent;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 
 public class KnativeHttpTest {
 
@@ -199,6 +209,84 @@ public class KnativeHttpTest {
         doTestKnativeSource(ce, "/base", "/a/path");
     }
 
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    void testKnativeSourceWithDedicatedServer(CloudEvent ce) throws Exception {
+        final int port = AvailablePortFinder.getNextAvailable();
+
+        KnativeHttpTransport transport = new KnativeHttpTransport();
+        transport.setServerHost("localhost");
+        transport.setServerPort(port);
+        transport.setServerEventLoops(1);
+
+        KnativeComponent component = configureKnativeComponent(
+            context,
+            ce,
+            sourceEndpoint(
+                "myEndpoint",
+                Map.of(
+                    Knative.KNATIVE_EVENT_TYPE, "org.apache.camel.event",
+                    Knative.CONTENT_TYPE, "text/plain"
+                ))
+        );
+
+        component.setTransport(transport);
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("knative:endpoint/myEndpoint")
+                .to("mock:ce");
+        });
+
+        context.start();
+
+        MockEndpoint mock = context.getEndpoint("mock:ce", MockEndpoint.class);
+        mock.expectedBodiesReceived("test");
+        mock.expectedMessageCount(1);
+
+        given()
+            .port(port)
+            .body("test")
+            .header(Exchange.CONTENT_TYPE, "text/plain")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_VERSION), ce.version())
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_TYPE), "org.apache.camel.event")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_ID), "myEventID")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_SOURCE), "/somewhere")
+        .when()
+            .post()
+        .then()
+            .statusCode(200);
+
+        // the consumer must not be exposed by the platform-http server
+        given()
+            .body("test")
+            .header(Exchange.CONTENT_TYPE, "text/plain")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_VERSION), ce.version())
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_TYPE), "org.apache.camel.event")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_ID), "myEventID")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_SOURCE), "/somewhere")
+        .when()
+            .post()
+        .then()
+            .statusCode(404);
+
+        mock.assertIsSatisfied();
+    }
+
+    @Test
+    void testKnativeDedicatedServerFailsToBind() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            KnativeHttpTransport transport = new KnativeHttpTransport();
+            transport.setCamelContext(context);
+            transport.setServerHost("localhost");
+            transport.setServerPort(socket.getLocalPort());
+            transport.setServerEventLoops(1);
+            transport.setServerStartTimeout(5_000L);
+
+            assertThatThrownBy(transport::start).hasRootCauseInstanceOf(BindException.class);
+            assertThat(transport.getRouter()).isNull();
+        }
+    }
+
     @ParameterizedTest
     @EnumSource(CloudEvents.class)
     void testInvokeEndpoint(CloudEvent ce) throws Exception {
@@ -241,6 +329,108 @@ public class KnativeHttpTest {
         mock.assertIsSatisfied();
     }
 
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    void testInvokeEndpointWithSharedClient(CloudEvent ce) throws Exception {
+        configureKnativeComponent(
+            context,
+            ce,
+            endpoint(
+                Knative.EndpointKind.sink,
+                "myEndpoint",
+                platformHttpHost,
+                platformHttpPort,
+                Map.of(
+                    Knative.SERVICE_META_PATH, "/a/path",
+                    Knative.SERVICE_META_HTTP_CLIENT_SHARED, "true",
+                    Knative.SERVICE_META_HTTP_CLIENT_WARM_UP, "true",
+                    Knative.SERVICE_META_HTTP_CLIENT_POOL_SIZE, "2",
+                    Knative.KNATIVE_EVENT_TYPE, "org.apache.camel.event",
+                    Knative.CONTENT_TYPE, "text/plain"
+                ))
+        );
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("direct:source1")
+                .routeId("source1")
+                .to("knative:endpoint/myEndpoint");
+            b.from("direct:source2")
+                .routeId("source2")
+                .to("knative:endpoint/myEndpoint");
+            b.from("platform-http:/a/path?httpMethodRestrict=POST")
+                .to("mock:ce");
+        });
+
+        context.start();
+
+        MockEndpoint mock = context.getEndpoint("mock:ce", MockEndpoint.class);
+        mock.expectedBodiesReceived("test1", "test2", "test3");
+
+        template.sendBody("direct:source1", "test1");
+        template.sendBody("direct:source2", "test2");
+
+        // the shared client must survive the stop of one of the routes using it
+        context.getRouteController().stopRoute("source1");
+
+        template.sendBody("direct:source2", "test3");
+
+        mock.assertIsSatisfied();
+    }
+
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    void testInvokeEndpointWithCompression(CloudEvent ce) throws Exception {
+        configureKnativeComponent(
+            context,
+            ce,
+            endpoint(
+                Knative.EndpointKind.sink,
+                "myEndpoint",
+                platformHttpHost,
+                platformHttpPort,
+                Map.of(
+                    Knative.SERVICE_META_PATH, "/a/path",
+                    Knative.SERVICE_META_HTTP_CLIENT_COMPRESSION, "true",
+                    Knative.SERVICE_META_HTTP_CLIENT_COMPRESSION_MIN_SIZE, "128",
+                    Knative.SERVICE_META_HTTP_CLIENT_COMPRESSION_CONTENT_TYPES, "text/*",
+                    Knative.KNATIVE_EVENT_TYPE, "org.apache.camel.event",
+                    Knative.CONTENT_TYPE, "text/plain"
+                ))
+        );
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("direct:source")
+                .to("knative:endpoint/myEndpoint");
+            b.from("platform-http:/a/path")
+                .convertBodyTo(byte[].class)
+                .to("mock:ce");
+        });
+
+        context.start();
+
+        final String small = "test";
+        final String large = "test".repeat(256);
+
+        MockEndpoint mock = context.getEndpoint("mock:ce", MockEndpoint.class);
+        mock.expectedMessageCount(2);
+
+        template.sendBody("direct:source", small);
+        template.sendBody("direct:source", large);
+
+        mock.assertIsSatisfied();
+
+        Message smallMessage = mock.getExchanges().get(0).getMessage();
+        assertThat(smallMessage.getHeader("Content-Encoding")).isNull();
+        assertThat(smallMessage.getBody(String.class)).isEqualTo(small);
+
+        Message largeMessage = mock.getExchanges().get(1).getMessage();
+        assertThat(largeMessage.getHeader("Content-Encoding")).isEqualTo("gzip");
+
+        try (GZIPInputStream is = new GZIPInputStream(new ByteArrayInputStream(largeMessage.getBody(byte[].class)))) {
+            assertThat(new String(is.readAllBytes())).isEqualTo(large);
+        }
+    }
+
     @ParameterizedTest
     @EnumSource(CloudEvents.class)
     void testInvokeEndpointByUrl(CloudEvent ce) throws Exception {
@@ -427,6 +617,7 @@ public class KnativeHttpTest {
         mock.expectedHeaderReceived(CloudEvent.CAMEL_CLOUD_EVENT_SOURCE, "/somewhere");
         mock.expectedHeaderReceived(Exchange.CONTENT_TYPE, "text/plain");
         mock.expectedMessagesMatches(e -> e.getMessage().getHeaders().containsKey(CloudEvent.CAMEL_CLOUD_EVENT_TIME));
+        mock.expectedMessagesMatches(e -> e.getProperty(Knative.KNATIVE_WORKER_QUEUE_TIME, Long.class) != null);
         mock.expectedBodiesReceived("test");
         mock.expectedMessageCount(1);
 
@@ -982,6 +1173,86 @@ public class KnativeHttpTest {
         assertThat(exchange.getException()).hasMessageContaining("with statusCode: 500, statusMessage: Internal Server Error");
     }
 
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    void testConsumerErrorResponse(CloudEvent ce) throws Exception {
+        configureKnativeComponent(
+            context,
+            ce,
+            sourceEndpoint(
+                "ep",
+                Map.of(
+                    Knative.KNATIVE_EVENT_TYPE, "org.apache.camel.event",
+                    Knative.CONTENT_TYPE, "text/plain"
+                )
+            )
+        );
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("knative:endpoint/ep")
+                .process(e -> {
+                    throw new RuntimeException("endpoint error");
+                });
+        });
+
+        context.start();
+
+        given()
+            .body("test")
+            .header(Exchange.CONTENT_TYPE, "text/plain")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_VERSION), ce.version())
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_TYPE), "org.apache.camel.event")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_ID), "myEventID")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_SOURCE), "/somewhere")
+        .when()
+            .post()
+        .then()
+            .statusCode(500)
+            .contentType("text/plain")
+            .body(startsWith("500 Internal Server Error: endpoint error (exchange: "))
+            .body(not(containsString("at org.apache.camel")));
+    }
+
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    void testConsumerErrorResponseDebug(CloudEvent ce) throws Exception {
+        configureKnativeComponent(
+            context,
+            ce,
+            sourceEndpoint(
+                "ep",
+                Map.of(
+                    Knative.KNATIVE_EVENT_TYPE, "org.apache.camel.event",
+                    Knative.CONTENT_TYPE, "text/plain"
+                )
+            )
+        );
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("knative:endpoint/ep?transport.errorResponseDebug=true")
+                .process(e -> {
+                    throw new RuntimeException("endpoint error");
+                });
+        });
+
+        context.start();
+
+        given()
+            .body("test")
+            .header(Exchange.CONTENT_TYPE, "text/plain")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_VERSION), ce.version())
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_TYPE), "org.apache.camel.event")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_ID), "myEventID")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_SOURCE), "/somewhere")
+        .when()
+            .post()
+        .then()
+            .statusCode(500)
+            .contentType("text/plain")
+            .body(startsWith("java.lang.RuntimeException: endpoint error"))
+            .body(containsString("at org.apache.camel"));
+    }
+
     @ParameterizedTest
     @EnumSource(CloudEvents.class)
     void testEvents(CloudEvent ce) throws Exception {
@@ -1291,6 +1562,50 @@ public class KnativeHttpTest {
             .body(is(emptyOrNullString()));
     }
 
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    void testNoReplyAckEarly(CloudEvent ce) throws Exception {
+        configureKnativeComponent(
+            context,
+            ce,
+            sourceChannel(
+                "channel",
+                Map.of(
+                    Knative.KNATIVE_EVENT_TYPE, "org.apache.camel.event",
+                    Knative.CONTENT_TYPE, "text/plain"
+                ))
+        );
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("knative:channel/channel?reply=false&transport.ackEarly=true&transport.ackEarlyQueueSize=10")
+                .convertBodyTo(String.class)
+                .to("mock:ce");
+        });
+
+        MockEndpoint mock = context.getEndpoint("mock:ce", MockEndpoint.class);
+        mock.expectedBodiesReceived("test");
+        mock.expectedHeaderReceived(CloudEvent.CAMEL_CLOUD_EVENT_ID, "myEventID");
+        mock.expectedMessagesMatches(e -> e.getProperty(Knative.KNATIVE_WORKER_QUEUE_TIME, Long.class) != null);
+
+        context.start();
+
+        given()
+            .body("test")
+            .header(Exchange.CONTENT_TYPE, "text/plain")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_VERSION), ce.version())
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_TYPE), "org.apache.camel.event")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_ID), "myEventID")
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_TIME), DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(ZonedDateTime.now()))
+            .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_SOURCE), "/somewhere")
+        .when()
+            .post()
+        .then()
+            .statusCode(202)
+            .body(is(emptyOrNullString()));
+
+        mock.assertIsSatisfied();
+    }
+
     @ParameterizedTest
     @EnumSource(CloudEvents.class)
     void testNoReplyMeta(CloudEvent ce) throws Exception {
@@ -1791,6 +2106,82 @@ public class KnativeHttpTest {
         }
     }
 
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    void testEventBridgeWithTypedAttributes(CloudEvent ce) throws Exception {
+        final KnativeHttpServer server = new KnativeHttpServer(context);
+
+        configureKnativeComponent(
+            context,
+            ce,
+            event(
+                Knative.EndpointKind.sink,
+                "event.sink",
+                server.getHost(),
+                server.getPort(),
+                Map.of(
+                    Knative.CONTENT_TYPE, "text/plain"
+                )),
+            sourceEvent(
+                "event.source",
+                Map.of(
+                    Knative.CONTENT_TYPE, "text/plain"
+                ))
+        );
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("knative:event/event.source?typedCloudEventAttributes=true")
+                .setProperty("ce-type", b.header(CloudEvent.CAMEL_CLOUD_EVENT_TYPE))
+                .to("mock:ce")
+                .to("knative:event/event.sink");
+        });
+
+        MockEndpoint mock = context.getEndpoint("mock:ce", MockEndpoint.class);
+        mock.expectedMessageCount(1);
+        mock.expectedPropertyReceived("ce-type", "event.source");
+        mock.expectedHeaderReceived(CloudEvent.CAMEL_CLOUD_EVENT_ID, "myEventID");
+        mock.expectedHeaderReceived(CloudEvent.CAMEL_CLOUD_EVENT_SOURCE, "/somewhere");
+        mock.expectedHeaderReceived(Exchange.CONTENT_TYPE, "text/plain");
+        mock.expectedMessagesMatches(e -> {
+            CloudEventAttributes attributes = e.getProperty(CloudEvent.CAMEL_CLOUD_EVENT_ATTRIBUTES, CloudEventAttributes.class);
+
+            return attributes != null
+                && "myEventID".equals(attributes.getId())
+                && "/somewhere".equals(attributes.getSource())
+                && "event.source".equals(attributes.getType());
+        });
+
+        context.start();
+
+        try {
+            server.start();
+
+            given()
+                .body("test")
+                .header(Exchange.CONTENT_TYPE, "text/plain")
+                .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_VERSION), ce.version())
+                .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_TYPE), "event.source")
+                .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_ID), "myEventID")
+                .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_TIME), DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(ZonedDateTime.now()))
+                .header(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_SOURCE), "/somewhere")
+            .when()
+                .post()
+            .then()
+                .statusCode(204);
+
+            mock.assertIsSatisfied();
+
+            HttpServerRequest request = server.poll(30, TimeUnit.SECONDS);
+            assertThat(request.getHeader(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_VERSION))).isEqualTo(ce.version());
+            assertThat(request.getHeader(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_TYPE))).isEqualTo("event.sink");
+            assertThat(request.getHeader(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_ID))).isEqualTo("myEventID");
+            assertThat(request.getHeader(httpAttribute(ce, CloudEvent.CAMEL_CLOUD_EVENT_SOURCE))).isEqualTo("/somewhere");
+            assertThat(request.getHeader(Exchange.CONTENT_TYPE)).isEqualTo("text/plain");
+        } finally {
+            server.stop();
+        }
+    }
+
     @ParameterizedTest
     @EnumSource(CloudEvents.class)
     void testDynamicEventBridge(CloudEvent ce) throws Exception {
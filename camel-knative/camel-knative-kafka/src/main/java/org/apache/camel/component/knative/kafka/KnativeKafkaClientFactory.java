@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.kafka;
+
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+
+/**
+ * Factory used by the {@link KnativeKafkaTransport} to create Kafka clients, it can be replaced
+ * to plug alternative implementations (i.e. mock clients for testing purpose).
+ */
+public interface KnativeKafkaClientFactory {
+    /**
+     * Create a Kafka {@link Producer}.
+     *
+     * @param properties the client configuration.
+     * @return the producer
+     */
+    default Producer<String, byte[]> createProducer(Map<String, Object> properties) {
+        return new KafkaProducer<>(properties);
+    }
+
+    /**
+     * Create a Kafka {@link Consumer}.
+     *
+     * @param properties the client configuration.
+     * @return the consumer
+     */
+    default Consumer<String, byte[]> createConsumer(Map<String, Object> properties) {
+        return new KafkaConsumer<>(properties);
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.kafka;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.apache.camel.component.knative.spi.Knative;
+import org.apache.camel.component.knative.spi.KnativeEnvironment;
+import org.apache.camel.component.knative.spi.KnativeTransportConfiguration;
+import org.apache.camel.support.DefaultConsumer;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class KnativeKafkaConsumer extends DefaultConsumer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KnativeKafkaConsumer.class);
+
+    private final KnativeKafkaClientFactory clientFactory;
+    private final Map<String, Object> clientProperties;
+    private final Map<String, String> headersMapping;
+    private final Predicate<Message> filter;
+    private final String topic;
+    private final List<PollTask> tasks;
+
+    private int consumersCount;
+    private long pollTimeout;
+    private int maximumRedeliveries;
+    private long redeliveryDelay;
+    private long maximumRedeliveryDelay;
+    private ExecutorService executor;
+
+    public KnativeKafkaConsumer(
+        KnativeTransportConfiguration configuration,
+        Endpoint endpoint,
+        KnativeEnvironment.KnativeServiceDefinition serviceDefinition,
+        KnativeKafkaClientFactory clientFactory,
+        Map<String, Object> clientProperties,
+        Processor processor) {
+
+        super(endpoint, processor);
+
+        this.clientFactory = ObjectHelper.notNull(clientFactory, "clientFactory");
+        this.clientProperties = clientProperties;
+        this.headersMapping = KnativeKafkaSupport.kafkaToHttpHeaders(configuration.getCloudEvent());
+        this.filter = KnativeKafkaSupport.createFilter(serviceDefinition);
+        this.topic = serviceDefinition.getMetadata(Knative.SERVICE_META_KAFKA_TOPIC);
+        this.tasks = new ArrayList<>();
+        this.consumersCount = KnativeKafkaTransport.DEFAULT_CONSUMERS_COUNT;
+        this.pollTimeout = KnativeKafkaTransport.DEFAULT_POLL_TIMEOUT;
+        this.maximumRedeliveries = KnativeKafkaTransport.DEFAULT_MAXIMUM_REDELIVERIES;
+        this.redeliveryDelay = KnativeKafkaTransport.DEFAULT_REDELIVERY_DELAY;
+        this.maximumRedeliveryDelay = KnativeKafkaTransport.DEFAULT_MAXIMUM_REDELIVERY_DELAY;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public int getConsumersCount() {
+        return consumersCount;
+    }
+
+    /**
+     * The number of Kafka consumers, belonging to the same consumer group, to run in parallel.
+     */
+    public void setConsumersCount(int consumersCount) {
+        this.consumersCount = consumersCount;
+    }
+
+    public long getPollTimeout() {
+        return pollTimeout;
+    }
+
+    /**
+     * The timeout, in milliseconds, used when polling the topic.
+     */
+    public void setPollTimeout(long pollTimeout) {
+        this.pollTimeout = pollTimeout;
+    }
+
+    public int getMaximumRedeliveries() {
+        return maximumRedeliveries;
+    }
+
+    /**
+     * How many times a record that failed to be processed is delivered again before it is handed to the
+     * exception handler and skipped, use -1 to redeliver forever.
+     */
+    public void setMaximumRedeliveries(int maximumRedeliveries) {
+        this.maximumRedeliveries = maximumRedeliveries;
+    }
+
+    public long getRedeliveryDelay() {
+        return redeliveryDelay;
+    }
+
+    /**
+     * The delay, in milliseconds, before the first redelivery of a failed record, the delay doubles at
+     * each subsequent redelivery of the same record.
+     */
+    public void setRedeliveryDelay(long redeliveryDelay) {
+        this.redeliveryDelay = redeliveryDelay;
+    }
+
+    public long getMaximumRedeliveryDelay() {
+        return maximumRedeliveryDelay;
+    }
+
+    /**
+     * The maximum delay, in milliseconds, between redeliveries, it should stay well below the
+     * max.poll.interval.ms of the consumer as no poll happens while waiting.
+     */
+    public void setMaximumRedeliveryDelay(long maximumRedeliveryDelay) {
+        this.maximumRedeliveryDelay = maximumRedeliveryDelay;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        executor = getEndpoint().getCamelContext().getExecutorServiceManager().newFixedThreadPool(
+            this,
+            "KnativeKafkaConsumer[" + topic + "]",
+            consumersCount);
+
+        for (int i = 0; i < consumersCount; i++) {
+            PollTask task = new PollTask(clientFactory.createConsumer(clientProperties));
+
+            tasks.add(task);
+            executor.submit(task);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        for (PollTask task : tasks) {
+            task.shutdown();
+        }
+
+        tasks.clear();
+
+        if (executor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownGraceful(executor);
+            executor = null;
+        }
+
+        super.doStop();
+    }
+
+    /**
+     * Processes the given record.
+     *
+     * @return the exchange if the record could not be processed, null otherwise.
+     */
+    private Exchange handleRecord(ConsumerRecord<String, byte[]> record) {
+        final Exchange exchange = getEndpoint().createExchange();
+        final Message message = exchange.getMessage();
+
+        KnativeKafkaSupport.fromKafkaHeaders(headersMapping, record.headers(), message);
+
+        if (!filter.test(message)) {
+            LOGGER.debug("Cannot handle record on {}, skip", getEndpoint().getEndpointUri());
+            return null;
+        }
+
+        message.setBody(record.value());
+
+        try {
+            createUoW(exchange);
+
+            // the processing happens on the poll thread so records are processed in
+            // order and offsets are committed only up to the last processed record
+            getProcessor().process(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+        } finally {
+            doneUoW(exchange);
+        }
+
+        return exchange.getException() != null ? exchange : null;
+    }
+
+    private final class PollTask implements Runnable {
+        private final Consumer<String, byte[]> consumer;
+        private final CountDownLatch stopped;
+        private volatile boolean running;
+
+        // the record being redelivered, if any
+        private TopicPartition failedPartition;
+        private long failedOffset;
+        private int redeliveries;
+
+        PollTask(Consumer<String, byte[]> consumer) {
+            this.consumer = consumer;
+            this.stopped = new CountDownLatch(1);
+            this.running = true;
+        }
+
+        @Override
+        public void run() {
+            try {
+                consumer.subscribe(Collections.singletonList(topic));
+
+                while (running) {
+                    try {
+                        ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(pollTimeout));
+                        if (records.isEmpty()) {
+                            continue;
+                        }
+
+                        process(records);
+                    } catch (WakeupException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        getExceptionHandler().handleException(e);
+                    }
+                }
+            } catch (WakeupException e) {
+                if (running) {
+                    throw e;
+                }
+            } finally {
+                LOGGER.debug("Shutting down consumer: {}", consumer);
+                consumer.close();
+            }
+        }
+
+        private void process(ConsumerRecords<String, byte[]> records) {
+            final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+
+            for (TopicPartition partition : records.partitions()) {
+                for (ConsumerRecord<String, byte[]> record : records.records(partition)) {
+                    final Exchange failed = handleRecord(record);
+                    final boolean redelivery = partition.equals(failedPartition) && record.offset() == failedOffset;
+                    final int attempts = redelivery ? redeliveries : 0;
+
+                    if (failed == null) {
+                        if (redelivery) {
+                            failedPartition = null;
+                        }
+                    } else if (maximumRedeliveries >= 0 && attempts >= maximumRedeliveries) {
+                        // redeliveries exhausted, the record is skipped so it does not stall the partition
+                        failedPartition = null;
+
+                        getExceptionHandler().handleException(
+                            "Error processing record " + record.offset() + " of " + partition + ", skip it after " + attempts + " redeliveries",
+                            failed,
+                            failed.getException());
+                    } else {
+                        redeliveries = attempts + 1;
+                        failedPartition = partition;
+                        failedOffset = record.offset();
+
+                        if (attempts == 0) {
+                            LOGGER.warn("Error processing record {} of {}, deliver it again", record.offset(), partition, failed.getException());
+                        } else {
+                            LOGGER.debug("Error processing record {} of {}, redelivery attempt {}", record.offset(), partition, redeliveries);
+                        }
+
+                        // commit what has been processed so far and rewind the partitions
+                        // of the batch to the first record not processed so the failed
+                        // record and the ones following it are delivered again
+                        if (!offsets.isEmpty()) {
+                            consumer.commitSync(offsets);
+                        }
+
+                        consumer.seek(partition, record.offset());
+
+                        for (TopicPartition p : records.partitions()) {
+                            if (!p.equals(partition) && !offsets.containsKey(p)) {
+                                consumer.seek(p, records.records(p).get(0).offset());
+                            }
+                        }
+
+                        backOff();
+
+                        return;
+                    }
+
+                    offsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+
+            consumer.commitSync(offsets);
+        }
+
+        private void backOff() {
+            final long delay = Math.min(redeliveryDelay << Math.min(redeliveries - 1, 30), maximumRedeliveryDelay);
+            if (delay <= 0) {
+                return;
+            }
+
+            try {
+                stopped.await(delay, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void shutdown() {
+            running = false;
+            stopped.countDown();
+            consumer.wakeup();
+        }
+    }
+}
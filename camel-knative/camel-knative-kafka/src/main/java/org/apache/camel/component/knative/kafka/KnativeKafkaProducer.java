@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.kafka;
+
+import java.util.Map;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelException;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.InvalidPayloadException;
+import org.apache.camel.component.knative.spi.Knative;
+import org.apache.camel.component.knative.spi.KnativeEnvironment;
+import org.apache.camel.component.knative.spi.KnativeTransportConfiguration;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class KnativeKafkaProducer extends DefaultAsyncProducer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KnativeKafkaProducer.class);
+
+    private final KnativeTransportConfiguration configuration;
+    private final KnativeKafkaClientFactory clientFactory;
+    private final Map<String, Object> clientProperties;
+    private final String topic;
+
+    private Producer<String, byte[]> producer;
+
+    public KnativeKafkaProducer(
+            Endpoint endpoint,
+            KnativeTransportConfiguration configuration,
+            KnativeEnvironment.KnativeServiceDefinition serviceDefinition,
+            KnativeKafkaClientFactory clientFactory,
+            Map<String, Object> clientProperties) {
+        super(endpoint);
+
+        this.configuration = configuration;
+        this.clientFactory = ObjectHelper.notNull(clientFactory, "clientFactory");
+        this.clientProperties = clientProperties;
+        this.topic = serviceDefinition.getMetadata(Knative.SERVICE_META_KAFKA_TOPIC);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        if (exchange.getMessage().getBody() == null) {
+            exchange.setException(new IllegalArgumentException("body must not be null"));
+            callback.done(true);
+
+            return true;
+        }
+
+        final ProducerRecord<String, byte[]> record;
+
+        try {
+            record = new ProducerRecord<String, byte[]>(
+                topic,
+                null,
+                null,
+                exchange.getMessage().getMandatoryBody(byte[].class),
+                KnativeKafkaSupport.toKafkaHeaders(configuration.getCloudEvent(), exchange.getMessage()));
+        } catch (InvalidPayloadException e) {
+            exchange.setException(e);
+            callback.done(true);
+
+            return true;
+        }
+
+        try {
+            producer.send(record, (metadata, exception) -> {
+                if (exception != null) {
+                    exchange.setException(new CamelException("Kafka operation failed sending to topic " + topic, exception));
+                }
+
+                callback.done(false);
+            });
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        if (this.producer == null) {
+            this.producer = clientFactory.createProducer(clientProperties);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        if (this.producer != null) {
+            LOGGER.debug("Shutting down producer: {}", producer);
+            this.producer.close();
+            this.producer = null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.component.knative.spi.CloudEvent;
+import org.apache.camel.component.knative.spi.Knative;
+import org.apache.camel.component.knative.spi.KnativeEnvironment;
+import org.apache.camel.support.MessageHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+/**
+ * Helpers to map CloudEvents to/from Kafka records according to the
+ * <a href="https://github.com/cloudevents/spec/blob/v1.0/kafka-protocol-binding.md">Kafka Protocol Binding</a>
+ * (binary content mode).
+ */
+public final class KnativeKafkaSupport {
+    public static final String KAFKA_CE_PREFIX = "ce_";
+    public static final String KAFKA_CONTENT_TYPE = "content-type";
+    public static final String HTTP_CE_PREFIX = "ce-";
+
+    private KnativeKafkaSupport() {
+    }
+
+    /**
+     * Determine if the given service is backed by a Kafka topic that can be accessed directly.
+     */
+    public static boolean isKafkaBacked(KnativeEnvironment.KnativeServiceDefinition serviceDefinition) {
+        return ObjectHelper.isNotEmpty(serviceDefinition.getMetadata(Knative.SERVICE_META_KAFKA_TOPIC));
+    }
+
+    /**
+     * Compute the name of the Kafka header for the given attribute.
+     */
+    public static String kafkaHeader(CloudEvent.Attribute attribute) {
+        if (isContentType(attribute)) {
+            return KAFKA_CONTENT_TYPE;
+        }
+
+        return KAFKA_CE_PREFIX + attribute.json().toLowerCase(Locale.US);
+    }
+
+    /**
+     * Create a mapping between the Kafka headers and the http headers the cloud event
+     * processors expect for the given CloudEvent spec.
+     */
+    public static Map<String, String> kafkaToHttpHeaders(CloudEvent ce) {
+        Map<String, String> answer = new HashMap<>();
+        for (CloudEvent.Attribute attribute : ce.attributes()) {
+            if (!isContentType(attribute)) {
+                answer.put(kafkaHeader(attribute), attribute.http());
+            }
+        }
+
+        // in binary mode, the content type of the event is the content type of the message
+        answer.put(KAFKA_CONTENT_TYPE, Exchange.CONTENT_TYPE);
+
+        return answer;
+    }
+
+    /**
+     * Translate the message headers set by the cloud event processors to Kafka headers.
+     */
+    public static Headers toKafkaHeaders(CloudEvent ce, Message message) {
+        final TypeConverter tc = message.getExchange().getContext().getTypeConverter();
+        final Headers headers = new RecordHeaders();
+        final Map<String, String> attributes = ce.attributes().stream()
+            .collect(Collectors.toMap(a -> a.http().toLowerCase(Locale.US), KnativeKafkaSupport::kafkaHeader));
+
+        String contentType = MessageHelper.getContentType(message);
+        if (contentType != null) {
+            headers.add(KAFKA_CONTENT_TYPE, contentType.getBytes(StandardCharsets.UTF_8));
+        }
+
+        for (Map.Entry<String, Object> entry : message.getHeaders().entrySet()) {
+            final String key = entry.getKey().toLowerCase(Locale.US);
+
+            String name = attributes.get(key);
+            if (name == null && key.startsWith(HTTP_CE_PREFIX)) {
+                // extensions
+                name = KAFKA_CE_PREFIX + key.substring(HTTP_CE_PREFIX.length());
+            }
+            if (name == null || KAFKA_CONTENT_TYPE.equals(name)) {
+                // the content type is mapped explicitly
+                continue;
+            }
+
+            String value = tc.convertTo(String.class, entry.getValue());
+            if (value != null) {
+                headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        return headers;
+    }
+
+    /**
+     * Translate the Kafka headers to the http headers the cloud event processors expect.
+     */
+    public static void fromKafkaHeaders(Map<String, String> mapping, Headers headers, Message message) {
+        for (Header header : headers) {
+            if (header.value() == null) {
+                continue;
+            }
+
+            final String key = header.key().toLowerCase(Locale.US);
+
+            String name = mapping.get(key);
+            if (name == null && key.startsWith(KAFKA_CE_PREFIX)) {
+                // extensions
+                name = HTTP_CE_PREFIX + key.substring(KAFKA_CE_PREFIX.length());
+            }
+            if (name == null) {
+                name = header.key();
+            }
+
+            message.setHeader(name, new String(header.value(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Create a filter that mimics the one used by the http transport but operates on
+     * the headers of the message once translated from the Kafka record.
+     */
+    public static Predicate<Message> createFilter(KnativeEnvironment.KnativeServiceDefinition serviceDefinition) {
+        Map<String, String> filters = serviceDefinition.getMetadata().entrySet().stream()
+            .filter(e -> e.getKey().startsWith(Knative.KNATIVE_FILTER_PREFIX))
+            .collect(Collectors.toMap(
+                e -> e.getKey().substring(Knative.KNATIVE_FILTER_PREFIX.length()),
+                e -> e.getValue()
+            ));
+
+        return m -> {
+            if (filters.isEmpty()) {
+                return true;
+            }
+
+            for (Map.Entry<String, String> entry : filters.entrySet()) {
+                final String val = m.getHeader(entry.getKey(), String.class);
+                final String ref = entry.getValue();
+
+                if (val == null) {
+                    return false;
+                }
+
+                boolean matches = Objects.equals(ref, val) || val.matches(ref);
+                if (!matches) {
+                    return false;
+                }
+            }
+
+            return true;
+        };
+    }
+
+    private static boolean isContentType(CloudEvent.Attribute attribute) {
+        return Objects.equals(attribute.id(), CloudEvent.CAMEL_CLOUD_EVENT_CONTENT_TYPE)
+            || Objects.equals(attribute.id(), CloudEvent.CAMEL_CLOUD_EVENT_DATA_CONTENT_TYPE);
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.kafka;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Consumer;
+import org.apache.camel.Endpoint;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.component.knative.spi.Knative;
+import org.apache.camel.component.knative.spi.KnativeEnvironment;
+import org.apache.camel.component.knative.spi.KnativeTransport;
+import org.apache.camel.component.knative.spi.KnativeTransportConfiguration;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+/**
+ * A {@link KnativeTransport} that reads/writes the topic backing a Kafka channel directly, bypassing
+ * the channel dispatcher.
+ *
+ * Services that do not declare the {@link Knative#SERVICE_META_KAFKA_TOPIC} metadata are handled by
+ * a delegate transport, by default the one registered for the {@link Knative.Protocol#http} protocol.
+ */
+public class KnativeKafkaTransport extends ServiceSupport implements CamelContextAware, KnativeTransport {
+    public static final int DEFAULT_CONSUMERS_COUNT = 1;
+    public static final long DEFAULT_POLL_TIMEOUT = 5000;
+    public static final int DEFAULT_MAXIMUM_REDELIVERIES = 10;
+    public static final long DEFAULT_REDELIVERY_DELAY = 500;
+    public static final long DEFAULT_MAXIMUM_REDELIVERY_DELAY = 30000;
+
+    private CamelContext camelContext;
+    private KnativeTransport delegate;
+    private KnativeKafkaClientFactory clientFactory;
+    private String brokers;
+    private String groupId;
+    private int consumersCount;
+    private long pollTimeout;
+    private int maximumRedeliveries;
+    private long redeliveryDelay;
+    private long maximumRedeliveryDelay;
+
+    public KnativeKafkaTransport() {
+        this.consumersCount = DEFAULT_CONSUMERS_COUNT;
+        this.pollTimeout = DEFAULT_POLL_TIMEOUT;
+        this.maximumRedeliveries = DEFAULT_MAXIMUM_REDELIVERIES;
+        this.redeliveryDelay = DEFAULT_REDELIVERY_DELAY;
+        this.maximumRedeliveryDelay = DEFAULT_MAXIMUM_REDELIVERY_DELAY;
+    }
+
+    public KnativeTransport getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * The transport used for services that are not backed by a Kafka topic.
+     */
+    public void setDelegate(KnativeTransport delegate) {
+        this.delegate = delegate;
+    }
+
+    public KnativeKafkaClientFactory getClientFactory() {
+        return clientFactory;
+    }
+
+    /**
+     * The factory used to create Kafka clients.
+     */
+    public void setClientFactory(KnativeKafkaClientFactory clientFactory) {
+        this.clientFactory = clientFactory;
+    }
+
+    public String getBrokers() {
+        return brokers;
+    }
+
+    /**
+     * The Kafka brokers to use when the service definition does not provide them.
+     */
+    public void setBrokers(String brokers) {
+        this.brokers = brokers;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    /**
+     * The consumer group to use when the service definition does not provide it.
+     */
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public int getConsumersCount() {
+        return consumersCount;
+    }
+
+    /**
+     * The number of Kafka consumers, belonging to the same consumer group, each consumer endpoint runs
+     * in parallel. Increasing it beyond the number of partitions of the topic has no effect.
+     */
+    public void setConsumersCount(int consumersCount) {
+        this.consumersCount = consumersCount;
+    }
+
+    public long getPollTimeout() {
+        return pollTimeout;
+    }
+
+    /**
+     * The timeout, in milliseconds, used by the consumers when polling the topic.
+     */
+    public void setPollTimeout(long pollTimeout) {
+        this.pollTimeout = pollTimeout;
+    }
+
+    public int getMaximumRedeliveries() {
+        return maximumRedeliveries;
+    }
+
+    /**
+     * How many times the consumers deliver again a record that failed to be processed before handing it
+     * to the exception handler and skipping it, use -1 to redeliver forever.
+     */
+    public void setMaximumRedeliveries(int maximumRedeliveries) {
+        this.maximumRedeliveries = maximumRedeliveries;
+    }
+
+    public long getRedeliveryDelay() {
+        return redeliveryDelay;
+    }
+
+    /**
+     * The delay, in milliseconds, before the first redelivery of a failed record, the delay doubles at
+     * each subsequent redelivery of the same record.
+     */
+    public void setRedeliveryDelay(long redeliveryDelay) {
+        this.redeliveryDelay = redeliveryDelay;
+    }
+
+    public long getMaximumRedeliveryDelay() {
+        return maximumRedeliveryDelay;
+    }
+
+    /**
+     * The maximum delay, in milliseconds, between redeliveries.
+     */
+    public void setMaximumRedeliveryDelay(long maximumRedeliveryDelay) {
+        this.maximumRedeliveryDelay = maximumRedeliveryDelay;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    // *****************************
+    //
+    // Lifecycle
+    //
+    // *****************************
+
+    @Override
+    protected void doStart() throws Exception {
+        if (this.clientFactory == null) {
+            this.clientFactory = new KnativeKafkaClientFactory() {
+            };
+        }
+
+        if (this.delegate == null) {
+            this.delegate = camelContext.adapt(ExtendedCamelContext.class)
+                .getFactoryFinder(Knative.KNATIVE_TRANSPORT_RESOURCE_PATH)
+                .newInstance(Knative.Protocol.http.name(), KnativeTransport.class)
+                .orElse(null);
+        }
+
+        if (this.delegate instanceof CamelContextAware) {
+            CamelContextAware camelContextAware = (CamelContextAware)this.delegate;
+
+            if (camelContextAware.getCamelContext() == null) {
+                camelContextAware.setCamelContext(camelContext);
+            }
+        }
+
+        ServiceHelper.startService(this.delegate);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(this.delegate);
+    }
+
+    // *****************************
+    //
+    //
+    //
+    // *****************************
+
+    @Override
+    public Producer createProducer(Endpoint endpoint, KnativeTransportConfiguration config, KnativeEnvironment.KnativeServiceDefinition service) {
+        if (!KnativeKafkaSupport.isKafkaBacked(service)) {
+            return mandatoryDelegate(service).createProducer(endpoint, config, service);
+        }
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, mandatoryBrokers(service));
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+        return new KnativeKafkaProducer(endpoint, config, service, clientFactory, properties);
+    }
+
+    @Override
+    public Consumer createConsumer(Endpoint endpoint, KnativeTransportConfiguration config, KnativeEnvironment.KnativeServiceDefinition service, Processor processor) {
+        if (!KnativeKafkaSupport.isKafkaBacked(service)) {
+            return mandatoryDelegate(service).createConsumer(endpoint, config, service, processor);
+        }
+
+        String group = service.getMetadata(Knative.SERVICE_META_KAFKA_GROUP_ID);
+        if (ObjectHelper.isEmpty(group)) {
+            group = ObjectHelper.supplyIfEmpty(groupId, endpoint.getCamelContext()::getName);
+        }
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, mandatoryBrokers(service));
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, group);
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+        KnativeKafkaConsumer consumer = new KnativeKafkaConsumer(config, endpoint, service, clientFactory, properties, processor);
+        consumer.setConsumersCount(consumersCount);
+        consumer.setPollTimeout(pollTimeout);
+        consumer.setMaximumRedeliveries(maximumRedeliveries);
+        consumer.setRedeliveryDelay(redeliveryDelay);
+        consumer.setMaximumRedeliveryDelay(maximumRedeliveryDelay);
+
+        return consumer;
+    }
+
+    // *****************************
+    //
+    // Helpers
+    //
+    // *****************************
+
+    private KnativeTransport mandatoryDelegate(KnativeEnvironment.KnativeServiceDefinition service) {
+        if (delegate == null) {
+            throw new IllegalStateException(
+                "Service " + service.getName() + " is not backed by a Kafka topic and no delegate transport is configured");
+        }
+
+        return delegate;
+    }
+
+    private String mandatoryBrokers(KnativeEnvironment.KnativeServiceDefinition service) {
+        String answer = service.getMetadata(Knative.SERVICE_META_KAFKA_BOOTSTRAP_SERVERS);
+        if (ObjectHelper.isEmpty(answer)) {
+            answer = brokers;
+        }
+        if (ObjectHelper.isEmpty(answer)) {
+            throw new IllegalArgumentException("Unable to determine the Kafka brokers for service: " + service.getName());
+        }
+
+        return answer;
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.knative.KnativeComponent;
+import org.apache.camel.component.knative.spi.CloudEvent;
+import org.apache.camel.component.knative.spi.CloudEvents;
+import org.apache.camel.component.knative.spi.Knative;
+import org.apache.camel.component.knative.spi.KnativeEnvironment;
+import org.apache.camel.component.knative.spi.KnativeTransport;
+import org.apache.camel.component.knative.spi.KnativeTransportConfiguration;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultConsumer;
+import org.apache.camel.support.DefaultProducer;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.apache.camel.component.knative.spi.KnativeEnvironment.channel;
+import static org.apache.camel.component.knative.spi.KnativeEnvironment.sourceChannel;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KnativeKafkaTest {
+    private static final String TOPIC = "knative-messaging-kafka.test.myChannel";
+
+    private CamelContext context;
+    private ProducerTemplate template;
+    private MockProducer<String, byte[]> producer;
+    private MockConsumer<String, byte[]> consumer;
+    private KnativeKafkaTransport transport;
+
+    // **************************
+    //
+    // Setup
+    //
+    // **************************
+
+    @BeforeEach
+    public void before() {
+        this.context = new DefaultCamelContext();
+        this.template = this.context.createProducerTemplate();
+        this.producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        this.consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+
+        this.transport = new KnativeKafkaTransport();
+        this.transport.setBrokers("localhost:9092");
+        this.transport.setClientFactory(new KnativeKafkaClientFactory() {
+            @Override
+            public Producer<String, byte[]> createProducer(Map<String, Object> properties) {
+                return producer;
+            }
+
+            @Override
+            public Consumer<String, byte[]> createConsumer(Map<String, Object> properties) {
+                return consumer;
+            }
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        ServiceHelper.stopService(template);
+
+        if (this.context != null) {
+            this.context.stop();
+        }
+    }
+
+    // **************************
+    //
+    // Tests
+    //
+    // **************************
+
+    @Test
+    void testCreateComponent() {
+        context.getComponent("knative", KnativeComponent.class).setProtocol(Knative.Protocol.kafka);
+        context.getComponent("knative", KnativeComponent.class).setEnvironment(new KnativeEnvironment(Collections.emptyList()));
+        context.start();
+
+        assertThat(context.getComponent("knative")).isInstanceOfSatisfying(KnativeComponent.class, c -> {
+            assertThat(c.getTransport()).isInstanceOf(KnativeKafkaTransport.class);
+        });
+    }
+
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    void testKnativeKafkaProducer(CloudEvent ce) throws Exception {
+        configureKnativeComponent(
+            ce,
+            channel(
+                Knative.EndpointKind.sink,
+                "myChannel",
+                null,
+                -1,
+                Map.of(
+                    Knative.SERVICE_META_KAFKA_TOPIC, TOPIC,
+                    Knative.CONTENT_TYPE, "text/plain"
+                ))
+        );
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("direct:source")
+                .to("knative:channel/myChannel");
+        });
+
+        context.start();
+        template.sendBody("direct:source", "test");
+
+        assertThat(producer.history()).hasSize(1).first().satisfies(record -> {
+            assertThat(record.topic()).isEqualTo(TOPIC);
+            assertThat(record.value()).isEqualTo("test".getBytes(StandardCharsets.UTF_8));
+            assertThat(header(record, KnativeKafkaSupport.KAFKA_CONTENT_TYPE)).isEqualTo("text/plain");
+            assertThat(header(record, kafkaHeader(ce, CloudEvent.CAMEL_CLOUD_EVENT_VERSION))).isEqualTo(ce.version());
+            assertThat(header(record, kafkaHeader(ce, CloudEvent.CAMEL_CLOUD_EVENT_TYPE))).isEqualTo("org.apache.camel.event");
+            assertThat(header(record, kafkaHeader(ce, CloudEvent.CAMEL_CLOUD_EVENT_SOURCE))).isEqualTo("knative://channel/myChannel");
+            assertThat(header(record, kafkaHeader(ce, CloudEvent.CAMEL_CLOUD_EVENT_ID))).isNotNull();
+            assertThat(header(record, kafkaHeader(ce, CloudEvent.CAMEL_CLOUD_EVENT_TIME))).isNotNull();
+        });
+    }
+
+    @ParameterizedTest
+    @EnumSource(CloudEvents.class)
+    void testKnativeKafkaConsumer(CloudEvent ce) throws Exception {
+        configureKnativeComponent(
+            ce,
+            sourceChannel(
+                "myChannel",
+                Map.of(
+                    Knative.SERVICE_META_KAFKA_TOPIC, TOPIC
+                ))
+        );
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("knative:channel/myChannel")
+                .to("mock:ce");
+        });
+
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        ProducerRecord<String, byte[]> event = new ProducerRecord<>(TOPIC, "key", "test".getBytes(StandardCharsets.UTF_8));
+        event.headers().add(KnativeKafkaSupport.KAFKA_CONTENT_TYPE, "text/plain".getBytes(StandardCharsets.UTF_8));
+        event.headers().add(kafkaHeader(ce, CloudEvent.CAMEL_CLOUD_EVENT_VERSION), ce.version().getBytes(StandardCharsets.UTF_8));
+        event.headers().add(kafkaHeader(ce, CloudEvent.CAMEL_CLOUD_EVENT_TYPE), "org.apache.camel.event".getBytes(StandardCharsets.UTF_8));
+        event.headers().add(kafkaHeader(ce, CloudEvent.CAMEL_CLOUD_EVENT_ID), "myEventID".getBytes(StandardCharsets.UTF_8));
+        event.headers().add(kafkaHeader(ce, CloudEvent.CAMEL_CLOUD_EVENT_SOURCE), "/somewhere".getBytes(StandardCharsets.UTF_8));
+
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(partition));
+            consumer.addRecord(new ConsumerRecord<>(
+                TOPIC, 0, 0L, 0L, null, 0L, 0, 0, event.key(), event.value(), event.headers()));
+        });
+
+        MockEndpoint mock = context.getEndpoint("mock:ce", MockEndpoint.class);
+        mock.expectedHeaderReceived(CloudEvent.CAMEL_CLOUD_EVENT_VERSION, ce.version());
+        mock.expectedHeaderReceived(CloudEvent.CAMEL_CLOUD_EVENT_TYPE, "org.apache.camel.event");
+        mock.expectedHeaderReceived(CloudEvent.CAMEL_CLOUD_EVENT_ID, "myEventID");
+        mock.expectedHeaderReceived(CloudEvent.CAMEL_CLOUD_EVENT_SOURCE, "/somewhere");
+        mock.expectedHeaderReceived(Exchange.CONTENT_TYPE, "text/plain");
+        mock.expectedBodiesReceived("test");
+        mock.expectedMessageCount(1);
+
+        context.start();
+
+        mock.assertIsSatisfied();
+    }
+
+    @Test
+    void testKnativeKafkaConsumerRedeliversFailedRecords() throws Exception {
+        configureKnativeComponent(
+            CloudEvents.v1_0,
+            sourceChannel(
+                "myChannel",
+                Map.of(
+                    Knative.SERVICE_META_KAFKA_TOPIC, TOPIC
+                ))
+        );
+
+        AtomicInteger failures = new AtomicInteger();
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("knative:channel/myChannel")
+                .process(e -> {
+                    if ("b".equals(e.getMessage().getBody(String.class)) && failures.getAndIncrement() == 0) {
+                        throw new IllegalStateException("failure");
+                    }
+                })
+                .to("mock:ce");
+        });
+
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+            new ConsumerRecord<>(TOPIC, 0, 0L, "key", "a".getBytes(StandardCharsets.UTF_8)),
+            new ConsumerRecord<>(TOPIC, 0, 1L, "key", "b".getBytes(StandardCharsets.UTF_8)),
+            new ConsumerRecord<>(TOPIC, 0, 2L, "key", "c".getBytes(StandardCharsets.UTF_8)));
+
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(partition));
+            records.forEach(consumer::addRecord);
+        });
+        consumer.schedulePollTask(() -> {
+            // the broker delivers the records again starting from the consumer position
+            records.forEach(consumer::addRecord);
+        });
+
+        // the next poll happens once the offsets of the previous batch have been committed
+        CountDownLatch polled = new CountDownLatch(1);
+        consumer.schedulePollTask(polled::countDown);
+
+        MockEndpoint mock = context.getEndpoint("mock:ce", MockEndpoint.class);
+        mock.expectedBodiesReceived("a", "b", "c");
+
+        context.start();
+
+        mock.assertIsSatisfied();
+
+        assertThat(polled.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(failures).hasValue(2);
+        assertThat(consumer.committed(Set.of(partition))).hasEntrySatisfying(partition, offset -> {
+            assertThat(offset.offset()).isEqualTo(3L);
+        });
+    }
+
+    @Test
+    void testKnativeKafkaConsumerSkipsRecordsAfterMaximumRedeliveries() throws Exception {
+        transport.setMaximumRedeliveries(2);
+        transport.setRedeliveryDelay(10);
+
+        configureKnativeComponent(
+            CloudEvents.v1_0,
+            sourceChannel(
+                "myChannel",
+                Map.of(
+                    Knative.SERVICE_META_KAFKA_TOPIC, TOPIC
+                ))
+        );
+
+        AtomicInteger failures = new AtomicInteger();
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("knative:channel/myChannel")
+                .process(e -> {
+                    if ("b".equals(e.getMessage().getBody(String.class))) {
+                        failures.incrementAndGet();
+                        throw new IllegalStateException("failure");
+                    }
+                })
+                .to("mock:ce");
+        });
+
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+            new ConsumerRecord<>(TOPIC, 0, 0L, "key", "a".getBytes(StandardCharsets.UTF_8)),
+            new ConsumerRecord<>(TOPIC, 0, 1L, "key", "b".getBytes(StandardCharsets.UTF_8)),
+            new ConsumerRecord<>(TOPIC, 0, 2L, "key", "c".getBytes(StandardCharsets.UTF_8)));
+
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(List.of(partition));
+            records.forEach(consumer::addRecord);
+        });
+
+        // the broker delivers the records again starting from the consumer position, once
+        // for each redelivery
+        for (int i = 0; i < 2; i++) {
+            consumer.schedulePollTask(() -> records.forEach(consumer::addRecord));
+        }
+
+        CountDownLatch polled = new CountDownLatch(1);
+        consumer.schedulePollTask(polled::countDown);
+
+        MockEndpoint mock = context.getEndpoint("mock:ce", MockEndpoint.class);
+        mock.expectedBodiesReceived("a", "c");
+
+        context.start();
+
+        mock.assertIsSatisfied();
+
+        assertThat(polled.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // the first delivery and two redeliveries
+        assertThat(failures).hasValue(3);
+        assertThat(consumer.committed(Set.of(partition))).hasEntrySatisfying(partition, offset -> {
+            assertThat(offset.offset()).isEqualTo(3L);
+        });
+    }
+
+    @Test
+    void testKnativeKafkaConsumersCount() throws Exception {
+        List<Consumer<String, byte[]>> consumers = new CopyOnWriteArrayList<>();
+
+        transport.setConsumersCount(3);
+        transport.setPollTimeout(100);
+        transport.setClientFactory(new KnativeKafkaClientFactory() {
+            @Override
+            public Consumer<String, byte[]> createConsumer(Map<String, Object> properties) {
+                MockConsumer<String, byte[]> answer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+                consumers.add(answer);
+                return answer;
+            }
+        });
+
+        configureKnativeComponent(
+            CloudEvents.v1_0,
+            sourceChannel(
+                "myChannel",
+                Map.of(
+                    Knative.SERVICE_META_KAFKA_TOPIC, TOPIC
+                ))
+        );
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("knative:channel/myChannel")
+                .to("mock:ce");
+        });
+
+        context.start();
+
+        assertThat(consumers).hasSize(3);
+        assertThat(context.getRoutes()).first().satisfies(route -> {
+            assertThat(route.getConsumer()).isInstanceOfSatisfying(KnativeKafkaConsumer.class, c -> {
+                assertThat(c.getConsumersCount()).isEqualTo(3);
+                assertThat(c.getPollTimeout()).isEqualTo(100);
+            });
+        });
+    }
+
+    @Test
+    void testDelegateForNonKafkaServices() throws Exception {
+        transport.setDelegate(new KnativeTransport() {
+            @Override
+            public void start() {
+            }
+
+            @Override
+            public void stop() {
+            }
+
+            @Override
+            public org.apache.camel.Producer createProducer(org.apache.camel.Endpoint endpoint, KnativeTransportConfiguration configuration, KnativeEnvironment.KnativeServiceDefinition service) {
+                return new DefaultProducer(endpoint) {
+                    @Override
+                    public void process(Exchange exchange) throws Exception {
+                        exchange.getMessage().setBody("delegate");
+                    }
+                };
+            }
+
+            @Override
+            public org.apache.camel.Consumer createConsumer(org.apache.camel.Endpoint endpoint, KnativeTransportConfiguration configuration, KnativeEnvironment.KnativeServiceDefinition service, org.apache.camel.Processor processor) {
+                return new DefaultConsumer(endpoint, processor);
+            }
+        });
+
+        configureKnativeComponent(
+            CloudEvents.v1_0,
+            channel(Knative.EndpointKind.sink, "myChannel", "localhost", 8080)
+        );
+
+        RouteBuilder.addRoutes(context, b -> {
+            b.from("direct:source")
+                .to("knative:channel/myChannel");
+        });
+
+        context.start();
+
+        assertThat(template.requestBody("direct:source", "test", String.class)).isEqualTo("delegate");
+        assertThat(producer.history()).isEmpty();
+    }
+
+    // **************************
+    //
+    // Helpers
+    //
+    // **************************
+
+    private KnativeComponent configureKnativeComponent(CloudEvent ce, KnativeEnvironment.KnativeServiceDefinition... definitions) {
+        KnativeComponent component = context.getComponent("knative", KnativeComponent.class);
+        component.setCloudEventsSpecVersion(ce.version());
+        component.setEnvironment(KnativeEnvironment.on(definitions));
+        component.setTransport(transport);
+
+        return component;
+    }
+
+    private static String kafkaHeader(CloudEvent ce, String name) {
+        return KnativeKafkaSupport.kafkaHeader(ce.mandatoryAttribute(name));
+    }
+
+    private static String header(ProducerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
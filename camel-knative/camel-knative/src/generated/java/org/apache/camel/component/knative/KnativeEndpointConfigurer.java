@@ -48,6 +48,8 @@ public class KnativeEndpointConfigurer extends PropertyConfigurerSupport impleme
         case "synchronous": target.setSynchronous(property(camelContext, boolean.class, value)); return true;
         case "transportoptions":
         case "transportOptions": target.getConfiguration().setTransportOptions(property(camelContext, java.util.Map.class, value)); return true;
+        case "typedcloudeventattributes":
+        case "typedCloudEventAttributes": target.getConfiguration().setTypedCloudEventAttributes(property(camelContext, boolean.class, value)); return true;
         default: return false;
         }
     }
@@ -72,6 +74,7 @@ public class KnativeEndpointConfigurer extends PropertyConfigurerSupport impleme
         answer.put("serviceName", java.lang.String.class);
         answer.put("synchronous", boolean.class);
         answer.put("transportOptions", java.util.Map.class);
+        answer.put("typedCloudEventAttributes", boolean.class);
         return answer;
     }
 
@@ -108,6 +111,8 @@ public class KnativeEndpointConfigurer extends PropertyConfigurerSupport impleme
         case "synchronous": return target.isSynchronous();
         case "transportoptions":
         case "transportOptions": return target.getConfiguration().getTransportOptions();
+        case "typedcloudeventattributes":
+        case "typedCloudEventAttributes": return target.getConfiguration().isTypedCloudEventAttributes();
         default: return null;
         }
     }
@@ -49,6 +49,8 @@ public class KnativeConfiguration implements Cloneable {
     private boolean replyWithCloudEvent;
     @UriParam(label = "consumer,advanced", defaultValue = "true")
     private Boolean reply;
+    @UriParam(label = "consumer,advanced", defaultValue = "false")
+    private boolean typedCloudEventAttributes;
 
     public KnativeConfiguration() {
     }
@@ -197,6 +199,19 @@ public class KnativeConfiguration implements Cloneable {
         this.reply = reply;
     }
 
+    public boolean isTypedCloudEventAttributes() {
+        return typedCloudEventAttributes;
+    }
+
+    /**
+     * If the consumer should store the attributes of the incoming CloudEvent as a typed object in the
+     * CamelCloudEventAttributes exchange property instead of mapping each of them to a message header,
+     * an attribute is then projected to its header only when the route reads it.
+     */
+    public void setTypedCloudEventAttributes(boolean typedCloudEventAttributes) {
+        this.typedCloudEventAttributes = typedCloudEventAttributes;
+    }
+
     // ************************
     //
     // Cloneable
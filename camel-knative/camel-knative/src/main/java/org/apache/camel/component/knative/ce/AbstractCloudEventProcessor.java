@@ -29,6 +29,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.component.knative.KnativeEndpoint;
 import org.apache.camel.component.knative.spi.CloudEvent;
+import org.apache.camel.component.knative.spi.CloudEventAttributes;
 import org.apache.camel.component.knative.spi.Knative;
 import org.apache.camel.component.knative.spi.KnativeEnvironment;
 import org.slf4j.Logger;
@@ -49,6 +50,8 @@ abstract class AbstractCloudEventProcessor implements CloudEventProcessor {
     @SuppressWarnings("unchecked")
     @Override
     public Processor consumer(KnativeEndpoint endpoint, KnativeEnvironment.KnativeServiceDefinition service) {
+        final boolean typed = endpoint.getConfiguration().isTypedCloudEventAttributes();
+
         return exchange -> {
             if (Objects.equals(exchange.getIn().getHeader(Exchange.CONTENT_TYPE), Knative.MIME_BATCH_CONTENT_MODE)) {
                 throw new UnsupportedOperationException("Batched CloudEvents are not yet supported");
@@ -58,10 +61,36 @@ abstract class AbstractCloudEventProcessor implements CloudEventProcessor {
                 final CloudEvent ce = cloudEvent();
                 final Map<String, Object> headers = exchange.getIn().getHeaders();
 
-                for (CloudEvent.Attribute attribute: ce.attributes()) {
-                    Object val = headers.remove(attribute.http());
-                    if (val != null) {
-                        headers.put(attribute.id(), val);
+                if (typed) {
+                    //
+                    // keep the attributes in a single typed object stored as exchange
+                    // property instead of re-mapping each of them to a camel header
+                    //
+                    final CloudEventAttributes attributes = new CloudEventAttributes(ce);
+
+                    for (CloudEvent.Attribute attribute: ce.attributes()) {
+                        //
+                        // attributes mapped to standard http headers, i.e. the content type
+                        // for CloudEvents 0.1 and 0.2, are still needed by the route and the
+                        // type converters so they are copied and not removed
+                        //
+                        Object val = isCloudEventHeader(attribute)
+                            ? headers.remove(attribute.http())
+                            : headers.get(attribute.http());
+
+                        if (val != null) {
+                            attributes.set(attribute.id(), val);
+                        }
+                    }
+
+                    exchange.setProperty(CloudEvent.CAMEL_CLOUD_EVENT_ATTRIBUTES, attributes);
+                    exchange.getIn().setHeaders(new CloudEventHeaders(headers, attributes));
+                } else {
+                    for (CloudEvent.Attribute attribute: ce.attributes()) {
+                        Object val = headers.remove(attribute.http());
+                        if (val != null) {
+                            headers.put(attribute.id(), val);
+                        }
                     }
                 }
             } else {
@@ -78,6 +107,11 @@ abstract class AbstractCloudEventProcessor implements CloudEventProcessor {
     public Processor producer(KnativeEndpoint endpoint, KnativeEnvironment.KnativeServiceDefinition service) {
         final CloudEvent ce = cloudEvent();
         final Logger logger = LoggerFactory.getLogger(getClass());
+        final CloudEvent.Attribute typeAttribute = ce.mandatoryAttribute(CloudEvent.CAMEL_CLOUD_EVENT_TYPE);
+        final CloudEvent.Attribute idAttribute = ce.mandatoryAttribute(CloudEvent.CAMEL_CLOUD_EVENT_ID);
+        final CloudEvent.Attribute sourceAttribute = ce.mandatoryAttribute(CloudEvent.CAMEL_CLOUD_EVENT_SOURCE);
+        final CloudEvent.Attribute versionAttribute = ce.mandatoryAttribute(CloudEvent.CAMEL_CLOUD_EVENT_VERSION);
+        final CloudEvent.Attribute timeAttribute = ce.mandatoryAttribute(CloudEvent.CAMEL_CLOUD_EVENT_TIME);
 
         return exchange -> {
             final String contentType = service.getMetadata().get(Knative.CONTENT_TYPE);
@@ -90,6 +124,14 @@ abstract class AbstractCloudEventProcessor implements CloudEventProcessor {
                 }
             }
 
+            final CloudEventAttributes attributes = exchange.getProperty(CloudEvent.CAMEL_CLOUD_EVENT_ATTRIBUTES, CloudEventAttributes.class);
+            if (attributes != null) {
+                // headers take precedence over the typed attributes
+                attributes.forEach((attribute, value) -> {
+                    ce.attribute(attribute.id()).ifPresent(a -> headers.putIfAbsent(a.http(), value));
+                });
+            }
+
             headers.putIfAbsent(Exchange.CONTENT_TYPE, contentType);
 
             //
@@ -105,9 +147,9 @@ abstract class AbstractCloudEventProcessor implements CloudEventProcessor {
                         endpoint.getName());
                 }
 
-                headers.put(cloudEvent().mandatoryAttribute(CloudEvent.CAMEL_CLOUD_EVENT_TYPE).http(), endpoint.getName());
+                headers.put(typeAttribute.http(), endpoint.getName());
             } else {
-                setCloudEventHeader(headers, CloudEvent.CAMEL_CLOUD_EVENT_TYPE, () -> {
+                setCloudEventHeader(headers, typeAttribute, () -> {
                     return service.getMetadata().getOrDefault(
                         Knative.KNATIVE_EVENT_TYPE,
                         endpoint.getConfiguration().getCloudEventsType()
@@ -115,10 +157,10 @@ abstract class AbstractCloudEventProcessor implements CloudEventProcessor {
                 });
             }
 
-            setCloudEventHeader(headers, CloudEvent.CAMEL_CLOUD_EVENT_ID, exchange::getExchangeId);
-            setCloudEventHeader(headers, CloudEvent.CAMEL_CLOUD_EVENT_SOURCE, endpoint::getEndpointUri);
-            setCloudEventHeader(headers, CloudEvent.CAMEL_CLOUD_EVENT_VERSION, ce::version);
-            setCloudEventHeader(headers, CloudEvent.CAMEL_CLOUD_EVENT_TIME, () -> {
+            setCloudEventHeader(headers, idAttribute, exchange::getExchangeId);
+            setCloudEventHeader(headers, sourceAttribute, endpoint::getEndpointUri);
+            setCloudEventHeader(headers, versionAttribute, ce::version);
+            setCloudEventHeader(headers, timeAttribute, () -> {
                 final ZonedDateTime created = ZonedDateTime.ofInstant(Instant.ofEpochMilli(exchange.getCreated()), ZoneId.systemDefault());
                 final String eventTime = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(created);
 
@@ -136,7 +178,14 @@ abstract class AbstractCloudEventProcessor implements CloudEventProcessor {
         };
     }
 
-    protected void setCloudEventHeader(Map<String, Object> headers, String id, Supplier<Object> supplier) {
-        headers.putIfAbsent(cloudEvent().mandatoryAttribute(id).http(), supplier.get());
+    private static boolean isCloudEventHeader(CloudEvent.Attribute attribute) {
+        return attribute.http().regionMatches(true, 0, "ce-", 0, 3);
+    }
+
+    protected void setCloudEventHeader(Map<String, Object> headers, CloudEvent.Attribute attribute, Supplier<Object> supplier) {
+        // only compute the value if the header is not yet set
+        if (headers.get(attribute.http()) == null) {
+            headers.put(attribute.http(), supplier.get());
+        }
     }
 }
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.knative.ce;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+import org.apache.camel.component.knative.spi.CloudEventAttributes;
+import org.apache.camel.util.CaseInsensitiveMap;
+
+/**
+ * The headers of a message whose CloudEvent attributes are kept as {@link CloudEventAttributes}, an
+ * attribute is projected to the header named after its id only when the header is read, or when the
+ * headers are accessed in bulk, i.e. when they are iterated or the message is copied.
+ *
+ * Being a {@link CaseInsensitiveMap}, the map is used as it is by the default headers map factory
+ * whereas other factories copy it, which projects all the attributes upfront.
+ */
+final class CloudEventHeaders extends CaseInsensitiveMap {
+    private final CloudEventAttributes attributes;
+    private Set<String> resolved;
+    private boolean projected;
+
+    CloudEventHeaders(Map<String, Object> headers, CloudEventAttributes attributes) {
+        super(headers);
+
+        this.attributes = attributes;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object answer = super.get(key);
+        if (answer == null && !projected && key instanceof String) {
+            answer = project((String) key);
+        }
+
+        return answer;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return super.containsKey(key) || get(key) != null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!projected && key instanceof String) {
+            // the header must not show up again once removed
+            resolved().add((String) key);
+        }
+
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (!super.isEmpty()) {
+            return false;
+        }
+
+        projectAll();
+
+        return super.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        projectAll();
+        return super.size();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        projectAll();
+        return super.entrySet();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        projectAll();
+        return super.keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        projectAll();
+        return super.values();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        projectAll();
+        super.forEach(action);
+    }
+
+    private Object project(String key) {
+        if (resolved != null && resolved.contains(key)) {
+            return null;
+        }
+
+        final Object value = attributes.get(key);
+        if (value != null) {
+            resolved().add(key);
+            super.put(key, value);
+        }
+
+        return value;
+    }
+
+    private void projectAll() {
+        if (projected) {
+            return;
+        }
+
+        projected = true;
+
+        attributes.forEach((attribute, value) -> {
+            final String key = attribute.id();
+
+            if ((resolved == null || !resolved.contains(key)) && !super.containsKey(key)) {
+                super.put(key, value);
+            }
+        });
+
+        resolved = null;
+    }
+
+    private Set<String> resolved() {
+        if (resolved == null) {
+            resolved = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        }
+
+        return resolved;
+    }
+}
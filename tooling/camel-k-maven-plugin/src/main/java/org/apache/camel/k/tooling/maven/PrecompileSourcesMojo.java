@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.k.tooling.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Compiles the integration sources at build time and stores the resulting bytecode in a
+ * directory that can be used as compiled source cache by the runtime, i.e. by setting the
+ * CAMEL_K_SOURCES_CACHE_DIRECTORY environment variable.
+ */
+@Mojo(
+    name = "precompile-sources",
+    defaultPhase = LifecyclePhase.PREPARE_PACKAGE,
+    threadSafe = true,
+    requiresDependencyResolution = ResolutionScope.RUNTIME,
+    requiresDependencyCollection = ResolutionScope.RUNTIME)
+public class PrecompileSourcesMojo extends AbstractMojo {
+    private static final String PRECOMPILER = "org.apache.camel.k.support.SourcesPrecompiler";
+
+    @Parameter(readonly = true, defaultValue = "${project}")
+    private MavenProject project;
+
+    @Parameter(property = "camel.k.sources.directory", defaultValue = "${project.basedir}/src/main/camel-k")
+    private File sourcesDirectory;
+
+    @Parameter
+    private List<String> sources;
+
+    @Parameter(property = "camel.k.sources.cache.directory", defaultValue = "${project.build.directory}/camel-k/sources-cache")
+    private File outputDirectory;
+
+    @Parameter(property = "camel.k.precompile.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping sources precompilation");
+            return;
+        }
+
+        final List<String> routes = routes();
+        if (routes.isEmpty()) {
+            getLog().info("No sources to precompile");
+            return;
+        }
+
+        final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+
+        // The loaders are resolved from the dependencies of the project so the sources
+        // are compiled with the same runtime that is going to load them, the class loader
+        // is isolated from the plugin one so only the runtime classpath of the project is
+        // visible to the compilers and accounted for by the key of the cache entries.
+        try (URLClassLoader loader = new URLClassLoader(classpath(), ClassLoader.getPlatformClassLoader())) {
+            Thread.currentThread().setContextClassLoader(loader);
+
+            Method precompile = loader.loadClass(PRECOMPILER).getMethod("precompile", Path.class, Collection.class);
+            precompile.invoke(null, outputDirectory.toPath(), routes);
+        } catch (InvocationTargetException e) {
+            throw new MojoFailureException("Exception while precompiling sources", e.getCause());
+        } catch (ClassNotFoundException e) {
+            throw new MojoExecutionException("Unable to find " + PRECOMPILER + ", is camel-k-runtime-core a dependency of the project?", e);
+        } catch (IOException | ReflectiveOperationException e) {
+            throw new MojoExecutionException("Exception while precompiling sources", e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(tccl);
+        }
+    }
+
+    private List<String> routes() throws MojoExecutionException {
+        final List<String> answer = new ArrayList<>();
+
+        if (sources != null) {
+            answer.addAll(sources);
+        }
+
+        final Path directory = sourcesDirectory.toPath();
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(Files::isRegularFile)
+                    .sorted()
+                    .map(file -> "file:" + file.toAbsolutePath())
+                    .forEach(answer::add);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Exception while listing sources", e);
+            }
+        }
+
+        return answer;
+    }
+
+    private URL[] classpath() throws MojoExecutionException {
+        try {
+            final List<URL> answer = new ArrayList<>();
+            for (String element : project.getRuntimeClasspathElements()) {
+                answer.add(Paths.get(element).toUri().toURL());
+            }
+
+            return answer.toArray(new URL[0]);
+        } catch (DependencyResolutionRequiredException | MalformedURLException e) {
+            throw new MojoExecutionException("Exception while resolving the project classpath", e);
+        }
+    }
+}